@@ -25,6 +25,7 @@
 package org.spongepowered.common.accessor.util.registry;
 
 import com.google.common.collect.BiMap;
+import net.minecraft.util.IntIdentityHashBiMap;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.registry.SimpleRegistry;
 import org.spongepowered.asm.mixin.Mixin;
@@ -33,8 +34,12 @@
 @Mixin(SimpleRegistry.class)
 public interface SimpleRegistryAccessor {
 
+    @Accessor(value = "underlyingIntegerMap") IntIdentityHashBiMap<Object> accessor$getUnderlyingIntegerMap();
+
     @Accessor(value = "values") Object[] accessor$getValues();
 
+    @Accessor(value = "values") void accessor$setValues(Object[] values);
+
     @Accessor(value = "registryObjects") BiMap<ResourceLocation, Object> accessor$getRegistryObjects();
 
     @Accessor(value = "nextFreeId") int accessor$getNextFreeId();
@@ -28,7 +28,9 @@
 import net.minecraft.world.TrackedEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
 
+import java.util.List;
 import java.util.Set;
 
 @Mixin(targets = "net/minecraft/world/server/ChunkManager$EntityTracker")
@@ -37,4 +39,8 @@ public interface EntityTrackerAccessor {
     @Accessor("trackingPlayers") Set<ServerPlayerEntity> accessor$getTrackingPlayers();
 
     @Accessor("entry") TrackedEntity accessor$getEntry();
+
+    @Invoker("updateTrackingState") void accessor$updateTrackingState(ServerPlayerEntity player);
+
+    @Invoker("updateTrackingState") void accessor$updateTrackingState(List<ServerPlayerEntity> players);
 }
@@ -51,6 +51,16 @@ public interface ServerPlayerEntityBridge {
 
     int bridge$getViewDistance();
 
+    /**
+     * Gets the range in blocks this player tracks entities within, on top of
+     * the tracking ranges of the entities and the view distance.
+     *
+     * @return The range, or -1 if the player has none
+     */
+    int bridge$getEntityTrackingRange();
+
+    void bridge$setEntityTrackingRange(int range);
+
     Optional<User> bridge$getBackingUser();
 
     User bridge$getUserObject();
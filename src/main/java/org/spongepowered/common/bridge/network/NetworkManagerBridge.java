@@ -24,10 +24,16 @@
  */
 package org.spongepowered.common.bridge.network;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import net.minecraft.network.IPacket;
 import org.spongepowered.api.MinecraftVersion;
 
 import java.net.InetSocketAddress;
 
+import javax.annotation.Nullable;
+
 public interface NetworkManagerBridge {
 
     InetSocketAddress bridge$getAddress();
@@ -39,4 +45,31 @@ public interface NetworkManagerBridge {
     MinecraftVersion bridge$getVersion();
 
     void bridge$setVersion(int version);
+
+    /**
+     * Writes the given packet without flushing the connection. The
+     * connection is flushed once at the end of the tick, together with
+     * every other packet that was queued in the meantime.
+     *
+     * @param packet The packet to write
+     * @param listener The listener to notify once the packet was written
+     */
+    void bridge$queuePacket(IPacket<?> packet, @Nullable GenericFutureListener<? extends Future<? super Void>> listener);
+
+    /**
+     * Writes the given already encoded packet without flushing the
+     * connection. The buffer is released once it has been written, or right
+     * away if the connection can't accept encoded packets, in which case the
+     * packet is sent as usual.
+     *
+     * @param encoded The encoded packet id and data
+     * @param packet The packet that was encoded
+     */
+    void bridge$queueEncodedPacket(ByteBuf encoded, IPacket<?> packet);
+
+    /**
+     * Flushes the connection if any packets have been queued since it was
+     * last flushed.
+     */
+    void bridge$flushQueuedPackets();
 }
@@ -32,12 +32,15 @@
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import net.minecraft.command.CommandSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.command.exception.CommandException;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.bridge.command.CommandSourceBridge;
+import org.spongepowered.common.command.brigadier.argument.ArgumentParser;
 import org.spongepowered.common.command.brigadier.context.SpongeCommandContextBuilder;
+import org.spongepowered.common.command.brigadier.tree.SpongeArgumentCommandNode;
 import org.spongepowered.common.command.manager.SpongeCommandManager;
 import org.spongepowered.common.command.registrar.BrigadierCommandRegistrar;
 import org.spongepowered.common.event.tracking.PhaseTracker;
@@ -48,9 +51,15 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 public class SpongeCommandDispatcher extends CommandDispatcher<CommandSource> {
 
+    // Set while a command is being parsed away from the main thread.
+    private static final ThreadLocal<OffThreadParse> OFF_THREAD_PARSE = new ThreadLocal<>();
+    // The shared default requirement of brigadier builders, the only one known not to touch game state.
+    private static final Predicate<CommandSource> NO_REQUIREMENT = LiteralArgumentBuilder.<CommandSource>literal("").getRequirement();
+
     @Override
     public LiteralCommandNode<CommandSource> register(final LiteralArgumentBuilder<CommandSource> command) {
         return BrigadierCommandRegistrar.INSTANCE.register(command);
@@ -74,6 +83,70 @@ public ParseResults<CommandSource> parse(final StringReader command, final Comma
         return this.parseNodes(this.getRoot(), reader, builder);
     }
 
+    /**
+     * Parses the given command on the calling thread, which need not be the
+     * main thread.
+     *
+     * <p>Every node reached while parsing must be known not to touch game
+     * state, requirement included, and every argument parser must be
+     * {@link ArgumentParser#isThreadSafe() thread safe}. As soon as one that
+     * is not is reached, the parse is abandoned and null is returned so the
+     * command can be parsed again on the main thread.</p>
+     *
+     * @param command The command
+     * @param source The source
+     * @return The results, or null if the command cannot be parsed off the main thread
+     */
+    @Nullable
+    public ParseResults<CommandSource> parseOffMainThread(final String command, final CommandSource source) {
+        final OffThreadParse parse = new OffThreadParse();
+        SpongeCommandDispatcher.OFF_THREAD_PARSE.set(parse);
+        try {
+            final ParseResults<CommandSource> results = this.parse(command, source);
+            return parse.unsafe ? null : results;
+        } finally {
+            SpongeCommandDispatcher.OFF_THREAD_PARSE.remove();
+        }
+    }
+
+    /**
+     * Checks that the given parser may be used by the current parse, aborting
+     * the current branch if it is running off the main thread and the parser
+     * is not thread safe.
+     *
+     * @param parser The parser about to be used
+     */
+    public static void checkThreadSafeParser(final ArgumentParser<?> parser) {
+        final OffThreadParse parse = SpongeCommandDispatcher.OFF_THREAD_PARSE.get();
+        if (parse != null && !parser.isThreadSafe()) {
+            parse.unsafe = true;
+            throw new IllegalStateException("The argument parser " + parser + " cannot be used off the main thread");
+        }
+    }
+
+    /**
+     * Checks that the given node may be used by the current parse, which is
+     * the case on the main thread. Off the main thread, only plain literals
+     * and Sponge's own argument nodes, which check their parser, without a
+     * requirement are. Any other node, or requirement, may touch game state,
+     * so the whole parse is abandoned to be run again on the main thread.
+     *
+     * @param node The node about to be checked and parsed
+     * @return Whether the parse may continue with the node
+     */
+    private static boolean checkThreadSafeNode(final CommandNode<CommandSource> node) {
+        final OffThreadParse parse = SpongeCommandDispatcher.OFF_THREAD_PARSE.get();
+        if (parse == null) {
+            return true;
+        }
+        if (!parse.unsafe && (node.getClass() == LiteralCommandNode.class || node instanceof SpongeArgumentCommandNode)
+                && node.getRequirement() == SpongeCommandDispatcher.NO_REQUIREMENT) {
+            return true;
+        }
+        parse.unsafe = true;
+        return false;
+    }
+
     @Override
     public int execute(final StringReader input, final CommandSource source) throws CommandSyntaxException {
         try (final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame()) {
@@ -99,6 +172,11 @@ private ParseResults<CommandSource> parseNodes(
         final int cursor = reader.getCursor();
 
         for (final CommandNode<CommandSource> child : node.getRelevantNodes(reader)) {
+            // Sponge Start - requirements may only be tested once the node is known to be safe here
+            if (!SpongeCommandDispatcher.checkThreadSafeNode(child)) {
+                return new ParseResults<>(contextSoFar, reader, Collections.emptyMap());
+            }
+            // Sponge End
             if (!child.canUse(source)) {
                 continue;
             }
@@ -175,4 +253,10 @@ private ParseResults<CommandSource> parseNodes(
         return new ParseResults<>(contextSoFar, reader, errors == null ? Collections.emptyMap() : errors);
     }
 
+    private static final class OffThreadParse {
+
+        boolean unsafe;
+
+    }
+
 }
@@ -57,4 +57,17 @@ default List<ArgumentType<?>> getClientCompletionArgumentType() {
 
     boolean isHiddenFromClient();
 
+    /**
+     * Gets whether {@link #parse} may be called away from the main thread.
+     *
+     * <p>Parsers that only read their input, without resolving it against
+     * the world, entities or any other server state, should return true so
+     * that commands using them can be parsed off the main thread.</p>
+     *
+     * @return true if this parser may be used off the main thread
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
 }
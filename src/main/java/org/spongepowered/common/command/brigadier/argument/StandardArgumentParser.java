@@ -27,6 +27,12 @@
 import com.google.common.collect.ImmutableList;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestion;
 import com.mojang.brigadier.suggestion.Suggestions;
@@ -53,25 +59,44 @@
 public class StandardArgumentParser<S, T> implements ArgumentParser<T>, ValueParameter<T> {
 
     public static <T> StandardArgumentParser<T, T> createIdentity(final ArgumentType<T> type) {
-        return new StandardArgumentParser<>(type, (reader, c, x) -> x);
+        return new StandardArgumentParser<>(type, (reader, c, x) -> x, StandardArgumentParser.isThreadSafeType(type));
     }
 
     public static <S, T> StandardArgumentParser<S, T> createConverter(
             final ArgumentType<S> type,
             final StandardArgumentParser.Converter<S, T> converter) {
-        return new StandardArgumentParser<>(type, converter);
+        return new StandardArgumentParser<>(type, converter, false);
+    }
+
+    /**
+     * Gets whether the given type is one of Brigadier's own argument types,
+     * which only ever read their input and so can be parsed on any thread.
+     *
+     * @param type The type
+     * @return true if the type is thread safe
+     */
+    static boolean isThreadSafeType(final ArgumentType<?> type) {
+        return type instanceof BoolArgumentType
+                || type instanceof IntegerArgumentType
+                || type instanceof LongArgumentType
+                || type instanceof FloatArgumentType
+                || type instanceof DoubleArgumentType
+                || type instanceof StringArgumentType;
     }
 
     // ---
 
     private final ArgumentType<S> type;
     private final StandardArgumentParser.Converter<S, T> converter;
+    private final boolean threadSafe;
 
     protected StandardArgumentParser(
             final ArgumentType<S> type,
-            final StandardArgumentParser.Converter<S, T> converter) {
+            final StandardArgumentParser.Converter<S, T> converter,
+            final boolean threadSafe) {
         this.type = type;
         this.converter = converter;
+        this.threadSafe = threadSafe;
     }
 
     @Override
@@ -104,6 +129,11 @@ public boolean isHiddenFromClient() {
         return false;
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return this.threadSafe;
+    }
+
     @Override
     @NonNull
     public List<String> complete(@NonNull final CommandContext context) {
@@ -40,18 +40,30 @@
 public class StandardCatalogedArgumentParser<S, T> extends StandardArgumentParser<S, T> implements CatalogedValueParameter<T> {
 
     public static <T> StandardCatalogedArgumentParser<T, T> createIdentity(final String key, final ArgumentType<T> type) {
-        return new StandardCatalogedArgumentParser<>(key, type, (reader, c, x) -> x);
+        return new StandardCatalogedArgumentParser<>(key, type, (reader, c, x) -> x, StandardArgumentParser.isThreadSafeType(type));
     }
 
     public static <S, T> StandardCatalogedArgumentParser<S, T> createCast(final String key, final ArgumentType<S> type, final Class<T> castType) {
-        return new StandardCatalogedArgumentParser<>(key, type, (reader, c, x) -> castType.cast(x));
+        return new StandardCatalogedArgumentParser<>(key, type, (reader, c, x) -> castType.cast(x), false);
     }
 
     public static <S, T> StandardCatalogedArgumentParser<S, T> createConverter(
             final String key,
             final ArgumentType<S> type,
             final StandardArgumentParser.Converter<S, T> converter) {
-        return new StandardCatalogedArgumentParser<>(key, type, converter);
+        return new StandardCatalogedArgumentParser<>(key, type, converter, false);
+    }
+
+    /**
+     * Creates a parser whose converter only transforms its input, without
+     * touching any server state, so that it may be parsed off the main thread.
+     * The argument type must be thread safe too.
+     */
+    public static <S, T> StandardCatalogedArgumentParser<S, T> createThreadSafeConverter(
+            final String key,
+            final ArgumentType<S> type,
+            final StandardArgumentParser.Converter<S, T> converter) {
+        return new StandardCatalogedArgumentParser<>(key, type, converter, StandardArgumentParser.isThreadSafeType(type));
     }
 
     // ---
@@ -61,8 +73,9 @@ public static <S, T> StandardCatalogedArgumentParser<S, T> createConverter(
     private StandardCatalogedArgumentParser(
             final String key,
             final ArgumentType<S> type,
-            final StandardArgumentParser.Converter<S, T> converter) {
-        super(type, converter);
+            final StandardArgumentParser.Converter<S, T> converter,
+            final boolean threadSafe) {
+        super(type, converter, threadSafe);
         this.key = ResourceKey.sponge(key);
     }
 
@@ -48,6 +48,7 @@
 import org.spongepowered.api.command.parameter.Parameter;
 import org.spongepowered.api.command.parameter.managed.ValueCompleter;
 import org.spongepowered.api.command.parameter.managed.clientcompletion.ClientCompletionType;
+import org.spongepowered.common.command.brigadier.SpongeCommandDispatcher;
 import org.spongepowered.common.command.brigadier.SpongeStringReader;
 import org.spongepowered.common.command.brigadier.argument.ArgumentParser;
 import org.spongepowered.common.command.brigadier.context.SpongeCommandContextBuilder;
@@ -176,6 +177,7 @@ public final ArgumentParser<T> getParser() {
     public final void parse(final StringReader reader, final CommandContextBuilder<CommandSource> contextBuilder) throws CommandSyntaxException {
         final int start = reader.getCursor();
         final SpongeCommandContextBuilder builder = (SpongeCommandContextBuilder) contextBuilder;
+        SpongeCommandDispatcher.checkThreadSafeParser(this.parser);
         final T result = this.parser.parse(this.key, builder, (SpongeStringReader) reader);
         if (result != null) {
             builder.putEntry(this.key, result);
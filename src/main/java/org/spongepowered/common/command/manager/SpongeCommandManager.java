@@ -26,21 +26,30 @@
 
 import static org.spongepowered.common.util.SpongeCommonTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Multimap;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import net.minecraft.command.CommandSource;
+import net.minecraft.command.ICommandSource;
+import net.minecraft.util.text.TextComponentUtils;
+import net.minecraft.util.text.TranslationTextComponent;
 import org.apache.logging.log4j.Level;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Game;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.Command;
 import org.spongepowered.api.command.CommandCause;
 import org.spongepowered.api.command.CommandResult;
@@ -65,8 +74,11 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.command.CommandSourceBridge;
 import org.spongepowered.common.command.brigadier.SpongeCommandDispatcher;
 import org.spongepowered.common.command.registrar.BrigadierCommandRegistrar;
+import org.spongepowered.common.command.registrar.DispatcherBackedCommandRegistrar;
+import org.spongepowered.common.command.registrar.SpongeCommandRegistrar;
 import org.spongepowered.common.command.registrar.SpongeParameterizedCommandRegistrar;
 import org.spongepowered.common.command.registrar.SpongeRawCommandRegistrar;
 import org.spongepowered.common.command.registrar.tree.RootCommandTreeBuilder;
@@ -83,6 +95,7 @@
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -91,19 +104,36 @@
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 @Singleton
 public class SpongeCommandManager implements CommandManager {
 
     private final Game game;
-    private final Map<String, SpongeCommandMapping> commandMappings = new HashMap<>();
+    // Sorted, so that root completions can walk the aliases starting with a prefix
+    private final NavigableMap<String, SpongeCommandMapping> commandMappings = new ConcurrentSkipListMap<>();
     private final Multimap<SpongeCommandMapping, String> inverseCommandMappings = HashMultimap.create();
     private final Multimap<PluginContainer, SpongeCommandMapping> pluginToCommandMap = HashMultimap.create();
 
+    // The sorted root aliases each subject may use. Permissions can change at any
+    // time, so entries are only kept for a few seconds - long enough to absorb
+    // clients spamming tab completion - and dropped whenever a command is registered.
+    private final Cache<String, List<String>> rootSuggestionCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(5, TimeUnit.SECONDS)
+            .build();
+
+    // The last command of each source handled through handleCommandAsync that has not completed yet
+    private final Map<ICommandSource, CompletableFuture<CommandResult>> pendingCommands = new MapMaker().weakKeys().makeMap();
+
     @Inject
     public SpongeCommandManager(final Game game) {
         this.game = game;
@@ -244,6 +274,7 @@ private CommandMapping registerAliasInternal(
             this.commandMappings.put(key, mapping);
             this.inverseCommandMappings.put(mapping, key);
         });
+        this.rootSuggestionCache.invalidateAll();
         return mapping;
     }
 
@@ -271,6 +302,120 @@ public CommandResult process(@NonNull final String arguments) throws CommandExce
     }
 
     public CommandResult process(final CommandCause cause, final String arguments) throws CommandException, CommandSyntaxException {
+        return this.process(cause, arguments, null);
+    }
+
+    /**
+     * Processes a command from any thread, completing on the main thread.
+     *
+     * <p>If {@code async-parsing} is enabled, the command is parsed, along
+     * with its permission checks, on the calling thread - or on the async
+     * scheduler if called from the main thread - and only the execution is
+     * handed to the main thread. Commands that cannot be parsed off the main
+     * thread, because they use an argument that is not
+     * {@link org.spongepowered.common.command.brigadier.argument.ArgumentParser#isThreadSafe() thread safe},
+     * or whose registrar is not backed by the dispatcher, are parsed on the
+     * main thread as usual.</p>
+     *
+     * @param cause The cause of the command
+     * @param arguments The command and its arguments
+     * @return The future result
+     */
+    public CompletableFuture<CommandResult> processAsync(final CommandCause cause, final String arguments) {
+        return this.processAsync(cause, arguments, CompletableFuture.completedFuture(null));
+    }
+
+    // The command is only executed once the given previous command completed
+    private CompletableFuture<CommandResult> processAsync(final CommandCause cause, final String arguments, final CompletableFuture<?> previous) {
+        final Executor mainThread = SpongeCommon.getServer();
+        final CompletableFuture<?> after = previous.handle((result, throwable) -> null);
+        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getCommands().isAsyncParsing()) {
+            return after.thenApplyAsync(ignored -> this.processUnchecked(cause, arguments, null), mainThread);
+        }
+
+        final CompletableFuture<ParseResults<CommandSource>> parsed;
+        if (Sponge.getServer().onMainThread()) {
+            parsed = SpongeCommon.getAsyncScheduler().submit(() -> this.parseOffMainThread(cause, arguments));
+        } else {
+            parsed = CompletableFuture.completedFuture(this.parseOffMainThread(cause, arguments));
+        }
+        return parsed.thenCombine(after, (results, ignored) -> results)
+                .thenApplyAsync(results -> this.processUnchecked(cause, arguments, results), mainThread);
+    }
+
+    /**
+     * Handles a command sent in chat the way
+     * {@code Commands#handleCommand} does, but through
+     * {@link #processAsync(CommandCause, String)} so that it may be parsed
+     * off the main thread. Failures are reported to the source, as Vanilla
+     * would. Commands of the same source are executed in the order they
+     * were sent, even if a later one finishes parsing first.
+     *
+     * @param source The source of the command
+     * @param command The command, with or without its leading slash
+     * @return The future result, completing on the main thread with 0 if the
+     *     command failed
+     */
+    public CompletableFuture<Integer> handleCommandAsync(final CommandSource source, final String command) {
+        final String arguments = command.startsWith("/") ? command.substring(1) : command;
+        final CommandSourceBridge sourceBridge = (CommandSourceBridge) source;
+        final CommandCause cause;
+        try (final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame()) {
+            frame.pushCause(sourceBridge.bridge$getICommandSource());
+            frame.addContext(EventContextKeys.COMMAND, command);
+            cause = ((CommandSourceBridge) sourceBridge.bridge$createFromCauseAndThisSource(frame.getCurrentCause())).bridge$asCommandCause();
+        }
+        final ICommandSource commandSource = sourceBridge.bridge$getICommandSource();
+        final CompletableFuture<?> previous = this.pendingCommands.get(commandSource);
+        final CompletableFuture<CommandResult> future = this.processAsync(cause, arguments,
+                previous == null ? CompletableFuture.completedFuture(null) : previous);
+        this.pendingCommands.put(commandSource, future);
+        future.whenComplete((result, throwable) -> this.pendingCommands.remove(commandSource, future));
+        return future.handleAsync((result, throwable) -> {
+            if (throwable == null) {
+                return result.getResult();
+            }
+            final Throwable failure = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (failure instanceof CommandException) {
+                source.sendErrorMessage(SpongeTexts.toComponent(((CommandException) failure).getText()));
+            } else if (failure instanceof CommandSyntaxException) {
+                source.sendErrorMessage(TextComponentUtils.toTextComponent(((CommandSyntaxException) failure).getRawMessage()));
+            } else if (failure instanceof net.minecraft.command.CommandException) {
+                source.sendErrorMessage(((net.minecraft.command.CommandException) failure).getComponent());
+            } else {
+                SpongeCommon.getLogger().error("Command exception: {}", command, failure);
+                source.sendErrorMessage(new TranslationTextComponent("command.failed"));
+            }
+            return 0;
+        }, SpongeCommon.getServer());
+    }
+
+    @Nullable
+    private ParseResults<CommandSource> parseOffMainThread(final CommandCause cause, final String arguments) {
+        final String[] splitArg = arguments.split(" ", 2);
+        final SpongeCommandMapping mapping = this.commandMappings.get(splitArg[0].toLowerCase());
+        if (mapping == null || !(mapping.getRegistrar() instanceof DispatcherBackedCommandRegistrar)) {
+            return null;
+        }
+        try {
+            return ((DispatcherBackedCommandRegistrar) mapping.getRegistrar())
+                    .parseOffMainThread(cause, mapping.getPrimaryAlias(), splitArg.length == 2 ? splitArg[1] : "");
+        } catch (final RuntimeException e) {
+            // Leave it to the main thread to parse again and report the problem
+            return null;
+        }
+    }
+
+    private CommandResult processUnchecked(final CommandCause cause, final String arguments, @Nullable final ParseResults<CommandSource> parsed) {
+        try {
+            return this.process(cause, arguments, parsed);
+        } catch (final CommandException | CommandSyntaxException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private CommandResult process(final CommandCause cause, final String arguments, @Nullable final ParseResults<CommandSource> parsed)
+            throws CommandException, CommandSyntaxException {
         final String[] splitArg = arguments.split(" ", 2);
         final String originalCommand = splitArg[0];
         final String originalArgs = splitArg.length == 2 ? splitArg[1] : "";
@@ -323,7 +468,13 @@ public CommandResult process(final CommandCause cause, final String arguments) t
             //    inventory.bridge$setCaptureInventory(true);
             //}
             context.buildAndSwitch();
-            result = mapping.getRegistrar().process(cause, mapping.getPrimaryAlias(), args);
+            // Results parsed ahead of time are only valid if no event listener changed the command
+            if (parsed != null && command.equals(originalCommand) && args.equals(originalArgs)
+                    && mapping.getRegistrar() instanceof DispatcherBackedCommandRegistrar) {
+                result = ((DispatcherBackedCommandRegistrar) mapping.getRegistrar()).execute(cause, parsed);
+            } else {
+                result = mapping.getRegistrar().process(cause, mapping.getPrimaryAlias(), args);
+            }
         } catch (final CommandException exception) {
             final CommandResult errorResult = CommandResult.builder().setResult(0).error(exception.getText()).build();
             this.postExecuteCommandPostEvent(cause, originalArgs, args, originalCommand, command, errorResult);
@@ -443,32 +594,73 @@ private void prettyPrintThrowableError(final Throwable thr, final String command
     @Override
     @NonNull
     public List<String> suggest(@NonNull final String arguments) {
+        final String[] splitArg = arguments.split(" ", 2);
+        final String command = splitArg[0].toLowerCase();
+        if (splitArg.length == 1) {
+            // Root completions only need the current cause, there is no need to push a frame for them
+            try {
+                return this.suggestRoot(CommandCause.of(PhaseTracker.getCauseStackManager().getCurrentCause()), command);
+            } catch (final Exception e) {
+                return Collections.emptyList();
+            }
+        }
+
         try (final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame()) {
             frame.addContext(EventContextKeys.COMMAND.get(), arguments);
-            final String[] splitArg = arguments.split(" ", 2);
-            final String command = splitArg[0].toLowerCase();
-
-            if (splitArg.length == 2) {
-                // we have a subcommand, suggest on that if it exists, else
-                // return nothing
-                final SpongeCommandMapping mapping = this.commandMappings.get(command);
-                if (mapping == null) {
-                    return Collections.emptyList();
-                }
-
-                return mapping.getRegistrar().suggestions(
-                        CommandCause.of(frame.getCurrentCause()), mapping.getPrimaryAlias(), splitArg[1]);
+
+            // we have a subcommand, suggest on that if it exists, else
+            // return nothing
+            final SpongeCommandMapping mapping = this.commandMappings.get(command);
+            if (mapping == null) {
+                return Collections.emptyList();
             }
 
-            return this.commandMappings.keySet()
-                    .stream()
-                    .filter(x -> x.startsWith(command))
-                    .collect(Collectors.toList());
+            return mapping.getRegistrar().suggestions(
+                    CommandCause.of(frame.getCurrentCause()), mapping.getPrimaryAlias(), splitArg[1]);
         } catch (final Exception e) {
             return Collections.emptyList();
         }
     }
 
+    private List<String> suggestRoot(final CommandCause cause, final String prefix) throws ExecutionException {
+        final Subject subject = cause.getSubject();
+        final List<String> usable = this.rootSuggestionCache.get(
+                subject.getContainingCollection().getIdentifier() + ":" + subject.getIdentifier(),
+                () -> this.computeUsableRootAliases(cause));
+
+        int index = Collections.binarySearch(usable, prefix);
+        if (index < 0) {
+            index = -(index + 1);
+        }
+        final List<String> suggestions = new ArrayList<>();
+        for (; index < usable.size() && usable.get(index).startsWith(prefix); index++) {
+            suggestions.add(usable.get(index));
+        }
+        return suggestions;
+    }
+
+    private List<String> computeUsableRootAliases(final CommandCause cause) {
+        final CommandNode<CommandSource> root = SpongeCommon.getServer().getCommandManager().getDispatcher().getRoot();
+        // Every alias of a mapping, namespaced or not, leads to the same command
+        final Map<SpongeCommandMapping, Boolean> usableMappings = new HashMap<>();
+        final List<String> usable = new ArrayList<>();
+        for (final Map.Entry<String, SpongeCommandMapping> entry : this.commandMappings.entrySet()) {
+            if (usableMappings.computeIfAbsent(entry.getValue(), mapping -> this.canUse(mapping, root, cause))) {
+                usable.add(entry.getKey());
+            }
+        }
+        return Collections.unmodifiableList(usable);
+    }
+
+    private boolean canUse(final SpongeCommandMapping mapping, final CommandNode<CommandSource> root, final CommandCause cause) {
+        if (mapping.getRegistrar() instanceof SpongeCommandRegistrar) {
+            return ((SpongeCommandRegistrar<?>) mapping.getRegistrar()).canExecute(cause, mapping.getPrimaryAlias());
+        }
+        // Other registrars are checked through the node of the primary alias, commands without one are always offered.
+        final CommandNode<CommandSource> node = root.getChild(mapping.getPrimaryAlias());
+        return node == null || node.canUse((CommandSource) cause);
+    }
+
     @Override
     @NonNull
     public <T extends Subject & MessageReceiver> List<String> suggest(
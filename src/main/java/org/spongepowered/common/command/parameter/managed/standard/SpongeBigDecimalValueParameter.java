@@ -69,4 +69,9 @@ public Optional<? extends BigDecimal> getValue(
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -68,4 +68,9 @@ public List<String> complete(@NonNull final CommandContext context) {
         return ImmutableList.of();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -132,4 +132,10 @@ private int checkIntConversion(final String entry) {
         }
         return i;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -78,4 +78,10 @@ public Optional<? extends LocalDateTime> getValue(
             }
         }
     }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -86,4 +86,9 @@ public Optional<? extends Duration> getValue(
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
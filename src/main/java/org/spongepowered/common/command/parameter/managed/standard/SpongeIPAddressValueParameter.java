@@ -70,4 +70,9 @@ public Optional<? extends InetAddress> getValue(
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
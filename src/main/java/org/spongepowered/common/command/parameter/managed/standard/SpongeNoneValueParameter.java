@@ -77,4 +77,9 @@ public List<ClientCompletionType> getClientCompletionType() {
         return ImmutableList.of(ClientCompletionTypes.NONE.get());
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
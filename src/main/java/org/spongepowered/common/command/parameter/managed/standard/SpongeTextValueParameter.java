@@ -88,4 +88,9 @@ public List<ArgumentType<?>> getClientCompletionArgumentType() {
         return ImmutableList.of(this.clientCompletionType);
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -41,6 +41,7 @@
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.user.UserManager;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.SpongeServer;
 import org.spongepowered.common.command.brigadier.argument.CatalogedArgumentParser;
 import org.spongepowered.common.command.brigadier.context.SpongeCommandContextBuilder;
 
@@ -64,7 +65,14 @@ public ResourceKey getKey() {
     public CompletableFuture<Suggestions> listSuggestions(
             final com.mojang.brigadier.context.CommandContext<?> context,
             final SuggestionsBuilder builder) {
-        return super.listSuggestions(context, builder);
+        final String prefix = builder.getRemaining();
+        // Every known name would match an empty prefix, only suggest once something was typed
+        if (!prefix.isEmpty() && !prefix.startsWith("@")) {
+            for (final String name : ((SpongeServer) SpongeCommon.getGame().getServer()).getUsernameCache().getByUsernamePrefix(prefix).values()) {
+                builder.suggest(name);
+            }
+        }
+        return builder.buildFuture();
     }
 
     @Override
@@ -25,6 +25,7 @@
 package org.spongepowered.common.command.registrar;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestion;
@@ -34,6 +35,7 @@
 import net.minecraft.command.CommandSource;
 import net.minecraft.util.ResourceLocation;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.command.CommandCause;
 import org.spongepowered.api.command.CommandResult;
@@ -66,7 +68,7 @@
  * {@link #register(PluginContainer, LiteralArgumentBuilder, String...)}
  * method.</p>
  */
-public class BrigadierCommandRegistrar implements CommandRegistrar<LiteralCommandNode<CommandSource>> {
+public class BrigadierCommandRegistrar implements CommandRegistrar<LiteralCommandNode<CommandSource>>, DispatcherBackedCommandRegistrar {
 
     public static final BrigadierCommandRegistrar INSTANCE = new BrigadierCommandRegistrar();
     public static final ResourceKey RESOURCE_KEY = (ResourceKey) (Object) new ResourceLocation("sponge", "brigadier");
@@ -236,9 +238,21 @@ private void updateRequirement(
     @Override
     @NonNull
     public CommandResult process(@NonNull final CommandCause cause, @NonNull final String command, @NonNull final String arguments) throws CommandException {
+        final CommandDispatcher<CommandSource> dispatcher = SpongeCommon.getServer().getCommandManager().getDispatcher();
+        return this.execute(cause, dispatcher.parse(command + " " + arguments, (CommandSource) cause));
+    }
+
+    @Override
+    @Nullable
+    public ParseResults<CommandSource> parseOffMainThread(final CommandCause cause, final String command, final String arguments) {
+        final SpongeCommandDispatcher dispatcher = (SpongeCommandDispatcher) SpongeCommon.getServer().getCommandManager().getDispatcher();
+        return dispatcher.parseOffMainThread(command + " " + arguments, (CommandSource) cause);
+    }
+
+    @Override
+    public CommandResult execute(final CommandCause cause, final ParseResults<CommandSource> parseResults) throws CommandException {
         try {
-            final CommandDispatcher<CommandSource> dispatcher = SpongeCommon.getServer().getCommandManager().getDispatcher();
-            final int result = dispatcher.execute(dispatcher.parse(command + " " + arguments, (CommandSource) cause));
+            final int result = SpongeCommon.getServer().getCommandManager().getDispatcher().execute(parseResults);
             return CommandResult.builder().setResult(result).build();
         } catch (final CommandSyntaxException e) {
             // TODO: CommandException when text is working
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command.registrar;
+
+import com.mojang.brigadier.ParseResults;
+import net.minecraft.command.CommandSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.command.CommandCause;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.exception.CommandException;
+import org.spongepowered.common.command.brigadier.SpongeCommandDispatcher;
+
+/**
+ * A registrar whose commands are parsed by the server's
+ * {@link SpongeCommandDispatcher}, which allows a command to be parsed ahead
+ * of, and on another thread than, its execution.
+ */
+public interface DispatcherBackedCommandRegistrar {
+
+    /**
+     * Parses the command on the calling thread, which need not be the main
+     * thread.
+     *
+     * @param cause The cause of the command
+     * @param command The alias of the command
+     * @param arguments The arguments
+     * @return The results, or null if the command has to be parsed on the main thread
+     * @see SpongeCommandDispatcher#parseOffMainThread(String, CommandSource)
+     */
+    @Nullable
+    ParseResults<CommandSource> parseOffMainThread(CommandCause cause, String command, String arguments);
+
+    /**
+     * Executes an already parsed command. This must be called on the main
+     * thread.
+     *
+     * @param cause The cause of the command
+     * @param parseResults The parsed command
+     * @return The result
+     * @throws CommandException If the command failed
+     */
+    CommandResult execute(CommandCause cause, ParseResults<CommandSource> parseResults) throws CommandException;
+
+}
@@ -25,12 +25,14 @@
 package org.spongepowered.common.command.registrar;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestion;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import net.minecraft.command.CommandSource;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.command.Command;
 import org.spongepowered.api.command.CommandCause;
@@ -42,6 +44,7 @@
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.command.brigadier.SpongeCommandDispatcher;
 import org.spongepowered.common.command.manager.SpongeCommandManager;
 import org.spongepowered.plugin.PluginContainer;
 
@@ -52,7 +55,7 @@
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
-public abstract class SpongeCommandRegistrar<T extends Command> implements CommandRegistrar<T> {
+public abstract class SpongeCommandRegistrar<T extends Command> implements CommandRegistrar<T>, DispatcherBackedCommandRegistrar {
 
     private final Map<String, T> commandMap = new TreeMap<>();
     private final ResourceKey catalogKey;
@@ -87,16 +90,39 @@ public CommandMapping register(@NonNull final PluginContainer container,
         final Tuple<CommandMapping, LiteralCommandNode<CommandSource>> mappingResult =
                 BrigadierCommandRegistrar.INSTANCE
                         .registerInternal(this, container, secondaryAliases, this.createNode(primaryAlias.toLowerCase(), command));
+        this.commandMap.put(mappingResult.getFirst().getPrimaryAlias().toLowerCase(), command);
         return mappingResult.getFirst();
     }
 
+    /**
+     * Gets whether the given cause may execute the command registered under
+     * the given primary alias.
+     *
+     * @param cause The cause
+     * @param command The primary alias of the command
+     * @return Whether the command can be executed, true if it is unknown
+     */
+    public boolean canExecute(final CommandCause cause, final String command) {
+        final T commandEntry = this.commandMap.get(command.toLowerCase());
+        return commandEntry == null || commandEntry.canExecute(cause);
+    }
+
     @NonNull
     @Override
     public CommandResult process(@NonNull final CommandCause cause, @NonNull final String command, @NonNull final String arguments) throws CommandException {
+        return this.execute(cause, this.getDispatcher().parse(this.createCommandString(command, arguments), (CommandSource) cause));
+    }
+
+    @Override
+    @Nullable
+    public ParseResults<CommandSource> parseOffMainThread(final CommandCause cause, final String command, final String arguments) {
+        return ((SpongeCommandDispatcher) this.getDispatcher()).parseOffMainThread(this.createCommandString(command, arguments), (CommandSource) cause);
+    }
+
+    @Override
+    public CommandResult execute(final CommandCause cause, final ParseResults<CommandSource> parseResults) throws CommandException {
         try {
-            return CommandResult.builder().setResult(
-                    this.getDispatcher().execute(
-                            this.getDispatcher().parse(this.createCommandString(command, arguments), (CommandSource) cause))).build();
+            return CommandResult.builder().setResult(this.getDispatcher().execute(parseResults)).build();
         } catch (final CommandSyntaxException e) {
             // We'll unwrap later.
             // TODO: Text
@@ -34,14 +34,20 @@
 import org.spongepowered.api.event.lifecycle.RefreshGameEvent;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.entity.collision.EntityCollisionStats;
+import org.spongepowered.common.event.ListenerLatencyStats;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickProfiler;
 import org.spongepowered.common.launch.Launcher;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.server.EntityTrackingStats;
 import org.spongepowered.plugin.PluginContainer;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
@@ -63,12 +69,34 @@ public static Command.Parameterized createSpongeCommand() {
                 .setExecutor(SpongeCommand::auditSubcommandExecutor)
                 .build();
 
+        // /sponge collisions
+        final Command.Parameterized collisionsResetCommand = Command.builder()
+                .setPermission("sponge.command.collisions.reset")
+                .setExecutor(SpongeCommand::collisionsResetSubcommandExecutor)
+                .build();
+        final Command.Parameterized collisionsCommand = Command.builder()
+                .setPermission("sponge.command.collisions")
+                .child(collisionsResetCommand, "reset")
+                .setExecutor(SpongeCommand::collisionsSubcommandExecutor)
+                .build();
+
         // /sponge heap
         final Command.Parameterized heapCommand = Command.builder()
                 .setPermission("sponge.command.heap")
                 .setExecutor(SpongeCommand::heapSubcommandExecutor)
                 .build();
 
+        // /sponge listeners
+        final Command.Parameterized listenersResetCommand = Command.builder()
+                .setPermission("sponge.command.listeners.reset")
+                .setExecutor(SpongeCommand::listenersResetSubcommandExecutor)
+                .build();
+        final Command.Parameterized listenersCommand = Command.builder()
+                .setPermission("sponge.command.listeners")
+                .child(listenersResetCommand, "reset")
+                .setExecutor(SpongeCommand::listenersSubcommandExecutor)
+                .build();
+
         // /sponge plugins
         final Command.Parameterized pluginsReloadCommand = Command.builder()
                 .setPermission("sponge.command.plugins.reload")
@@ -81,18 +109,48 @@ public static Command.Parameterized createSpongeCommand() {
                 .setExecutor(SpongeCommand::pluginsSubcommand)
                 .build();
 
+        // /sponge profiler
+        final Command.Parameterized profilerStartCommand = Command.builder()
+                .setPermission("sponge.command.profiler.start")
+                .setExecutor(SpongeCommand::profilerStartSubcommandExecutor)
+                .build();
+        final Command.Parameterized profilerStopCommand = Command.builder()
+                .setPermission("sponge.command.profiler.stop")
+                .setExecutor(SpongeCommand::profilerStopSubcommandExecutor)
+                .build();
+        final Command.Parameterized profilerCommand = Command.builder()
+                .setPermission("sponge.command.profiler")
+                .child(profilerStartCommand, "start")
+                .child(profilerStopCommand, "stop")
+                .build();
+
         // /sponge timings
         final Command.Parameterized timingsCommand = SpongeCommand.timingsSubcommand();
 
+        // /sponge tracking
+        final Command.Parameterized trackingResetCommand = Command.builder()
+                .setPermission("sponge.command.tracking.reset")
+                .setExecutor(SpongeCommand::trackingResetSubcommandExecutor)
+                .build();
+        final Command.Parameterized trackingCommand = Command.builder()
+                .setPermission("sponge.command.tracking")
+                .child(trackingResetCommand, "reset")
+                .setExecutor(SpongeCommand::trackingSubcommandExecutor)
+                .build();
+
 
         // /sponge
         return Command.builder()
                 .setPermission("sponge.command.root")
                 .setExecutor(SpongeCommand::rootCommand)
                 .child(auditCommand, "audit")
+                .child(collisionsCommand, "collisions")
                 .child(heapCommand, "heap")
+                .child(listenersCommand, "listeners")
                 .child(pluginsCommand, "plugins")
+                .child(profilerCommand, "profiler")
                 .child(timingsCommand, "timings")
+                .child(trackingCommand, "tracking")
                 .build();
     }
 
@@ -125,6 +183,78 @@ public static CommandResult auditSubcommandExecutor(final CommandContext context
         return CommandResult.success();
     }
 
+    @NonNull
+    private static CommandResult collisionsSubcommandExecutor(final CommandContext context) {
+        SpongeCommon.getLogger().info("Most queried entity sections:");
+        EntityCollisionStats.describeHotSections(10).forEach(line -> SpongeCommon.getLogger().info("  {}", line));
+        SpongeCommon.getLogger().info("Most colliding types:");
+        EntityCollisionStats.describeTypes(10).forEach(line -> SpongeCommon.getLogger().info("  {}", line));
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult collisionsResetSubcommandExecutor(final CommandContext context) {
+        EntityCollisionStats.reset();
+        SpongeCommon.getLogger().info("Entity collision statistics have been reset.");
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult trackingSubcommandExecutor(final CommandContext context) {
+        SpongeCommon.getLogger().info("Tracked entity and player pairs:");
+        EntityTrackingStats.describeWorlds().forEach(line -> SpongeCommon.getLogger().info("  {}", line));
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult trackingResetSubcommandExecutor(final CommandContext context) {
+        EntityTrackingStats.reset();
+        SpongeCommon.getLogger().info("Entity tracking statistics have been reset.");
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult listenersSubcommandExecutor(final CommandContext context) {
+        SpongeCommon.getLogger().info("Event listeners by total time:");
+        ListenerLatencyStats.describeByTotal(10).forEach(line -> SpongeCommon.getLogger().info("  {}", line));
+        SpongeCommon.getLogger().info("Event listeners by 99th percentile latency:");
+        ListenerLatencyStats.describeByTail(10).forEach(line -> SpongeCommon.getLogger().info("  {}", line));
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult listenersResetSubcommandExecutor(final CommandContext context) {
+        ListenerLatencyStats.reset();
+        SpongeCommon.getLogger().info("Event listener latency statistics have been reset.");
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult profilerStartSubcommandExecutor(final CommandContext context) {
+        final int interval = SpongeCommon.getGlobalConfigAdapter().getConfig().getTimings().getProfilerSampleInterval();
+        if (TickProfiler.start(interval)) {
+            SpongeCommon.getLogger().info("Started sampling the server tick every {} ms.", interval);
+        } else {
+            SpongeCommon.getLogger().info("The tick profiler is already running.");
+        }
+        return CommandResult.success();
+    }
+
+    @NonNull
+    private static CommandResult profilerStopSubcommandExecutor(final CommandContext context) {
+        try {
+            final Path file = TickProfiler.stop();
+            if (file == null) {
+                SpongeCommon.getLogger().info("The tick profiler is not running.");
+            } else {
+                SpongeCommon.getLogger().info("Wrote the tick profile to: {}", file.toAbsolutePath());
+            }
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Could not write the tick profile", e);
+        }
+        return CommandResult.success();
+    }
+
     @NonNull
     private static CommandResult heapSubcommandExecutor(final CommandContext context) {
         final File file = new File(new File(new File("."), "dumps"),
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.config.category.MovementChecksCategory;
+import org.spongepowered.common.config.category.PhaseTrackerCategory;
+import org.spongepowered.common.config.category.TimingsCategory;
+import org.spongepowered.common.config.type.GlobalConfig;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable snapshot of the global config values that are read on hot
+ * paths, such as for every movement packet or every phase switch.
+ *
+ * <p>Reading these values through the config adapter walks several levels
+ * of config objects on each call. Instead, a new snapshot is compiled and
+ * published every time the global config is (re)loaded or updated, so
+ * readers only pay for a single field read and always see a consistent set
+ * of values.</p>
+ */
+public final class GlobalConfigSnapshot {
+
+    @Nullable private static volatile GlobalConfigSnapshot current;
+
+    /**
+     * Gets the current snapshot of the global config.
+     *
+     * @return The current snapshot
+     */
+    public static GlobalConfigSnapshot get() {
+        final GlobalConfigSnapshot snapshot = GlobalConfigSnapshot.current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // The global config either hasn't been loaded yet or failed to, fall back to whatever it holds
+        final GlobalConfigSnapshot initial = new GlobalConfigSnapshot(SpongeCommon.getGlobalConfigAdapter().getConfig());
+        if (GlobalConfigSnapshot.current == null) {
+            GlobalConfigSnapshot.current = initial;
+        }
+        return GlobalConfigSnapshot.current;
+    }
+
+    static void publish(final GlobalConfig config) {
+        GlobalConfigSnapshot.current = new GlobalConfigSnapshot(config);
+    }
+
+    // Movement checks
+    public final boolean playerMovedTooQuickly;
+    public final boolean playerVehicleMovedTooQuickly;
+    public final boolean movedWrongly;
+
+    // Phase tracker
+    public final boolean verbosePhaseTracker;
+    public final boolean verbosePhaseTrackerErrors;
+    public final boolean generateStackTracePerStateEntry;
+    public final boolean captureEntitiesAsync;
+    public final int maximumRunawayCount;
+
+    // Optimizations
+    public final boolean shareEncodedEntityPackets;
+    public final boolean inventoryContentIndex;
+
+    // Event listeners
+    public final boolean listenerHistograms;
+    public final long slowListenerThresholdNanos;
+    public final long slowListenerLogIntervalNanos;
+
+    private GlobalConfigSnapshot(final GlobalConfig config) {
+        final MovementChecksCategory movementChecks = config.getMovementChecks();
+        this.playerMovedTooQuickly = movementChecks.playerMovedTooQuickly();
+        this.playerVehicleMovedTooQuickly = movementChecks.playerVehicleMovedTooQuickly();
+        this.movedWrongly = movementChecks.movedWrongly();
+
+        final PhaseTrackerCategory phaseTracker = config.getPhaseTracker();
+        this.verbosePhaseTracker = phaseTracker.isVerbose();
+        this.verbosePhaseTrackerErrors = phaseTracker.verboseErrors();
+        this.generateStackTracePerStateEntry = phaseTracker.generateStackTracePerStateEntry();
+        this.captureEntitiesAsync = phaseTracker.captureEntitiesAsync();
+        this.maximumRunawayCount = phaseTracker.getMaximumRunawayCount();
+
+        this.shareEncodedEntityPackets = config.getOptimizations().isShareEncodedEntityPackets();
+        this.inventoryContentIndex = config.getOptimizations().useInventoryContentIndex();
+
+        final TimingsCategory timings = config.getTimings();
+        this.listenerHistograms = timings.isListenerHistograms();
+        this.slowListenerThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timings.getSlowListenerThreshold()));
+        this.slowListenerLogIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, timings.getSlowListenerLogInterval()));
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.EntityClassification;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.registry.Registry;
+import org.spongepowered.common.config.category.BlockEntityActivationCategory;
+import org.spongepowered.common.config.category.BlockEntityActivationModCategory;
+import org.spongepowered.common.config.category.CollisionModCategory;
+import org.spongepowered.common.config.category.EntityActivationModCategory;
+import org.spongepowered.common.config.category.EntityActivationRangeCategory;
+import org.spongepowered.common.config.category.EntityCollisionCategory;
+import org.spongepowered.common.config.type.GeneralConfigBase;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * A flattened view of the per type settings of a world config, which
+ * already has the global and dimension configs merged into it.
+ *
+ * <p>Values are resolved once per type through the mod overrides and
+ * stored in dense arrays indexed by the registry id of the type, so that
+ * repeated lookups for the same type don't have to split keys and walk the
+ * mod maps again. A resolved config is rebuilt whenever any config has been
+ * (re)loaded since it was created.</p>
+ */
+public final class ResolvedWorldConfig {
+
+    /**
+     * The value of an activation range for types which should always be
+     * active, because activation has been disabled for their mod.
+     */
+    public static final int ALWAYS_ACTIVE = -1;
+
+    private static final int UNRESOLVED = Integer.MIN_VALUE;
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    static void invalidateAll() {
+        ResolvedWorldConfig.GENERATION.incrementAndGet();
+    }
+
+    private final int generation = ResolvedWorldConfig.GENERATION.get();
+    private final EntityCollisionCategory collisions;
+    private final EntityActivationRangeCategory entityActivation;
+    private final BlockEntityActivationCategory blockEntityActivation;
+
+    private final ResolvedValues<EntityType<?>> entityMaxCollisions = new ResolvedValues<>(Registry.ENTITY_TYPE::getId, this::resolveEntityMaxCollisions);
+    private final ResolvedValues<Item> itemEntityMaxCollisions = new ResolvedValues<>(Registry.ITEM::getId, this::resolveItemEntityMaxCollisions);
+    private final ResolvedValues<Block> blockMaxCollisions = new ResolvedValues<>(Registry.BLOCK::getId, this::resolveBlockMaxCollisions);
+    private final ResolvedValues<EntityType<?>> entityActivationRanges = new ResolvedValues<>(Registry.ENTITY_TYPE::getId, this::resolveEntityActivationRange);
+    private final ResolvedValues<TileEntityType<?>> blockEntityActivationRanges = new ResolvedValues<>(Registry.BLOCK_ENTITY_TYPE::getId, this::resolveBlockEntityActivationRange);
+    private final ResolvedValues<TileEntityType<?>> blockEntityTickRates = new ResolvedValues<>(Registry.BLOCK_ENTITY_TYPE::getId, this::resolveBlockEntityTickRate);
+
+    ResolvedWorldConfig(final GeneralConfigBase config) {
+        this.collisions = config.getEntityCollisionCategory();
+        this.entityActivation = config.getEntityActivationRange();
+        this.blockEntityActivation = config.getTileEntityActivationRange();
+    }
+
+    boolean isCurrent() {
+        return this.generation == ResolvedWorldConfig.GENERATION.get();
+    }
+
+    /**
+     * Gets whether newly discovered types should be added to the config,
+     * in which case the lookups have to go through the config itself.
+     *
+     * @return Whether collision data is auto populated
+     */
+    public boolean isAutoPopulatingCollisions() {
+        return this.collisions.autoPopulateData();
+    }
+
+    public int getMaxCollisions(final EntityType<?> type) {
+        return this.entityMaxCollisions.get(type);
+    }
+
+    public int getItemEntityMaxCollisions(final Item item) {
+        return this.itemEntityMaxCollisions.get(item);
+    }
+
+    public int getMaxCollisions(final Block block) {
+        return this.blockMaxCollisions.get(block);
+    }
+
+    public int getActivationRange(final EntityType<?> type) {
+        return this.entityActivationRanges.get(type);
+    }
+
+    public int getActivationRange(final TileEntityType<?> type) {
+        return this.blockEntityActivationRanges.get(type);
+    }
+
+    public int getTickRate(final TileEntityType<?> type) {
+        return this.blockEntityTickRates.get(type);
+    }
+
+    private int resolveEntityMaxCollisions(final EntityType<?> type) {
+        return this.resolveMaxCollisions(Registry.ENTITY_TYPE.getKey(type), "entities", CollisionModCategory::getEntityList);
+    }
+
+    private int resolveItemEntityMaxCollisions(final Item item) {
+        return this.resolveMaxCollisions(Registry.ITEM.getKey(item), "entities", CollisionModCategory::getEntityList);
+    }
+
+    private int resolveBlockMaxCollisions(final Block block) {
+        return this.resolveMaxCollisions(Registry.BLOCK.getKey(block), "blocks", CollisionModCategory::getBlockList);
+    }
+
+    private int resolveMaxCollisions(final ResourceLocation key, final String defaultsKey,
+            final Function<CollisionModCategory, Map<String, Integer>> overrides) {
+        final CollisionModCategory mod = this.collisions.getModList().get(key.getNamespace());
+        if (mod == null) {
+            return this.collisions.getMaxEntitiesWithinAABB();
+        }
+        if (!mod.isEnabled()) {
+            return -1;
+        }
+        final Integer typeMax = overrides.apply(mod).get(key.getPath());
+        if (typeMax != null) {
+            return typeMax;
+        }
+        final Integer modMax = mod.getDefaultMaxCollisions().get(defaultsKey);
+        return modMax != null ? modMax : this.collisions.getMaxEntitiesWithinAABB();
+    }
+
+    private int resolveEntityActivationRange(final EntityType<?> type) {
+        final ResourceLocation key = Registry.ENTITY_TYPE.getKey(type);
+        final String activationType = ResolvedWorldConfig.getActivationType(type.getClassification());
+        final EntityActivationModCategory mod = this.entityActivation.getModList().get(key.getNamespace());
+        if (mod != null) {
+            if (!mod.isEnabled()) {
+                return ResolvedWorldConfig.ALWAYS_ACTIVE;
+            }
+            final Integer typeRange = mod.getEntityList().get(key.getPath());
+            if (typeRange != null) {
+                return typeRange;
+            }
+            final Integer modRange = mod.getDefaultRanges().get(activationType);
+            if (modRange != null) {
+                return modRange;
+            }
+        }
+        final Integer defaultRange = this.entityActivation.getDefaultRanges().get(activationType);
+        return defaultRange != null ? defaultRange : ResolvedWorldConfig.ALWAYS_ACTIVE;
+    }
+
+    private int resolveBlockEntityActivationRange(final TileEntityType<?> type) {
+        final ResourceLocation key = Registry.BLOCK_ENTITY_TYPE.getKey(type);
+        @Nullable final BlockEntityActivationModCategory mod = key == null ? null : this.blockEntityActivation.getModList().get(key.getNamespace());
+        if (mod != null) {
+            if (!mod.isEnabled()) {
+                return ResolvedWorldConfig.ALWAYS_ACTIVE;
+            }
+            final Integer typeRange = mod.getTileEntityRangeList().get(key.getPath());
+            if (typeRange != null) {
+                return typeRange;
+            }
+            if (mod.getDefaultBlockRange() != null) {
+                return mod.getDefaultBlockRange();
+            }
+        }
+        return this.blockEntityActivation.getDefaultBlockRange();
+    }
+
+    private int resolveBlockEntityTickRate(final TileEntityType<?> type) {
+        final ResourceLocation key = Registry.BLOCK_ENTITY_TYPE.getKey(type);
+        @Nullable final BlockEntityActivationModCategory mod = key == null ? null : this.blockEntityActivation.getModList().get(key.getNamespace());
+        if (mod != null) {
+            if (!mod.isEnabled()) {
+                return 1;
+            }
+            final Integer typeTickRate = mod.getTileEntityTickRateList().get(key.getPath());
+            if (typeTickRate != null) {
+                return typeTickRate;
+            }
+            if (mod.getDefaultTickRate() != null) {
+                return mod.getDefaultTickRate();
+            }
+        }
+        return this.blockEntityActivation.getDefaultTickRate();
+    }
+
+    private static String getActivationType(final EntityClassification classification) {
+        switch (classification) {
+            case MONSTER:
+                return "monster";
+            case CREATURE:
+                return "creature";
+            case AMBIENT:
+                return "ambient";
+            case WATER_CREATURE:
+                return "aquatic";
+            default:
+                return "misc";
+        }
+    }
+
+    /**
+     * A dense, lazily populated mapping of registry ids to resolved values.
+     */
+    private static final class ResolvedValues<T> {
+
+        private final ToIntFunction<T> idFunction;
+        private final ToIntFunction<T> resolver;
+        private int[] values = new int[0];
+
+        ResolvedValues(final ToIntFunction<T> idFunction, final ToIntFunction<T> resolver) {
+            this.idFunction = idFunction;
+            this.resolver = resolver;
+        }
+
+        int get(final T type) {
+            final int id = this.idFunction.applyAsInt(type);
+            if (id < 0) {
+                // Not registered, so there is nothing to index it by
+                return this.resolver.applyAsInt(type);
+            }
+            int[] values = this.values;
+            if (id < values.length) {
+                final int value = values[id];
+                if (value != ResolvedWorldConfig.UNRESOLVED) {
+                    return value;
+                }
+            } else {
+                values = Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+                Arrays.fill(values, this.values.length, values.length, ResolvedWorldConfig.UNRESOLVED);
+                this.values = values;
+            }
+            final int value = this.resolver.applyAsInt(type);
+            values[id] = value;
+            return value;
+        }
+    }
+}
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.config;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.common.reflect.TypeToken;
 import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.Types;
@@ -40,6 +42,7 @@
 import org.spongepowered.common.config.type.ConfigBase;
 import org.spongepowered.common.config.type.CustomDataConfig;
 import org.spongepowered.common.config.type.DimensionConfig;
+import org.spongepowered.common.config.type.GeneralConfigBase;
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.TrackerConfig;
 import org.spongepowered.common.config.type.WorldConfig;
@@ -120,6 +123,11 @@ public enum Type {
     private final String modId;
     private final boolean isDummy;
 
+    /**
+     * The flattened per type settings of this config, resolved lazily.
+     */
+    @Nullable private volatile ResolvedWorldConfig resolvedConfig;
+
     public static <T extends ConfigBase> SpongeConfig<T> newDummyConfig(Type type) {
         return new SpongeConfig<>(type);
     }
@@ -175,6 +183,22 @@ public T getConfig() {
         return this.configMapper.getInstance();
     }
 
+    /**
+     * Gets the flattened per type settings of this config, rebuilding them
+     * if any config has been reloaded since they were last resolved.
+     *
+     * @return The resolved config
+     */
+    public ResolvedWorldConfig getResolvedConfig() {
+        ResolvedWorldConfig resolved = this.resolvedConfig;
+        if (resolved == null || !resolved.isCurrent()) {
+            checkState(this.getConfig() instanceof GeneralConfigBase, "Only world related configs can be resolved");
+            resolved = new ResolvedWorldConfig((GeneralConfigBase) this.getConfig());
+            this.resolvedConfig = resolved;
+        }
+        return resolved;
+    }
+
     public void save() {
         if (this.isDummy) {
             return;
@@ -261,6 +285,11 @@ private void populateInstance() throws ObjectMappingException {
             return;
         }
         this.configMapper.populate(this.data.getNode(this.modId));
+        // Children inherit from this config, so every resolved config may be stale now
+        ResolvedWorldConfig.invalidateAll();
+        if (this.type == Type.GLOBAL) {
+            GlobalConfigSnapshot.publish((GlobalConfig) this.getConfig());
+        }
     }
 
     /**
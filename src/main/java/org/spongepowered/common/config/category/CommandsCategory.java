@@ -57,6 +57,13 @@ public class CommandsCategory extends ConfigCategory {
                     + "permission for")
     private CommandsHiddenCategory commandHiding = new CommandsHiddenCategory();
 
+    @Setting(value = "async-parsing",
+            comment = "If true, commands submitted through Sponge's asynchronous command processing are parsed,\n"
+                    + "including permission checks, off the main thread whenever every argument they use can be\n"
+                    + "parsed safely there. Only the execution itself then happens on the main thread. Commands\n"
+                    + "that use arguments needing the world, such as entity selectors, are still parsed on the main thread.")
+    private boolean asyncParsing = false;
+
     public boolean isEnforcePermissionChecksOnNonSpongeCommands() {
         return this.enforcePermissionChecksOnNonSpongeCommands;
     }
@@ -73,4 +80,8 @@ public CommandsHiddenCategory getCommandHiding() {
         return this.commandHiding;
     }
 
+    public boolean isAsyncParsing() {
+        return this.asyncParsing;
+    }
+
 }
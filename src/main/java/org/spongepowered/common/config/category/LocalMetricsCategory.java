@@ -0,0 +1,64 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class LocalMetricsCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', tick, world, event listener, scheduler and phase tracker statistics\n"
+                                        + "are collected and exposed in the Prometheus text format. Changes take effect\n"
+                                        + "on the next server start.")
+    private boolean enabled = false;
+
+    @Setting(value = "http-port", comment = "The port of the loopback only HTTP endpoint serving the metrics on '/metrics'.\n"
+                                          + "Set to 0 to disable the endpoint.")
+    private int httpPort = 9225;
+
+    @Setting(value = "file", comment = "The file the metrics are periodically written to, relative to the server\n"
+                                     + "directory. Leave empty to disable writing the file.")
+    private String file = "";
+
+    @Setting(value = "file-interval", comment = "The interval in seconds in which the metrics file is written.")
+    private int fileInterval = 15;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getHttpPort() {
+        return this.httpPort;
+    }
+
+    public String getFile() {
+        return this.file;
+    }
+
+    public int getFileInterval() {
+        return this.fileInterval;
+    }
+}
@@ -120,6 +120,27 @@ public class OptimizationCategory extends ConfigCategory {
             "suppress the exceptions printing out in the log.")
     private boolean disableFailingAdvancementDeserialization = true;
 
+    @Setting(value = "merge-identical-explosions", comment = "If 'true', an explosion that is identical to one that was already traced\n"
+                                                           + "at the same position during the same tick, without any blocks having been\n"
+                                                           + "changed in the meantime, re-uses the affected blocks of the previous explosion\n"
+                                                           + "instead of tracing its rays again. This greatly reduces the cost of stacked\n"
+                                                           + "TNT, such as in TNT cannons, but the blast intensity of merged explosions\n"
+                                                           + "is no longer randomized independently.")
+    private boolean mergeIdenticalExplosions = false;
+
+    @Setting(value = "share-encoded-entity-packets", comment = "If 'true', the metadata, equipment and movement packets of an entity are\n"
+                                                             + "encoded only once per tick and the encoded bytes are shared by all the\n"
+                                                             + "players tracking the entity, instead of being encoded for every player.\n"
+                                                             + "This greatly reduces the cost of crowded areas, but mods that inspect\n"
+                                                             + "outgoing packets on the network pipeline will not see these packets.")
+    private boolean shareEncodedEntityPackets = false;
+
+    @Setting(value = "inventory-content-index", comment = "If 'true', the item types held by player, container and tile entity inventories\n"
+                                                        + "are indexed, letting 'contains' checks and item queries skip the slots that\n"
+                                                        + "cannot match. Each index checks its slots for replaced stacks whenever it is\n"
+                                                        + "used and only updates the slots that changed.")
+    private boolean inventoryContentIndex = false;
+
     public OptimizationCategory() {
         // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
         // Because of how early this constructor gets called, we can't use SpongeImplHooks or even Game
@@ -195,4 +216,16 @@ public boolean isOptimizedTileEntityTicking() {
     public boolean disableFailingAdvancementDeserialization() {
         return this.disableFailingAdvancementDeserialization;
     }
+
+    public boolean isMergeIdenticalExplosions() {
+        return this.mergeIdenticalExplosions;
+    }
+
+    public boolean isShareEncodedEntityPackets() {
+        return this.shareEncodedEntityPackets;
+    }
+
+    public boolean useInventoryContentIndex() {
+        return this.inventoryContentIndex;
+    }
 }
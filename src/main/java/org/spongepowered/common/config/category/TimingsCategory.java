@@ -51,6 +51,22 @@ public class TimingsCategory extends ConfigCategory {
     @Setting("history-length")
     private int historyLength = 3600;
 
+    @Setting(value = "listener-histograms", comment = "If 'true', the latency of every event listener is recorded in a histogram\n"
+                                                    + "that can be inspected with '/sponge listeners'.")
+    private boolean listenerHistograms = true;
+
+    @Setting(value = "slow-listener-threshold", comment = "The time in milliseconds an event listener may take to handle a single event\n"
+                                                        + "before a warning is logged. Set to 0 to disable the warning.")
+    private int slowListenerThreshold = 0;
+
+    @Setting(value = "slow-listener-log-interval", comment = "The minimum interval in seconds between two slow listener warnings of the\n"
+                                                           + "same listener.")
+    private int slowListenerLogInterval = 30;
+
+    @Setting(value = "profiler-sample-interval", comment = "The interval in milliseconds in which '/sponge profiler' samples the phase\n"
+                                                         + "stack of the server thread.")
+    private int profilerSampleInterval = 10;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -91,4 +107,20 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
+    public boolean isListenerHistograms() {
+        return this.listenerHistograms;
+    }
+
+    public int getSlowListenerThreshold() {
+        return this.slowListenerThreshold;
+    }
+
+    public int getSlowListenerLogInterval() {
+        return this.slowListenerLogInterval;
+    }
+
+    public int getProfilerSampleInterval() {
+        return this.profilerSampleInterval;
+    }
+
 }
\ No newline at end of file
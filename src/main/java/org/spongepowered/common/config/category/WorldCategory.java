@@ -56,6 +56,11 @@ public class WorldCategory extends ConfigCategory {
     @Setting(value = "keep-spawn-loaded", comment = "If 'true', this worlds spawn will remain loaded with no players.")
     private Boolean keepSpawnLoaded = true;
 
+    @Setting(value = "template", comment = "If 'true', this world is a read-only template and cannot be loaded itself. \n"
+                                         + "Copies of it share its region files and only store the chunks they change, \n"
+                                         + "they are deleted again once unloaded.")
+    private boolean template = false;
+
     @Setting(value = "pvp-enabled", comment = "If 'true', this world will allow PVP combat.")
     private boolean pvpEnabled = true;
 
@@ -139,6 +144,10 @@ public void setWorldEnabled(boolean enabled) {
         this.worldEnabled = enabled;
     }
 
+    public boolean isTemplate() {
+        return this.template;
+    }
+
     public long getChunkUnloadDelay() {
         return this.chunkUnloadDelay;
     }
@@ -37,6 +37,7 @@
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalGeneralCategory;
 import org.spongepowered.common.config.category.GlobalWorldCategory;
+import org.spongepowered.common.config.category.LocalMetricsCategory;
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.MovementChecksCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
@@ -101,6 +102,9 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting(value = "metrics")
     private MetricsCategory metricsCategory = new MetricsCategory();
 
+    @Setting(value = "local-metrics", comment = "Local, pull based metrics for monitoring the server")
+    private LocalMetricsCategory localMetrics = new LocalMetricsCategory();
+
     @Setting(value = "service-registration",
             comment = "Enables server owners to require specific plugins to provide Sponge services")
     private ServicesCategory servicesCategory = new ServicesCategory();
@@ -185,4 +189,8 @@ public MovementChecksCategory getMovementChecks() {
     public MetricsCategory getMetricsCategory() {
         return this.metricsCategory;
     }
+
+    public LocalMetricsCategory getLocalMetrics() {
+        return this.localMetrics;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.collision;
+
+import net.minecraft.world.World;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.common.bridge.entitycollision.CollisionCapabilityBridge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the collision queries that are answered with a collision
+ * budget, both per type of the colliding source and per indexed section.
+ */
+public final class EntityCollisionStats {
+
+    private static final Set<EntitySectionIndex> INDEXES = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final Map<String, TypeStats> TYPES = new HashMap<>();
+
+    static void register(final EntitySectionIndex index) {
+        EntityCollisionStats.INDEXES.add(index);
+    }
+
+    /**
+     * Records a collision query made by the given source.
+     *
+     * @param source The source of the query
+     * @param collisions The amount of entities it collided with
+     * @param truncated Whether the query stopped at the collision limit
+     */
+    public static void recordQuery(final CollisionCapabilityBridge source, final int collisions, final boolean truncated) {
+        final ResourceKey key = source.collision$getKey();
+        final TypeStats stats = EntityCollisionStats.TYPES.computeIfAbsent(key == null ? "unknown" : key.toString(), k -> new TypeStats());
+        stats.queries++;
+        stats.collisions += collisions;
+        if (truncated) {
+            stats.truncatedQueries++;
+        }
+    }
+
+    /**
+     * Describes the indexed sections that have been queried the most.
+     *
+     * @param limit The maximum amount of sections to describe
+     * @return A line per section
+     */
+    public static List<String> describeHotSections(final int limit) {
+        final List<EntitySectionIndex> indexes = new ArrayList<>();
+        for (final EntitySectionIndex index : EntityCollisionStats.INDEXES) {
+            if (index.isValid() && index.getWorld() != null) {
+                indexes.add(index);
+            }
+        }
+        indexes.sort(Comparator.comparingLong((EntitySectionIndex index) -> index.queries).reversed());
+        final List<String> lines = new ArrayList<>();
+        for (final EntitySectionIndex index : indexes.subList(0, Math.min(limit, indexes.size()))) {
+            final World world = index.getWorld();
+            lines.add(String.format("%s [%d, %d, %d]: %d entities, %d queries, %d stopped at the collision limit",
+                world == null ? "unknown" : world.getWorldInfo().getWorldName(), index.getChunkX(), index.getSectionY(), index.getChunkZ(),
+                index.size(), index.queries, index.truncatedQueries));
+        }
+        return lines;
+    }
+
+    /**
+     * Describes the collision sources that have made the most queries.
+     *
+     * @param limit The maximum amount of types to describe
+     * @return A line per type
+     */
+    public static List<String> describeTypes(final int limit) {
+        final List<Map.Entry<String, TypeStats>> entries = new ArrayList<>(EntityCollisionStats.TYPES.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, TypeStats> entry) -> entry.getValue().queries).reversed());
+        final List<String> lines = new ArrayList<>();
+        for (final Map.Entry<String, TypeStats> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            final TypeStats stats = entry.getValue();
+            lines.add(String.format("%s: %d queries, %d collisions, %d stopped at the collision limit",
+                entry.getKey(), stats.queries, stats.collisions, stats.truncatedQueries));
+        }
+        return lines;
+    }
+
+    public static void reset() {
+        EntityCollisionStats.TYPES.clear();
+        for (final EntitySectionIndex index : EntityCollisionStats.INDEXES) {
+            index.queries = 0;
+            index.truncatedQueries = 0;
+        }
+    }
+
+    private static final class TypeStats {
+
+        long queries;
+        long collisions;
+        long truncatedQueries;
+    }
+
+    private EntityCollisionStats() {
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.collision;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.boss.dragon.EnderDragonEntity;
+import net.minecraft.entity.boss.dragon.EnderDragonPartEntity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.bridge.entitycollision.SectionIndexedEntityBridge;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A spatial hash of the entities within a single chunk section, used to
+ * answer collision queries against crowded sections without testing every
+ * entity in them.
+ *
+ * <p>The section is split into 4x4x4 cells of 4 blocks each and entities
+ * are bucketed by the bottom center of their bounding box, clamped to the
+ * section bounds. Entities
+ * are moved between cells as their bounding box changes, so the index is
+ * always exact. To find all entities whose bounding box intersects a
+ * query box, the query is widened by the largest extent of any bounding
+ * box from its bottom center that has been seen in this section.</p>
+ */
+public final class EntitySectionIndex {
+
+    /**
+     * The amount of entities a section needs to contain before an index is
+     * built for it, below this a linear scan is cheaper.
+     */
+    public static final int MIN_INDEXED_ENTITIES = 16;
+
+    private static final int CELL_SHIFT = 2;
+    private static final int CELLS_PER_AXIS = 4;
+    private static final int CELL_COUNT = EntitySectionIndex.CELLS_PER_AXIS * EntitySectionIndex.CELLS_PER_AXIS * EntitySectionIndex.CELLS_PER_AXIS;
+    private static final Entity[] NO_ENTITIES = new Entity[0];
+
+    private final WeakReference<World> world;
+    private final int chunkX;
+    private final int sectionY;
+    private final int chunkZ;
+    private final Entity[][] cells = new Entity[EntitySectionIndex.CELL_COUNT][];
+    private final int[] cellSizes = new int[EntitySectionIndex.CELL_COUNT];
+    private int size;
+    private double margin;
+    private boolean valid = true;
+
+    long queries;
+    long truncatedQueries;
+
+    public EntitySectionIndex(final World world, final int chunkX, final int sectionY, final int chunkZ, final Iterable<Entity> entities) {
+        this.world = new WeakReference<>(world);
+        this.chunkX = chunkX;
+        this.sectionY = sectionY;
+        this.chunkZ = chunkZ;
+        Arrays.fill(this.cells, EntitySectionIndex.NO_ENTITIES);
+        for (final Entity entity : entities) {
+            this.add(entity);
+        }
+        EntityCollisionStats.register(this);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    public void add(final Entity entity) {
+        final SectionIndexedEntityBridge bridge = (SectionIndexedEntityBridge) entity;
+        final EntitySectionIndex previous = bridge.collision$getSectionIndex();
+        if (previous == this) {
+            return;
+        }
+        if (previous != null) {
+            previous.remove(entity);
+        }
+        this.growMargin(entity);
+        this.insert(entity, this.getCell(entity));
+        this.size++;
+    }
+
+    public void remove(final Entity entity) {
+        final SectionIndexedEntityBridge bridge = (SectionIndexedEntityBridge) entity;
+        if (bridge.collision$getSectionIndex() != this) {
+            return;
+        }
+        this.delete(bridge.collision$getSectionIndexCell(), bridge.collision$getSectionIndexSlot());
+        bridge.collision$setSectionIndex(null, 0, 0);
+        this.size--;
+    }
+
+    /**
+     * Moves the given entity to the cell matching its current position,
+     * called whenever the bounding box of the entity changes.
+     *
+     * @param entity The entity
+     */
+    public void update(final Entity entity) {
+        final SectionIndexedEntityBridge bridge = (SectionIndexedEntityBridge) entity;
+        if (bridge.collision$getSectionIndex() != this) {
+            return;
+        }
+        this.growMargin(entity);
+        final int cell = this.getCell(entity);
+        final int previousCell = bridge.collision$getSectionIndexCell();
+        if (cell != previousCell) {
+            this.delete(previousCell, bridge.collision$getSectionIndexSlot());
+            this.insert(entity, cell);
+        }
+    }
+
+    /**
+     * Detaches all entities from this index, after which it must no longer
+     * be used.
+     */
+    public void invalidate() {
+        for (int cell = 0; cell < EntitySectionIndex.CELL_COUNT; cell++) {
+            final Entity[] entities = this.cells[cell];
+            for (int slot = 0; slot < this.cellSizes[cell]; slot++) {
+                ((SectionIndexedEntityBridge) entities[slot]).collision$setSectionIndex(null, 0, 0);
+                entities[slot] = null;
+            }
+            this.cellSizes[cell] = 0;
+        }
+        this.size = 0;
+        this.valid = false;
+    }
+
+    /**
+     * Adds the entities (and dragon parts) whose bounding box intersects the
+     * given box to the list, in the same manner as
+     * {@link net.minecraft.world.chunk.Chunk#getEntitiesWithinAABBForEntity},
+     * stopping as soon as the list holds the given amount of entities.
+     *
+     * @param except The entity to exclude, usually the one asking
+     * @param box The box to check
+     * @param list The list to add to
+     * @param filter The filter entities have to pass, if any
+     * @param limit The maximum size of the list
+     * @return Whether the limit was reached
+     */
+    public boolean collect(@Nullable final Entity except, final AxisAlignedBB box, final List<Entity> list,
+            @Nullable final Predicate<? super Entity> filter, final int limit) {
+        this.queries++;
+        final int minX = this.toCell(box.minX - this.margin, this.chunkX << 4);
+        final int minY = this.toCell(box.minY - this.margin, this.sectionY << 4);
+        final int minZ = this.toCell(box.minZ - this.margin, this.chunkZ << 4);
+        final int maxX = this.toCell(box.maxX + this.margin, this.chunkX << 4);
+        final int maxY = this.toCell(box.maxY + this.margin, this.sectionY << 4);
+        final int maxZ = this.toCell(box.maxZ + this.margin, this.chunkZ << 4);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    final int cell = EntitySectionIndex.cellIndex(x, y, z);
+                    final Entity[] entities = this.cells[cell];
+                    for (int slot = 0, size = this.cellSizes[cell]; slot < size; slot++) {
+                        final Entity entity = entities[slot];
+                        if (entity == except || !entity.getBoundingBox().intersects(box)) {
+                            continue;
+                        }
+                        if (filter == null || filter.test(entity)) {
+                            if (list.size() >= limit) {
+                                this.truncatedQueries++;
+                                return true;
+                            }
+                            list.add(entity);
+                        }
+                        if (entity instanceof EnderDragonEntity) {
+                            for (final EnderDragonPartEntity part : ((EnderDragonEntity) entity).getDragonParts()) {
+                                if (part != except && part.getBoundingBox().intersects(box) && (filter == null || filter.test(part))) {
+                                    if (list.size() >= limit) {
+                                        this.truncatedQueries++;
+                                        return true;
+                                    }
+                                    list.add(part);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Nullable World getWorld() {
+        return this.world.get();
+    }
+
+    int getChunkX() {
+        return this.chunkX;
+    }
+
+    int getSectionY() {
+        return this.sectionY;
+    }
+
+    int getChunkZ() {
+        return this.chunkZ;
+    }
+
+    private void insert(final Entity entity, final int cell) {
+        Entity[] entities = this.cells[cell];
+        final int slot = this.cellSizes[cell];
+        if (slot == entities.length) {
+            entities = Arrays.copyOf(entities, Math.max(4, slot * 2));
+            this.cells[cell] = entities;
+        }
+        entities[slot] = entity;
+        this.cellSizes[cell] = slot + 1;
+        ((SectionIndexedEntityBridge) entity).collision$setSectionIndex(this, cell, slot);
+    }
+
+    private void delete(final int cell, final int slot) {
+        final Entity[] entities = this.cells[cell];
+        final int last = --this.cellSizes[cell];
+        if (slot != last) {
+            // Swap the last entity of the cell into the freed slot
+            final Entity moved = entities[last];
+            entities[slot] = moved;
+            ((SectionIndexedEntityBridge) moved).collision$setSectionIndex(this, cell, slot);
+        }
+        entities[last] = null;
+    }
+
+    private void growMargin(final Entity entity) {
+        final AxisAlignedBB box = entity.getBoundingBox();
+        final double extent = Math.max(Math.max(box.maxX - box.minX, box.maxZ - box.minZ) / 2.0D, box.maxY - box.minY);
+        if (extent > this.margin) {
+            this.margin = extent;
+        }
+    }
+
+    private int getCell(final Entity entity) {
+        // Use the bounding box rather than the position, the box is updated first when moving
+        final AxisAlignedBB box = entity.getBoundingBox();
+        return EntitySectionIndex.cellIndex(
+            this.toCell((box.minX + box.maxX) / 2.0D, this.chunkX << 4),
+            this.toCell(box.minY, this.sectionY << 4),
+            this.toCell((box.minZ + box.maxZ) / 2.0D, this.chunkZ << 4));
+    }
+
+    private int toCell(final double coordinate, final int origin) {
+        return MathHelper.clamp((MathHelper.floor(coordinate) - origin) >> EntitySectionIndex.CELL_SHIFT, 0, EntitySectionIndex.CELLS_PER_AXIS - 1);
+    }
+
+    private static int cellIndex(final int x, final int y, final int z) {
+        return (x * EntitySectionIndex.CELLS_PER_AXIS + y) * EntitySectionIndex.CELLS_PER_AXIS + z;
+    }
+}
@@ -77,7 +77,6 @@
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
 
 /*
  * Notes
@@ -99,7 +98,7 @@ public class HumanEntity extends CreatureEntity implements TeamMember, IRangedAt
                     .getProperties());
 
     // A queue of packets waiting to send to players tracking this human
-    private final Map<UUID, List<Stream<IPacket<?>>>> playerPacketMap = Maps.newHashMap();
+    private final Map<UUID, List<IPacket<?>[]>> playerPacketMap = Maps.newHashMap();
 
     private GameProfile fakeProfile;
     @Nullable private UUID skinUuid;
@@ -482,32 +481,32 @@ public void pushPackets(final IPacket<?>... packets) {
      * @param packets All packets to send in a single tick
      */
     public void pushPackets(@Nullable final ServerPlayerEntity player, final IPacket<?>... packets) {
-        if (player == null) {
-            List<Stream<IPacket<?>>> queue = this.playerPacketMap.get(null);
-            if (queue == null) {
-                queue = new ArrayList<>();
-                this.playerPacketMap.put(null, queue);
-            }
-            queue.add(Stream.of(packets));
-        } else {
-            List<Stream<IPacket<?>>> queue = this.playerPacketMap.get(player.getUniqueID());
-            if (queue == null) {
-                queue = new ArrayList<>();
-                this.playerPacketMap.put(player.getUniqueID(), queue);
-            }
-            queue.add(Stream.of(packets));
-        }
+        final UUID key = player == null ? null : player.getUniqueID(); // null = all players
+        this.playerPacketMap.computeIfAbsent(key, k -> new ArrayList<>()).add(packets);
     }
 
     /**
      * (Internal) Pops the packets off the queue for the given player.
      *
      * @param player The player to get packets for (or null for all players)
-     * @return An array of packets to send in a single tick
+     * @return An array of packets to send in a single tick, or null if there
+     *     are none
      */
-    public Stream<IPacket<?>> popQueuedPackets(@Nullable final ServerPlayerEntity player) {
-        final List<Stream<IPacket<?>>> queue = this.playerPacketMap.get(player == null ? null : player.getUniqueID());
-        return queue == null || queue.isEmpty() ? null : queue.remove(0);
+    @Nullable
+    public IPacket<?>[] popQueuedPackets(@Nullable final ServerPlayerEntity player) {
+        if (this.playerPacketMap.isEmpty()) {
+            return null;
+        }
+        final UUID key = player == null ? null : player.getUniqueID();
+        final List<IPacket<?>[]> queue = this.playerPacketMap.get(key);
+        if (queue == null) {
+            return null;
+        }
+        final IPacket<?>[] packets = queue.remove(0);
+        if (queue.isEmpty()) {
+            this.playerPacketMap.remove(key);
+        }
+        return packets;
     }
 
     @Override
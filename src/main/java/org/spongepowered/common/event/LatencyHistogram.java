@@ -0,0 +1,166 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+
+/**
+ * A log-linear latency histogram in the spirit of HDR histograms. Latencies
+ * are recorded in microseconds into buckets that split every power of two
+ * into four linear sub buckets, which bounds the relative error of every
+ * percentile to 25% while keeping the whole histogram a couple hundred
+ * longs large.
+ *
+ * <p>Recording never locks. The server thread owns a set of plain counters
+ * it is the only writer of, any other thread records into a lazily created
+ * set of atomic counters. Both sets are combined when the histogram is
+ * read.</p>
+ */
+final class LatencyHistogram {
+
+    // Dividing by 1024 instead of 1000 is well within the error of a bucket
+    private static final int NANOS_TO_MICROS_SHIFT = 10;
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+    static final int BUCKETS = LatencyHistogram.bucketOf(Long.MAX_VALUE >>> LatencyHistogram.NANOS_TO_MICROS_SHIFT) + 1;
+
+    // Written only by the server thread
+    private final long[] serverCounts = new long[LatencyHistogram.BUCKETS];
+    private long serverCount;
+    private long serverTotal;
+    private long serverMax;
+
+    // Written by every other thread
+    @Nullable private volatile AsyncCounters async;
+
+    void record(final long nanos, final boolean serverThread) {
+        final int bucket = LatencyHistogram.bucketOf(nanos >>> LatencyHistogram.NANOS_TO_MICROS_SHIFT);
+        if (serverThread) {
+            this.serverCounts[bucket]++;
+            this.serverCount++;
+            this.serverTotal += nanos;
+            if (nanos > this.serverMax) {
+                this.serverMax = nanos;
+            }
+            return;
+        }
+        AsyncCounters async = this.async;
+        if (async == null) {
+            synchronized (this) {
+                async = this.async;
+                if (async == null) {
+                    this.async = async = new AsyncCounters();
+                }
+            }
+        }
+        async.counts.incrementAndGet(bucket);
+        async.count.incrementAndGet();
+        async.total.addAndGet(nanos);
+        async.max.accumulateAndGet(nanos, Math::max);
+    }
+
+    long getCount() {
+        final AsyncCounters async = this.async;
+        return this.serverCount + (async == null ? 0 : async.count.get());
+    }
+
+    long getTotalNanos() {
+        final AsyncCounters async = this.async;
+        return this.serverTotal + (async == null ? 0 : async.total.get());
+    }
+
+    long getMaxNanos() {
+        final AsyncCounters async = this.async;
+        return async == null ? this.serverMax : Math.max(this.serverMax, async.max.get());
+    }
+
+    /**
+     * Gets the upper bound of the bucket the given percentile falls into.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The latency in nanoseconds, or 0 if nothing was recorded
+     */
+    long getPercentileNanos(final double percentile) {
+        final AsyncCounters async = this.async;
+        final long count = this.getCount();
+        if (count == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            seen += this.serverCounts[bucket];
+            if (async != null) {
+                seen += async.counts.get(bucket);
+            }
+            if (seen >= target) {
+                // The max is exact, don't report a bucket bound above it
+                return Math.min(LatencyHistogram.upperBoundOf(bucket) << LatencyHistogram.NANOS_TO_MICROS_SHIFT, this.getMaxNanos());
+            }
+        }
+        return this.getMaxNanos();
+    }
+
+    /**
+     * Resets the histogram, must be called from the server thread.
+     */
+    void reset() {
+        Arrays.fill(this.serverCounts, 0);
+        this.serverCount = 0;
+        this.serverTotal = 0;
+        this.serverMax = 0;
+        this.async = null;
+    }
+
+    static int bucketOf(final long micros) {
+        if (micros < LatencyHistogram.SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int msb = 63 - Long.numberOfLeadingZeros(micros);
+        final int sub = (int) (micros >>> (msb - LatencyHistogram.SUB_BUCKET_BITS)) & (LatencyHistogram.SUB_BUCKETS - 1);
+        return (msb - LatencyHistogram.SUB_BUCKET_BITS + 1) * LatencyHistogram.SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(final int bucket) {
+        if (bucket < LatencyHistogram.SUB_BUCKETS) {
+            return bucket + 1;
+        }
+        final int shift = bucket / LatencyHistogram.SUB_BUCKETS - 1;
+        final long sub = bucket % LatencyHistogram.SUB_BUCKETS;
+        return (LatencyHistogram.SUB_BUCKETS + sub + 1) << shift;
+    }
+
+    private static final class AsyncCounters {
+
+        final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+    }
+}
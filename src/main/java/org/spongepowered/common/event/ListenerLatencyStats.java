@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * The latency statistics of a single {@link RegisteredListener}, holding a
+ * {@link LatencyHistogram} of every event the listener handled and warning
+ * about listeners exceeding the configured slow listener threshold.
+ */
+public final class ListenerLatencyStats {
+
+    private static final int MAX_CAUSE_ENTRIES = 3;
+    private static final Set<ListenerLatencyStats> ALL = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final RegisteredListener<?> listener;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    // Guarded by this
+    private boolean warned;
+    private long lastWarning;
+    private int suppressedWarnings;
+
+    ListenerLatencyStats(final RegisteredListener<?> listener) {
+        this.listener = listener;
+        ListenerLatencyStats.ALL.add(this);
+    }
+
+    void record(final long nanos, final boolean serverThread, final Event event, final GlobalConfigSnapshot config) {
+        this.histogram.record(nanos, serverThread);
+        if (config.slowListenerThresholdNanos > 0 && nanos >= config.slowListenerThresholdNanos) {
+            this.warnSlow(nanos, event, config.slowListenerLogIntervalNanos);
+        }
+    }
+
+    private synchronized void warnSlow(final long nanos, final Event event, final long intervalNanos) {
+        final long now = System.nanoTime();
+        if (this.warned && now - this.lastWarning < intervalNanos) {
+            this.suppressedWarnings++;
+            return;
+        }
+        final int suppressed = this.suppressedWarnings;
+        this.warned = true;
+        this.lastWarning = now;
+        this.suppressedWarnings = 0;
+        SpongeCommon.getLogger().warn("Listener {} of plugin {} took {} ms to handle {} (cause: {}){}",
+            this.listener.getHandle().getClass().getName(), this.listener.getPlugin().getMetadata().getId(),
+            String.format("%.2f", nanos / 1e6), event.getClass().getSimpleName(), ListenerLatencyStats.describeCause(event),
+            suppressed == 0 ? "" : ", " + suppressed + " more slow calls were not logged");
+    }
+
+    private static String describeCause(final Event event) {
+        final List<Object> causes = event.getCause().all();
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < causes.size() && i < ListenerLatencyStats.MAX_CAUSE_ENTRIES; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            final Object cause = causes.get(i);
+            if (cause instanceof PluginContainer) {
+                builder.append("plugin ").append(((PluginContainer) cause).getMetadata().getId());
+            } else {
+                builder.append(cause.getClass().getSimpleName());
+            }
+        }
+        if (causes.size() > ListenerLatencyStats.MAX_CAUSE_ENTRIES) {
+            builder.append(" and ").append(causes.size() - ListenerLatencyStats.MAX_CAUSE_ENTRIES).append(" more");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Describes the listeners that spent the most time handling events.
+     *
+     * @param limit The maximum amount of listeners to describe
+     * @return A line per listener
+     */
+    public static List<String> describeByTotal(final int limit) {
+        return ListenerLatencyStats.describeTop(limit, stats -> stats.histogram.getTotalNanos());
+    }
+
+    /**
+     * Describes the listeners with the highest 99th percentile latency.
+     *
+     * @param limit The maximum amount of listeners to describe
+     * @return A line per listener
+     */
+    public static List<String> describeByTail(final int limit) {
+        return ListenerLatencyStats.describeTop(limit, stats -> stats.histogram.getPercentileNanos(0.99));
+    }
+
+    private static List<String> describeTop(final int limit, final ToLongFunction<ListenerLatencyStats> key) {
+        final List<ListenerLatencyStats> sorted;
+        synchronized (ListenerLatencyStats.ALL) {
+            sorted = new ArrayList<>(ListenerLatencyStats.ALL);
+        }
+        sorted.removeIf(stats -> stats.histogram.getCount() == 0);
+        sorted.sort(Comparator.comparingLong(key).reversed());
+        final List<String> lines = new ArrayList<>();
+        for (final ListenerLatencyStats stats : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            final LatencyHistogram histogram = stats.histogram;
+            lines.add(String.format("%s %s on %s: %d calls, %.2f ms total, p50 %s, p99 %s, max %s",
+                stats.listener.getPlugin().getMetadata().getId(), stats.listener.getHandle().getClass().getSimpleName(),
+                stats.listener.getEventType().getType().getSimpleName(), histogram.getCount(), histogram.getTotalNanos() / 1e6,
+                ListenerLatencyStats.formatNanos(histogram.getPercentileNanos(0.5)),
+                ListenerLatencyStats.formatNanos(histogram.getPercentileNanos(0.99)),
+                ListenerLatencyStats.formatNanos(histogram.getMaxNanos())));
+        }
+        return lines;
+    }
+
+    private static String formatNanos(final long nanos) {
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return String.format("%.1f us", nanos / 1e3);
+        }
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+
+    /**
+     * Resets the statistics of every listener, must be called from the
+     * server thread.
+     */
+    public static void reset() {
+        synchronized (ListenerLatencyStats.ALL) {
+            for (final ListenerLatencyStats stats : ListenerLatencyStats.ALL) {
+                stats.histogram.reset();
+            }
+        }
+    }
+}
@@ -48,6 +48,7 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private final ListenerLatencyStats latencyStats;
     private Timing listenerTimer;
 
     RegisteredListener(PluginContainer plugin, EventType<T> eventType, Order order, EventListener<? super T> listener, boolean beforeModifications) {
@@ -56,6 +57,7 @@
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
+        this.latencyStats = new ListenerLatencyStats(this);
     }
 
     public PluginContainer getPlugin() {
@@ -81,6 +83,10 @@ public Timing getTimingsHandler() {
         return this.listenerTimer;
     }
 
+    public ListenerLatencyStats getLatencyStats() {
+        return this.latencyStats;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
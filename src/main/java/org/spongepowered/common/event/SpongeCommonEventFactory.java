@@ -325,6 +325,39 @@ public static <T extends net.minecraft.entity.Entity> CollideEntityEvent callCol
         }
     }
 
+    /**
+     * Throws a {@link CollideEntityEvent} for the entities gathered by
+     * {@code Chunk#getEntitiesWithinAABBForEntity}, clearing them if the
+     * event is cancelled.
+     *
+     * @param world The world
+     * @param sourceEntity The entity the entities were gathered for, if any
+     * @param entities The gathered entities
+     */
+    public static void throwCollideEntityEvent(final net.minecraft.world.World world, @Nullable final net.minecraft.entity.Entity sourceEntity,
+            final List<net.minecraft.entity.Entity> entities) {
+        if (((WorldBridge) world).bridge$isFake() || PhaseTracker.getInstance().getCurrentState().ignoresEntityCollisions()) {
+            return;
+        }
+
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        if (!ShouldFire.COLLIDE_ENTITY_EVENT) {
+            return;
+        }
+
+        final CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(world, sourceEntity, entities);
+
+        if (event == null || event.isCancelled()) {
+            if (event == null && !PhaseTracker.getInstance().getCurrentState().isTicking()) {
+                return;
+            }
+            entities.clear();
+        }
+    }
+
     public static ChangeBlockEvent.Pre callChangeBlockEventPre(final ServerWorldBridge worldIn, final BlockPos pos) {
 
         return callChangeBlockEventPre(worldIn, ImmutableList.of(
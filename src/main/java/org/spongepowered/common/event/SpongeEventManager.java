@@ -36,6 +36,7 @@
 import com.google.inject.Singleton;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Engine;
+import org.spongepowered.api.Server;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.CauseStackManager;
@@ -49,6 +50,7 @@
 import org.spongepowered.api.event.item.inventory.container.InteractContainerEvent;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.bridge.inventory.container.ContainerBridge;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 import org.spongepowered.common.event.tracking.PhaseContext;
@@ -58,6 +60,7 @@
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
 import org.spongepowered.common.util.EngineUtil;
 import org.spongepowered.common.util.TypeTokenHelper;
+import org.spongepowered.common.util.metric.LocalMetrics;
 import org.spongepowered.plugin.PluginContainer;
 
 import javax.annotation.Nullable;
@@ -390,16 +393,27 @@ protected RegisteredListener.Cache getHandlerCache(final Event event) {
     @SuppressWarnings("unchecked")
     private boolean post(final Event event, final List<RegisteredListener<?>> handlers) {
         final Engine engine = EngineUtil.determineEngine();
+        final GlobalConfigSnapshot config = GlobalConfigSnapshot.get();
 
         // If this event is being posted asynchronously then we don't want
-        // to do any timing or cause stack changes
+        // to do any timing or cause stack changes, only the latency of the
+        // listeners is recorded
         if (engine == null) {
             for (final RegisteredListener handler : handlers) {
                 try {
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = handler.getOrder();
                     }
-                    handler.handle(event);
+                    if (config.listenerHistograms) {
+                        final long start = System.nanoTime();
+                        try {
+                            handler.handle(event);
+                        } finally {
+                            handler.getLatencyStats().record(System.nanoTime() - start, false, event, config);
+                        }
+                    } else {
+                        handler.handle(event);
+                    }
                 } catch (final Throwable e) {
                     SpongeCommon.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
                 }
@@ -422,7 +436,22 @@ private boolean post(final Event event, final List<RegisteredListener<?>> handle
                 if (event instanceof AbstractEvent) {
                     ((AbstractEvent) event).currentOrder = handler.getOrder();
                 }
-                handler.handle(event);
+                if (config.listenerHistograms || LocalMetrics.isEnabled()) {
+                    final long start = System.nanoTime();
+                    try {
+                        handler.handle(event);
+                    } finally {
+                        final long elapsed = System.nanoTime() - start;
+                        if (config.listenerHistograms) {
+                            handler.getLatencyStats().record(elapsed, engine instanceof Server, event, config);
+                        }
+                        if (engine instanceof Server && LocalMetrics.isEnabled()) {
+                            LocalMetrics.recordListener(handler.getPlugin(), elapsed);
+                        }
+                    }
+                } else {
+                    handler.handle(event);
+                }
             } catch (Throwable e) {
                 this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             }
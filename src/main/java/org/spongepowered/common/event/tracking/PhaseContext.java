@@ -38,10 +38,10 @@
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
-import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.bridge.inventory.container.TrackedInventoryBridge;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
 import org.spongepowered.common.event.tracking.context.BlockItemDropsSupplier;
 import org.spongepowered.common.event.tracking.context.BlockItemEntityDropsSupplier;
 import org.spongepowered.common.event.tracking.context.CaptureBlockPos;
@@ -250,7 +250,7 @@ public boolean allowsBulkEntityCaptures() {
 
     public P buildAndSwitch() {
         this.isCompleted = true;
-        if (SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().generateStackTracePerStateEntry()) {
+        if (GlobalConfigSnapshot.get().generateStackTracePerStateEntry) {
             this.stackTrace = new Exception("Debug Trace").getStackTrace();
         }
         PhaseTracker.getInstance().switchToPhase(this.state, this);
@@ -693,7 +693,7 @@ public boolean isCapturingBlockItemDrops() {
     }
 
     public void printTrace(final PrettyPrinter printer) {
-        if (SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().generateStackTracePerStateEntry()) {
+        if (GlobalConfigSnapshot.get().generateStackTracePerStateEntry) {
             printer.add("Entrypoint:")
                 .add(this.stackTrace);
         }
@@ -32,6 +32,7 @@
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
 import org.spongepowered.common.util.PrettyPrinter;
 import org.spongepowered.common.bridge.world.ServerWorldBridge;
 import org.spongepowered.common.bridge.world.TrackedWorldBridge;
@@ -108,7 +109,7 @@ static void printNullSourceForBlock(final ServerWorld worldServer, final BlockPo
 
     static void printUnexpectedBlockChange(final ServerWorldBridge mixinWorld, final BlockPos pos, final net.minecraft.block.BlockState currentState,
                                             final net.minecraft.block.BlockState newState) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             return;
         }
         new PrettyPrinter(60).add("Unexpected World Change Detected!").centre().hr()
@@ -130,7 +131,7 @@ static void printUnexpectedBlockChange(final ServerWorldBridge mixinWorld, final
 
 
     static void printExceptionSpawningEntity(final PhaseTracker tracker, final PhaseContext<?> context, final Throwable e) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && !PhasePrinter.printedExceptionsForEntities.isEmpty()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && !PhasePrinter.printedExceptionsForEntities.isEmpty()) {
             if (PhasePrinter.printedExceptionsForEntities.contains(context.state)) {
                 return;
             }
@@ -138,7 +139,7 @@ static void printExceptionSpawningEntity(final PhaseTracker tracker, final Phase
         final PrettyPrinter printer = new PrettyPrinter(60).add("Exception attempting to capture or spawn an Entity!").centre().hr();
         PhasePrinter.printPhasestack(tracker, context, e, printer);
         printer.log(SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             PhasePrinter.printedExceptionsForEntities.add(context.state);
         }
     }
@@ -196,7 +197,7 @@ static void printPhaseStackWithException(final PhaseStack stack, final PrettyPri
     }
 
     static void printBlockTrackingException(final PhaseTracker tracker, final PhaseContext<?> phaseData, final IPhaseState<?> phaseState, final Throwable e) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && !PhasePrinter.printedExceptionsForBlocks.isEmpty()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && !PhasePrinter.printedExceptionsForBlocks.isEmpty()) {
             if (PhasePrinter.printedExceptionsForBlocks.contains(phaseState)) {
                 return;
             }
@@ -204,7 +205,7 @@ static void printBlockTrackingException(final PhaseTracker tracker, final PhaseC
         final PrettyPrinter printer = new PrettyPrinter(60).add("Exception attempting to capture a block change!").centre().hr();
         PhasePrinter.printPhasestack(tracker, phaseData, e, printer);
         printer.trace(System.err, SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             PhasePrinter.printedExceptionsForBlocks.add(phaseState);
         }
     }
@@ -243,7 +244,7 @@ public static void printMessageWithCaughtException(final PhaseStack stack, final
     }
 
     static void printExceptionFromPhase(final PhaseStack stack, final Throwable e, final PhaseContext<?> context) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && !PhasePrinter.printedExceptionsForState.isEmpty()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && !PhasePrinter.printedExceptionsForState.isEmpty()) {
             for (final IPhaseState<?> iPhaseState : PhasePrinter.printedExceptionsForState) {
                 if (context.state == iPhaseState) {
                     return;
@@ -262,7 +263,7 @@ static void printExceptionFromPhase(final PhaseStack stack, final Throwable e, f
         PhasePrinter.printPhaseStackWithException(stack, printer, e);
 
         printer.trace(System.err, SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             PhasePrinter.printedExceptionsForState.add(context.state);
         }
     }
@@ -274,7 +275,7 @@ static void printUnprocessedPhaseContextObjects(final PhaseStack stack, final IP
     }
 
     static void printRunawayPhase(final PhaseStack stack, final IPhaseState<?> state, final PhaseContext<?> context) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && !PhasePrinter.hasPrintedAboutRunnawayPhases) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && !PhasePrinter.hasPrintedAboutRunnawayPhases) {
             // Avoiding spam logs.
             return;
         }
@@ -286,13 +287,13 @@ static void printRunawayPhase(final PhaseStack stack, final IPhaseState<?> state
         printer.addWrapped(60, "%s :", "Phases remaining");
         PhasePrinter.printPhaseStackWithException(stack, printer, new Exception("RunawayPhase"));
         printer.trace(System.err, SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && PhasePrinter.printRunawayCount++ > SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().getMaximumRunawayCount()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && PhasePrinter.printRunawayCount++ > GlobalConfigSnapshot.get().maximumRunawayCount) {
             PhasePrinter.hasPrintedAboutRunnawayPhases = true;
         }
     }
 
     static void printRunnawayPhaseCompletion(final PhaseStack stack, final IPhaseState<?> state) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && !PhasePrinter.hasPrintedAboutRunnawayPhases) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && !PhasePrinter.hasPrintedAboutRunnawayPhases) {
             // Avoiding spam logs.
             return;
         }
@@ -306,7 +307,7 @@ static void printRunnawayPhaseCompletion(final PhaseStack stack, final IPhaseSta
         printer.add(" Phases Remaining:");
         PhasePrinter.printPhaseStackWithException(stack, printer, new Exception("RunawayPhase"));
         printer.trace(System.err, SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && PhasePrinter.printRunawayCount++ > 3) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && PhasePrinter.printRunawayCount++ > 3) {
             PhasePrinter.hasPrintedAboutRunnawayPhases = true;
         }
     }
@@ -318,7 +319,7 @@ static void generateVersionInfo(final PrettyPrinter printer) {
     }
 
     static void printIncorrectPhaseCompletion(final PhaseStack stack, final IPhaseState<?> prevState, final IPhaseState<?> state) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && !PhasePrinter.completedIncorrectStates.isEmpty()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && !PhasePrinter.completedIncorrectStates.isEmpty()) {
             for (final Tuple<IPhaseState<?>, IPhaseState<?>> tuple : PhasePrinter.completedIncorrectStates) {
                 if ((tuple.getFirst().equals(prevState)
                         && tuple.getSecond().equals(state))) {
@@ -342,7 +343,7 @@ static void printIncorrectPhaseCompletion(final PhaseStack stack, final IPhaseSt
         printer.add(" Phases Remaining:");
         PhasePrinter.printPhaseStackWithException(stack, printer, new Exception("Incorrect Phase Completion"));
         printer.trace(System.err, SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             PhasePrinter.completedIncorrectStates.add(new Tuple<>(prevState, state));
         }
     }
@@ -368,7 +369,7 @@ static void printEmptyStackOnCompletion(final PhaseContext<?> context) {
         printer.add();
         PhasePrinter.generateVersionInfo(printer);
         printer.trace(System.err, SpongeCommon.getLogger(), Level.ERROR);
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             PhasePrinter.hasPrintedEmptyOnce = true;
         }
     }
@@ -402,14 +403,14 @@ static void printAsyncBlockChange(final TrackedWorldBridge mixinWorld, final Blo
     static void printAsyncEntitySpawn(final Entity entity) {
         // We aren't in the server thread at this point, and an entity is spawning on the server....
         // We will DEFINITELY be doing bad things otherwise. We need to artificially capture here.
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().captureEntitiesAsync()) {
+        if (!GlobalConfigSnapshot.get().captureEntitiesAsync) {
             // Print a pretty warning about not capturing an async spawned entity, but don't care about spawning.
-            if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+            if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
                 return;
             }
             // Just checking if we've already printed once about it.
             // If we have, we don't want to print any more times.
-            if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().verboseErrors() && PhasePrinter.hasPrintedAsyncEntities) {
+            if (!GlobalConfigSnapshot.get().verbosePhaseTrackerErrors && PhasePrinter.hasPrintedAsyncEntities) {
                 return;
             }
             // Otherwise, let's print out either the first time, or several more times.
@@ -435,12 +436,12 @@ static void printAsyncEntitySpawn(final Entity entity) {
         PhaseTracker.ASYNC_CAPTURED_ENTITIES.add((net.minecraft.entity.Entity) entity);
         // At this point we can print an exception about it, if we are told to.
         // Print a pretty warning about not capturing an async spawned entity, but don't care about spawning.
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker) {
             return;
         }
         // Just checking if we've already printed once about it.
         // If we have, we don't want to print any more times.
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().verboseErrors() && PhasePrinter.hasPrintedAsyncEntities) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTrackerErrors && PhasePrinter.hasPrintedAsyncEntities) {
             return;
         }
         // Otherwise, let's print out either the first time, or several more times.
@@ -84,6 +84,7 @@
 import org.spongepowered.common.bridge.entity.EntityBridge;
 import org.spongepowered.common.bridge.world.TrackedWorldBridge;
 import org.spongepowered.common.bridge.world.chunk.TrackedChunkBridge;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
 import org.spongepowered.common.config.category.PhaseTrackerCategory;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.entity.PlayerTracker;
@@ -95,6 +96,7 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.PrettyPrinter;
 import org.spongepowered.common.util.ThreadUtil;
+import org.spongepowered.common.util.metric.LocalMetrics;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 import org.spongepowered.common.world.SpongeLocatableBlockBuilder;
 
@@ -268,6 +270,8 @@ public static boolean isEntitySpawnInvalid(final Entity entity) {
     @Nullable private EventContext cached_ctx;
     private final AtomicBoolean pendingProviders = new AtomicBoolean(false);
     @Nullable private WeakReference<Thread> sidedThread;
+    // Mirror of the stack read by the tick profiler, only maintained for the server while it is running
+    @Nullable volatile TickProfiler.Frame profilerTop;
     private boolean hasRun = false;
     /*
      * Specifically a Deque because we need to replicate
@@ -382,7 +386,7 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
         checkNotNull(state, "State cannot be null!");
         checkNotNull(phaseContext, "PhaseContext cannot be null!");
         checkArgument(phaseContext.isComplete(), "PhaseContext must be complete!");
-        if (SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (GlobalConfigSnapshot.get().verbosePhaseTracker) {
             if (this.stack.size() > 6) {
                 if (this.stack.checkForRunaways(state, phaseContext)) {
                     PhasePrinter.printRunawayPhase(this.stack, state, phaseContext);
@@ -395,6 +399,12 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
             this.registerPhaseContextProvider(phaseContext);
         }
         this.stack.push(state, phaseContext);
+        if (LocalMetrics.isEnabled() && this == PhaseTracker.SERVER) {
+            LocalMetrics.recordPhaseDepth(this.stack.size());
+        }
+        if (TickProfiler.isRunning() && this == PhaseTracker.SERVER) {
+            this.profilerTop = new TickProfiler.Frame(this.profilerTop, state, phaseContext.getSource(), this.stack.size());
+        }
     }
 
     @SuppressWarnings({"rawtypes", "unused", "try"})
@@ -425,10 +435,11 @@ void completePhase(final PhaseContext<?> context) {
             // Since we don't know when and where completePhase was intended to be called for it,
             // we simply pop it to allow processing to continue (somewhat) as normal
             this.stack.pop();
+            this.popProfilerFrames();
             return;
         }
 
-        if (SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        if (GlobalConfigSnapshot.get().verbosePhaseTracker) {
             if (this.stack.checkForRunaways(GeneralPhase.Post.UNWINDING, null)) {
                 // This printing is to detect possibilities of a phase not being cleared properly
                 // and resulting in a "runaway" phase state accumulation.
@@ -459,6 +470,7 @@ void completePhase(final PhaseContext<?> context) {
         // If pop is called, the Deque will already throw an exception if there is no element
         // so it's an error properly handled.
         this.stack.pop();
+        this.popProfilerFrames();
 
         if (this.stack.isEmpty()) {
             // TODO Minecraft 1.14 - PhaseTracker is per-engine, cannot assume this anymore
@@ -479,7 +491,7 @@ void completePhase(final PhaseContext<?> context) {
     }
 
     private void checkPhaseContextProcessed(final IPhaseState<?> state, final PhaseContext<?> context) {
-        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() && PhasePrinter.printedExceptionsForUnprocessedState.contains(state)) {
+        if (!GlobalConfigSnapshot.get().verbosePhaseTracker && PhasePrinter.printedExceptionsForUnprocessedState.contains(state)) {
             return;
         }
 
@@ -976,6 +988,12 @@ public boolean spawnEntityWithCause(final World<?> world, final Entity entity) {
         return true;
     }
 
+    private void popProfilerFrames() {
+        if (this.profilerTop != null) {
+            this.profilerTop = TickProfiler.Frame.popTo(this.profilerTop, this.stack.size());
+        }
+    }
+
     public void ensureEmpty() {
         if (!this.stack.isEmpty()) {
             PhasePrinter.printNonEmptyStack(this.stack);
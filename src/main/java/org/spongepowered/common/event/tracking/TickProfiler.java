@@ -0,0 +1,238 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A sampling profiler of the server thread. While running, the server
+ * {@link PhaseTracker} mirrors its phase stack into immutable {@link Frame}s
+ * which a background thread samples at a fixed rate, so the server thread
+ * never has to capture a java stack trace.
+ *
+ * <p>Every sample is aggregated into a stack rooted at the world and chunk
+ * of the innermost located phase source, followed by the phase states and
+ * the types of their sources. The result is written in the collapsed stack
+ * format understood by flame graph tools.</p>
+ */
+public final class TickProfiler {
+
+    private static final Path DIRECTORY = Paths.get("profiler");
+    private static final String GLOBAL = "global";
+
+    private static volatile boolean running;
+    private static volatile boolean inTick;
+    @Nullable private static TickProfiler instance;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("Sponge - Tick Profiler").setDaemon(true).build());
+    // Only accessed by the sampling thread
+    private final Map<String, Long> stacks = new HashMap<>();
+    private long samples;
+    private long idleSamples;
+
+    static boolean isRunning() {
+        return TickProfiler.running;
+    }
+
+    public static void onTickStart() {
+        TickProfiler.inTick = true;
+    }
+
+    public static void onTickEnd() {
+        TickProfiler.inTick = false;
+    }
+
+    /**
+     * Starts sampling the server thread.
+     *
+     * @param intervalMillis The interval between two samples in milliseconds
+     * @return False if the profiler was already running
+     */
+    public static synchronized boolean start(final int intervalMillis) {
+        if (TickProfiler.instance != null) {
+            return false;
+        }
+        final TickProfiler profiler = new TickProfiler();
+        TickProfiler.instance = profiler;
+        TickProfiler.running = true;
+        final long interval = Math.max(1, intervalMillis);
+        profiler.executor.scheduleAtFixedRate(profiler::sample, interval, interval, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * Stops sampling and writes the collected stacks to a new file in the
+     * profiler directory.
+     *
+     * @return The written file, or null if the profiler wasn't running
+     * @throws IOException If the file couldn't be written
+     */
+    @Nullable
+    public static synchronized Path stop() throws IOException {
+        final TickProfiler profiler = TickProfiler.instance;
+        if (profiler == null) {
+            return null;
+        }
+        TickProfiler.instance = null;
+        TickProfiler.running = false;
+        profiler.executor.shutdown();
+        try {
+            profiler.executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Files.createDirectories(TickProfiler.DIRECTORY);
+        final Path file = TickProfiler.DIRECTORY.resolve(
+            "tick-profile-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + ".txt");
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, Long> entry : profiler.stacks.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(' ');
+                writer.write(Long.toString(entry.getValue()));
+                writer.write('\n');
+            }
+        }
+        SpongeCommon.getLogger().info("Collected {} samples of the server tick, the server was idle for another {} samples",
+            profiler.samples, profiler.idleSamples);
+        return file;
+    }
+
+    private void sample() {
+        if (!TickProfiler.inTick) {
+            this.idleSamples++;
+            return;
+        }
+        try {
+            this.stacks.merge(TickProfiler.collapse(PhaseTracker.SERVER.profilerTop), 1L, Long::sum);
+            this.samples++;
+        } catch (final Exception e) {
+            // Sources are read while the server thread may be modifying them, skip the sample
+        }
+    }
+
+    private static String collapse(@Nullable final Frame top) {
+        final Deque<Frame> frames = new ArrayDeque<>();
+        for (Frame frame = top; frame != null; frame = frame.parent) {
+            frames.push(frame);
+        }
+        String world = TickProfiler.GLOBAL;
+        String chunk = null;
+        final StringBuilder phases = new StringBuilder();
+        for (final Frame frame : frames) {
+            phases.append(';').append(TickProfiler.sanitize(String.valueOf(frame.state)));
+            final Object source = frame.source;
+            if (source instanceof Entity) {
+                final Entity entity = (Entity) source;
+                phases.append(';').append(TickProfiler.sanitize(String.valueOf(EntityType.getKey(entity.getType()))));
+                world = TickProfiler.describeWorld(entity.world);
+                chunk = "chunk " + (MathHelper.floor(entity.posX) >> 4) + "," + (MathHelper.floor(entity.posZ) >> 4);
+            } else if (source instanceof TileEntity) {
+                final TileEntity tileEntity = (TileEntity) source;
+                @Nullable final ResourceLocation id = TileEntityType.getId(tileEntity.getType());
+                phases.append(';').append(TickProfiler.sanitize(String.valueOf(id)));
+                final BlockPos pos = tileEntity.getPos();
+                world = TickProfiler.describeWorld(tileEntity.getWorld());
+                chunk = "chunk " + (pos.getX() >> 4) + "," + (pos.getZ() >> 4);
+            } else if (source instanceof PluginContainer) {
+                phases.append(';').append(TickProfiler.sanitize("plugin " + ((PluginContainer) source).getMetadata().getId()));
+            }
+        }
+        return chunk == null ? world + phases : world + ';' + chunk + phases;
+    }
+
+    private static String describeWorld(@Nullable final World world) {
+        return world == null ? TickProfiler.GLOBAL : TickProfiler.sanitize(world.getWorldInfo().getWorldName());
+    }
+
+    private static String sanitize(final String frame) {
+        return frame.replace(';', '_').replace('\n', ' ');
+    }
+
+    /**
+     * An immutable mirror of a single entry of the server phase stack.
+     */
+    static final class Frame {
+
+        @Nullable final Frame parent;
+        final IPhaseState<?> state;
+        @Nullable final Object source;
+        final int depth;
+
+        Frame(@Nullable final Frame parent, final IPhaseState<?> state, @Nullable final Object source, final int depth) {
+            this.parent = parent;
+            this.state = state;
+            this.source = source;
+            this.depth = depth;
+        }
+
+        /**
+         * Drops every frame above the given stack depth.
+         *
+         * @param top The current top frame
+         * @param depth The depth of the phase stack
+         * @return The new top frame
+         */
+        @Nullable
+        static Frame popTo(@Nullable final Frame top, final int depth) {
+            Frame frame = top;
+            while (frame != null && frame.depth > depth) {
+                frame = frame.parent;
+            }
+            return frame;
+        }
+    }
+
+    private TickProfiler() {
+    }
+}
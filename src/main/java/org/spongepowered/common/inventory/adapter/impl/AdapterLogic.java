@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.inventory.adapter.impl;
 
+import net.minecraft.item.Item;
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.ItemTypes;
 import org.spongepowered.api.item.inventory.Inventory;
@@ -36,6 +37,7 @@
 import org.spongepowered.common.inventory.adapter.InventoryAdapter;
 import org.spongepowered.common.inventory.adapter.impl.slots.SlotAdapter;
 import org.spongepowered.common.inventory.fabric.Fabric;
+import org.spongepowered.common.inventory.fabric.FabricContentIndex;
 import org.spongepowered.common.inventory.lens.Lens;
 import org.spongepowered.common.inventory.lens.slots.SlotLens;
 import org.spongepowered.common.item.util.ItemStackUtil;
@@ -256,8 +258,15 @@ public static boolean contains(InventoryAdapter adapter, ItemStack stack, int qu
      */
     public static boolean contains(Fabric fabric, Lens lens, ItemStack stack, int quantity) {
         net.minecraft.item.ItemStack nonNullStack = ItemStackUtil.toNative(stack); // Handle null as empty
+        FabricContentIndex index = nonNullStack.isEmpty() ? null : FabricContentIndex.get(fabric);
+        if (index != null && index.count(nonNullStack.getItem()) < quantity) {
+            return false; // Not enough of the item in the whole fabric
+        }
         int found = 0;
         for (int ord = 0; ord < lens.slotCount(); ord++) {
+            if (index != null && !index.mayContain(nonNullStack.getItem(), lens.getSlotLens(ord), fabric)) {
+                continue; // Skip slots not holding the item
+            }
             net.minecraft.item.ItemStack slotStack = lens.getStack(fabric, ord);
             if (slotStack.isEmpty()) {
                 if (nonNullStack.isEmpty()) {
@@ -283,7 +292,11 @@ public static boolean contains(InventoryAdapter adapter, ItemType type) {
     }
 
     public static boolean contains(Fabric fabric, Lens lens, ItemType type) {
+        FabricContentIndex index = type == null || type == ItemTypes.AIR ? null : FabricContentIndex.get(fabric);
         for (int ord = 0; ord < lens.slotCount(); ord++) {
+            if (index != null && !index.mayContain((Item) type, lens.getSlotLens(ord), fabric)) {
+                continue; // Skip slots not holding the item
+            }
             net.minecraft.item.ItemStack slotStack = lens.getStack(fabric, ord);
             if (slotStack.isEmpty()) {
                 if (type == null || type == ItemTypes.AIR) {
@@ -0,0 +1,189 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.inventory.fabric;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.container.Container;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.inventory.lens.impl.slot.BasicSlotLens;
+import org.spongepowered.common.inventory.lens.slots.SlotLens;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the item types held by the slots of a {@link Fabric}, and of
+ * their total quantity, letting lookups skip every slot that cannot hold a
+ * given item type.
+ *
+ * <p>Vanilla changes slots through too many paths to be notified of every
+ * change, {@code PlayerEntity#setItemStackToSlot} for one writes the backing
+ * lists directly. Instead, the index remembers the stack and quantity it saw
+ * in every slot and compares them whenever it is used, only the slots whose
+ * stack was replaced or resized are updated. Item stacks never change their
+ * item, so this is enough to keep the index exact. Each index belongs to a
+ * single fabric, a change to one inventory never affects the index of
+ * another.</p>
+ *
+ * <p>Every content change goes through {@code NonNullList#set} or
+ * {@code ItemStack#setCount}, which call {@link #markChanged()}. As long as
+ * neither was called since an index was last compared, as between the many
+ * lookups of a single click, the comparison is skipped entirely.</p>
+ */
+public final class FabricContentIndex {
+
+    private static final int MIN_INDEXED_SIZE = 9;
+    private static final Map<Fabric, FabricContentIndex> INDICES = new MapMaker().weakKeys().makeMap();
+
+    // Bumped by every possible content change, only ever compared for equality
+    private static int changes;
+
+    private final Map<Item, BitSet> slotsByItem = new IdentityHashMap<>();
+    private final Reference2IntMap<Item> totals = new Reference2IntOpenHashMap<>();
+    private ItemStack[] stacks = new ItemStack[0];
+    // The item and quantity of each slot when it was indexed, null and 0 for empty slots
+    private Item[] items = new Item[0];
+    private int[] counts = new int[0];
+    private int checkedChanges;
+    private boolean checked;
+
+    /**
+     * Records that the contents of some inventory may have changed, called
+     * by the backing lists and stacks of every inventory.
+     */
+    public static void markChanged() {
+        FabricContentIndex.changes++;
+    }
+
+    /**
+     * Gets the up to date index of the given fabric.
+     *
+     * @param fabric The fabric
+     * @return The index, or null if the fabric isn't indexed
+     */
+    @Nullable
+    public static FabricContentIndex get(final Fabric fabric) {
+        if (!GlobalConfigSnapshot.get().inventoryContentIndex || !FabricContentIndex.isIndexable(fabric)
+                || Thread.currentThread() != PhaseTracker.SERVER.getSidedThread()) {
+            return null;
+        }
+        final FabricContentIndex index = FabricContentIndex.INDICES.computeIfAbsent(fabric, k -> new FabricContentIndex());
+        final int changes = FabricContentIndex.changes;
+        if (!index.checked || index.checkedChanges != changes || index.stacks.length != fabric.fabric$getSize()) {
+            index.update(fabric);
+            index.checkedChanges = changes;
+            index.checked = true;
+        }
+        return index;
+    }
+
+    private static boolean isIndexable(final Fabric fabric) {
+        // Only long lived fabrics, compound fabrics are created on demand
+        return (fabric instanceof Container || fabric instanceof PlayerInventory || fabric instanceof TileEntity)
+            && fabric.fabric$getSize() >= FabricContentIndex.MIN_INDEXED_SIZE;
+    }
+
+    private void update(final Fabric fabric) {
+        final int size = fabric.fabric$getSize();
+        if (size != this.stacks.length) {
+            this.slotsByItem.clear();
+            this.totals.clear();
+            this.stacks = new ItemStack[size];
+            this.items = new Item[size];
+            this.counts = new int[size];
+        }
+        for (int slot = 0; slot < size; slot++) {
+            final ItemStack stack = fabric.fabric$getStack(slot);
+            final Item item = stack.isEmpty() ? null : stack.getItem();
+            final int count = item == null ? 0 : stack.getCount();
+            if (stack == this.stacks[slot] && item == this.items[slot] && count == this.counts[slot]) {
+                continue;
+            }
+            final Item previous = this.items[slot];
+            if (previous != null) {
+                this.slotsByItem.get(previous).clear(slot);
+                this.totals.put(previous, this.totals.getInt(previous) - this.counts[slot]);
+            }
+            if (item != null) {
+                this.slotsByItem.computeIfAbsent(item, k -> new BitSet(size)).set(slot);
+                this.totals.put(item, this.totals.getInt(item) + count);
+            }
+            this.stacks[slot] = stack;
+            this.items[slot] = item;
+            this.counts[slot] = count;
+        }
+    }
+
+    /**
+     * Gets the total quantity of the given item held by the slots of the
+     * fabric.
+     *
+     * @param item The item, must not be air
+     * @return The total quantity
+     */
+    public int count(final Item item) {
+        return this.totals.getInt(item);
+    }
+    /**
+     * Gets whether any slot of the fabric may hold the given item. The held
+     * item slot of a player is always also a regular slot of the fabrics it
+     * is used with, so it is covered as well.
+     *
+     * @param item The item, must not be air
+     * @return False if no slot holds the item
+     */
+    public boolean mayContain(final Item item) {
+        final BitSet slots = this.slotsByItem.get(item);
+        return slots != null && !slots.isEmpty();
+    }
+
+    /**
+     * Gets whether the given slot may hold the given item. Slots that aren't
+     * directly backed by a fabric index, such as the held item slot, are
+     * always assumed to possibly hold it.
+     *
+     * @param item The item, must not be air
+     * @param slot The slot lens
+     * @param fabric The fabric this index belongs to
+     * @return False if the slot doesn't hold the item
+     */
+    public boolean mayContain(final Item item, @Nullable final SlotLens slot, final Fabric fabric) {
+        if (!(slot instanceof BasicSlotLens)) {
+            return true;
+        }
+        final BitSet slots = this.slotsByItem.get(item);
+        return slots != null && slots.get(slot.getOrdinal(fabric));
+    }
+}
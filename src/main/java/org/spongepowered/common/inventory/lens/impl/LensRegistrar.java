@@ -65,6 +65,7 @@
 import org.spongepowered.common.inventory.lens.impl.slot.BasicSlotLens;
 import org.spongepowered.common.inventory.lens.impl.slot.SlotLensProvider;
 import org.spongepowered.common.inventory.lens.slots.SlotLens;
+import org.spongepowered.common.inventory.query.QueryPlanCache;
 import org.spongepowered.common.inventory.util.ContainerUtil;
 
 import java.util.ArrayList;
@@ -150,7 +151,12 @@ public static LensFactory restricted(LensFactory original, Predicate<Integer> si
     }
 
     public static Lens getLens(Object inventory, SlotLensProvider slotLensProvider, int size) {
-        return getLenses(inventory.getClass()).computeIfAbsent(size, k -> generateLens(inventory, size, slotLensProvider));
+        return getLenses(inventory.getClass()).computeIfAbsent(size, k -> {
+            Lens lens = generateLens(inventory, size, slotLensProvider);
+            // Registered lens trees never change, cache the queries on them
+            QueryPlanCache.track(lens);
+            return lens;
+        });
     }
 
     private static Int2ObjectMap<Lens> getLenses(Class<?> inventory) {
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.inventory.query;
+
+import org.spongepowered.common.inventory.lens.Lens;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Caches the result lenses of structural queries, which only depend on the
+ * shape of a lens tree and not on the contents of the inventory.
+ *
+ * <p>Only the lens trees created by the
+ * {@link org.spongepowered.common.inventory.lens.impl.LensRegistrar} are
+ * cached. These are shared by every inventory of the same type and size and
+ * never change, so the cached plans of a tree stay valid for as long as the
+ * tree exists. Lenses built for a single query or inventory are never
+ * cached, which also keeps them from being retained by the cache.</p>
+ */
+public final class QueryPlanCache {
+
+    private static final int MAX_PLANS_PER_LENS = 64;
+
+    private static final Map<Lens, Map<Object, Optional<Lens>>> PLANS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Starts caching the query plans of every lens of the given, newly
+     * created, lens tree.
+     *
+     * @param root The root lens of the tree
+     */
+    public static void track(final Lens root) {
+        final Deque<Lens> lenses = new ArrayDeque<>();
+        lenses.push(root);
+        while (!lenses.isEmpty()) {
+            final Lens lens = lenses.pop();
+            if (QueryPlanCache.PLANS.containsKey(lens)) {
+                continue;
+            }
+            QueryPlanCache.PLANS.put(lens, Collections.synchronizedMap(new LinkedHashMap<Object, Optional<Lens>>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Object, Optional<Lens>> eldest) {
+                    return this.size() > QueryPlanCache.MAX_PLANS_PER_LENS;
+                }
+            }));
+            for (final Lens child : lens.getChildren()) {
+                if (child != null) {
+                    lenses.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the cached plan of a query on the given lens, or plans it.
+     *
+     * @param lens The lens the query is executed on
+     * @param key The structural key of the query
+     * @param planner Plans the query, resulting in the result lens or
+     *     nothing if the query matches no lens
+     * @return The result lens, if any
+     */
+    public static Optional<Lens> get(final Lens lens, final Object key, final Supplier<Optional<Lens>> planner) {
+        final Map<Object, Optional<Lens>> plans = QueryPlanCache.PLANS.get(lens);
+        if (plans == null) {
+            return planner.get();
+        }
+        Optional<Lens> plan = plans.get(key);
+        if (plan == null) {
+            plan = planner.get();
+            plans.put(key, plan);
+        }
+        return plan;
+    }
+
+    private QueryPlanCache() {
+    }
+}
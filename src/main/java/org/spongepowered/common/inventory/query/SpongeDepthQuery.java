@@ -36,8 +36,11 @@
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 /**
  * Checks immediate child for matches first.
  * If no match is found matching continues using a depth-first search.
@@ -46,27 +49,43 @@ public abstract class SpongeDepthQuery extends SpongeQuery {
 
     public abstract boolean matches(Lens lens, Lens parent, Inventory inventory);
 
+    /**
+     * Gets the key under which the results of this query are cached, for
+     * queries that only depend on the structure of the lens tree and never
+     * on the contents of the inventory.
+     *
+     * @return The key, or null if the results may not be cached
+     */
+    @Nullable
+    protected Object getStructuralKey() {
+        return null;
+    }
+
     public Inventory execute(Inventory inventory, InventoryAdapter adapter) {
         Fabric fabric = adapter.inventoryAdapter$getFabric();
         Lens lens = adapter.inventoryAdapter$getRootLens();
 
-        if (this.matches(lens, null, inventory)) {
-            return lens.getAdapter(fabric, inventory);
+        Object key = this.getStructuralKey();
+        Optional<Lens> result = key == null ? this.plan(inventory, lens) : QueryPlanCache.get(lens, key, () -> this.plan(inventory, lens));
+        if (!result.isPresent()) {
+            return new EmptyInventoryImpl(inventory);
         }
-
-        return this.toResult(inventory, fabric, this.reduce(lens, this.depthFirstSearch(inventory, lens)));
+        return result.get().getAdapter(fabric, inventory);
     }
 
-    private Inventory toResult(Inventory inventory, Fabric fabric, Set<Lens> matches) {
+    private Optional<Lens> plan(Inventory inventory, Lens lens) {
+        if (this.matches(lens, null, inventory)) {
+            return Optional.of(lens);
+        }
+
+        Set<Lens> matches = this.reduce(lens, this.depthFirstSearch(inventory, lens));
         if (matches.isEmpty()) {
-            return new EmptyInventoryImpl(inventory);
+            return Optional.empty();
         }
         if (matches.size() == 1) {
-            return matches.iterator().next().getAdapter(fabric, inventory);
+            return Optional.of(matches.iterator().next());
         }
-
-        QueryLens lens = new QueryLens(matches);
-        return lens.getAdapter(fabric, inventory);
+        return Optional.of(new QueryLens(matches));
     }
 
     private Set<Lens> depthFirstSearch(Inventory inventory, Lens lens) {
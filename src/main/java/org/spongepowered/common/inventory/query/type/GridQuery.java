@@ -24,23 +24,30 @@
  */
 package org.spongepowered.common.inventory.query.type;
 
+import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.item.inventory.Inventory;
 import org.spongepowered.common.inventory.EmptyInventoryImpl;
 import org.spongepowered.common.inventory.adapter.InventoryAdapter;
 import org.spongepowered.common.inventory.adapter.impl.comp.GridInventoryAdapter;
 import org.spongepowered.common.inventory.lens.CompoundSlotLensProvider;
+import org.spongepowered.common.inventory.lens.Lens;
 import org.spongepowered.common.inventory.lens.impl.comp.GridInventoryLens;
+import org.spongepowered.common.inventory.query.QueryPlanCache;
 import org.spongepowered.common.inventory.query.SpongeQuery;
 import org.spongepowered.math.vector.Vector2i;
 
+import java.util.Optional;
+
 public class GridQuery extends SpongeQuery {
 
     private final Vector2i offset;
     private final Vector2i size;
+    private final Object structuralKey;
 
     public GridQuery(Vector2i offset, Vector2i size) {
         this.offset = offset;
         this.size = size;
+        this.structuralKey = ImmutableList.of(GridQuery.class, offset, size);
     }
 
     @Override
@@ -51,11 +58,18 @@ public Inventory execute(Inventory inventory, InventoryAdapter adapter) {
         }
 
         GridInventoryAdapter gridAdapter = (GridInventoryAdapter) adapter;
+        Optional<Lens> lens = QueryPlanCache.get(adapter.inventoryAdapter$getRootLens(), this.structuralKey, () -> this.plan(gridAdapter));
+        if (!lens.isPresent()) {
+            return new EmptyInventoryImpl(inventory);
+        }
+        return new GridInventoryAdapter(adapter.inventoryAdapter$getFabric(), (GridInventoryLens) lens.get(), inventory);
+    }
 
+    private Optional<Lens> plan(GridInventoryAdapter gridAdapter) {
         Vector2i max = gridAdapter.getDimensions();
         if (max.getX() < this.offset.getX() + this.size.getX() && max.getY() < this.offset.getY() + this.size.getY()) {
             // queried grid does not fit inventory
-            return new EmptyInventoryImpl(inventory);
+            return Optional.empty();
         }
 
         // Get slots for new grid
@@ -68,8 +82,7 @@ public Inventory execute(Inventory inventory, InventoryAdapter adapter) {
         }
 
         // build new grid lens
-        GridInventoryLens lens = new GridInventoryLens(0, this.size.getX(), this.size.getY(), slotProvider);
-        return new GridInventoryAdapter(adapter.inventoryAdapter$getFabric(), lens, inventory);
+        return Optional.of(new GridInventoryLens(0, this.size.getX(), this.size.getY(), slotProvider));
     }
 
 
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.inventory.query.type;
 
+import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.inventory.ItemStack;
 
 public final class ItemStackExactQuery extends ItemStackQuery<ItemStack> {
@@ -37,4 +38,9 @@ protected boolean matches(ItemStack itemStack, ItemStack arg) {
         return itemStack.equalTo(arg);
     }
 
+    @Override
+    protected ItemType getItemType(ItemStack arg) {
+        return arg.getType();
+    }
+
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.inventory.query.type;
 
+import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.common.item.util.ItemStackUtil;
 
@@ -38,4 +39,9 @@ protected boolean matches(ItemStack itemStack, ItemStack arg) {
         return ItemStackUtil.compareIgnoreQuantity(itemStack, arg);
     }
 
+    @Override
+    protected ItemType getItemType(ItemStack arg) {
+        return arg.getType();
+    }
+
 }
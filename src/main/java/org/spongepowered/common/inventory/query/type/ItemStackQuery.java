@@ -24,27 +24,58 @@
  */
 package org.spongepowered.common.inventory.query.type;
 
+import net.minecraft.item.Item;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.ItemTypes;
 import org.spongepowered.api.item.inventory.Inventory;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.common.bridge.inventory.InventoryBridge;
+import org.spongepowered.common.inventory.EmptyInventoryImpl;
+import org.spongepowered.common.inventory.adapter.InventoryAdapter;
 import org.spongepowered.common.inventory.fabric.Fabric;
+import org.spongepowered.common.inventory.fabric.FabricContentIndex;
 import org.spongepowered.common.inventory.lens.Lens;
 import org.spongepowered.common.inventory.lens.slots.SlotLens;
 import org.spongepowered.common.inventory.query.SpongeDepthQuery;
 import org.spongepowered.common.item.util.ItemStackUtil;
 
+import javax.annotation.Nullable;
+
 public abstract class ItemStackQuery<T> extends SpongeDepthQuery {
 
     private final T arg;
 
+    @Nullable private final Item item;
+
     protected ItemStackQuery(T arg) {
         this.arg = arg;
+        final ItemType type = this.getItemType(arg);
+        this.item = type == null || type == ItemTypes.AIR ? null : (Item) type;
+    }
+
+    @Override
+    public Inventory execute(Inventory inventory, InventoryAdapter adapter) {
+        if (this.item == null) {
+            return super.execute(inventory, adapter);
+        }
+        // Nothing can match if the item isn't held anywhere, skip searching the lenses
+        Fabric fabric = adapter.inventoryAdapter$getFabric();
+        FabricContentIndex index = FabricContentIndex.get(fabric);
+        if (index != null && !index.mayContain(this.item)) {
+            return new EmptyInventoryImpl(inventory);
+        }
+        return super.execute(inventory, adapter);
     }
 
     @Override
     public boolean matches(Lens lens, Lens parent, Inventory inventory) {
         if (lens instanceof SlotLens) {
             Fabric fabric = ((InventoryBridge) inventory).bridge$getAdapter().inventoryAdapter$getFabric();
+            // Looking the index up again is cheap, it is only compared to the fabric if its contents changed
+            FabricContentIndex index = this.item == null ? null : FabricContentIndex.get(fabric);
+            if (index != null && !index.mayContain(this.item, (SlotLens) lens, fabric)) {
+                return false;
+            }
             ItemStack stack = ItemStackUtil.fromNative(((SlotLens) lens).getStack(fabric));
             if (stack == null) {
                 return false;
@@ -56,4 +87,15 @@ public boolean matches(Lens lens, Lens parent, Inventory inventory) {
 
     protected abstract boolean matches(ItemStack itemStack, T arg);
 
+    /**
+     * Gets the item type every matching stack must be of, if known.
+     *
+     * @param arg The query argument
+     * @return The item type, or null if stacks of any type may match
+     */
+    @Nullable
+    protected ItemType getItemType(T arg) {
+        return null;
+    }
+
 }
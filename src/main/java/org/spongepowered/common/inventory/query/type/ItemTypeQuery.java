@@ -38,4 +38,9 @@ protected boolean matches(ItemStack itemStack, ItemType arg) {
         return itemStack.getType().equals(arg);
     }
 
+    @Override
+    protected ItemType getItemType(ItemType arg) {
+        return arg;
+    }
+
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.inventory.query.type;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.item.inventory.Inventory;
 import org.spongepowered.common.inventory.adapter.impl.slots.SlotAdapter;
@@ -32,23 +33,28 @@
 
 public final class SlotLensQuery extends SpongeDepthQuery {
 
-    private final ImmutableSet<Inventory> inventories;
+    private final ImmutableSet<Lens> slotLenses;
+    private final Object structuralKey;
 
     public SlotLensQuery(ImmutableSet<Inventory> inventories) {
-        this.inventories = inventories;
+        ImmutableSet.Builder<Lens> slotLenses = ImmutableSet.builder();
+        for (Inventory inv : inventories) {
+            for (Inventory slot : inv.slots()) {
+                slotLenses.add(((SlotAdapter) slot).impl$getLens());
+            }
+        }
+        this.slotLenses = slotLenses.build();
+        this.structuralKey = ImmutableList.of(SlotLensQuery.class, this.slotLenses);
+    }
+
+    @Override
+    protected Object getStructuralKey() {
+        return this.structuralKey;
     }
 
-    @SuppressWarnings("rawtypes")
     @Override
     public boolean matches(Lens lens, Lens parent, Inventory inventory) {
-        for (Inventory inv : this.inventories) {
-            for (Inventory slot : inv.slots()) {
-                if (((SlotAdapter) slot).impl$getLens().equals(lens)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return this.slotLenses.contains(lens);
     }
 
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.inventory.query.type;
 
+import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.item.inventory.Inventory;
 import org.spongepowered.common.inventory.lens.Lens;
 import org.spongepowered.common.inventory.query.SpongeDepthQuery;
@@ -31,9 +32,16 @@
 public final class TypeQuery extends SpongeDepthQuery {
 
     private final Class<?> targetType;
+    private final Object structuralKey;
 
     public TypeQuery(Class<?> targetType) {
         this.targetType = targetType;
+        this.structuralKey = ImmutableList.of(TypeQuery.class, targetType);
+    }
+
+    @Override
+    protected Object getStructuralKey() {
+        return this.structuralKey;
     }
 
     @Override
@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import com.google.common.collect.MapMaker;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.util.ResourceLocation;
+import org.spongepowered.common.SpongeCommon;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A channel whose payloads are decoded on the network thread they are
+ * received on, only the decoded messages are queued for handling on the
+ * main thread.
+ *
+ * <p>Every connection is limited to a maximum payload size and a maximum
+ * amount of payloads per second, payloads exceeding either are dropped
+ * before being decoded. The queue of decoded messages is bounded, messages
+ * that don't fit are dropped as well.</p>
+ *
+ * @param <M> The type of the decoded messages
+ */
+public final class AsyncDecodingChannel<M> {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ResourceLocation channel;
+    private final AsyncPayloadDecoder<M> decoder;
+    private final BiConsumer<ServerPlayerEntity, M> handler;
+    private final int maxPayloadSize;
+    private final int maxPayloadsPerSecond;
+    private final Queue<DecodedPayload<M>> queue;
+    private final Map<NetworkManager, RateLimiter> limiters = new MapMaker().weakKeys().makeMap();
+
+    private int droppedPayloads;
+
+    AsyncDecodingChannel(final ResourceLocation channel, final AsyncPayloadDecoder<M> decoder, final BiConsumer<ServerPlayerEntity, M> handler,
+        final int maxPayloadSize, final int maxPayloadsPerSecond, final int queueCapacity) {
+        this.channel = channel;
+        this.decoder = decoder;
+        this.handler = handler;
+        this.maxPayloadSize = maxPayloadSize;
+        this.maxPayloadsPerSecond = maxPayloadsPerSecond;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public ResourceLocation getChannel() {
+        return this.channel;
+    }
+
+    /**
+     * Decodes the given payload on the current network thread and queues the
+     * decoded message for the main thread.
+     *
+     * @param player The player that sent the payload
+     * @param networkManager The connection the payload was received on
+     * @param payload The payload
+     */
+    public void receive(final ServerPlayerEntity player, final NetworkManager networkManager, final ByteBuf payload) {
+        final int size = payload.readableBytes();
+        if (size > this.maxPayloadSize) {
+            this.drop(player, "payload of " + size + " bytes exceeds the limit of " + this.maxPayloadSize + " bytes");
+            return;
+        }
+        final RateLimiter limiter = this.limiters.computeIfAbsent(networkManager, key -> new RateLimiter(this.maxPayloadsPerSecond));
+        if (!limiter.tryAcquire()) {
+            this.drop(player, "more than " + this.maxPayloadsPerSecond + " payloads per second");
+            return;
+        }
+        final M message;
+        try {
+            message = this.decoder.decode(SpongeNetworkManager.toChannelBuf(payload));
+        } catch (final Exception e) {
+            SpongeCommon.getLogger().warn("Failed to decode payload on channel {} from {}", this.channel, player.getName().getString(), e);
+            return;
+        }
+        if (!this.queue.offer(new DecodedPayload<>(player, message))) {
+            this.drop(player, "the queue of decoded payloads is full");
+        }
+    }
+
+    /**
+     * Hands all the decoded messages over to the handler, called on the main
+     * thread.
+     */
+    void process() {
+        DecodedPayload<M> decoded;
+        while ((decoded = this.queue.poll()) != null) {
+            if (decoded.player.hasDisconnected()) {
+                continue;
+            }
+            try {
+                this.handler.accept(decoded.player, decoded.message);
+            } catch (final Exception e) {
+                SpongeCommon.getLogger().error("Failed to handle payload on channel {} from {}", this.channel,
+                    decoded.player.getName().getString(), e);
+            }
+        }
+        final int dropped;
+        synchronized (this) {
+            dropped = this.droppedPayloads;
+            this.droppedPayloads = 0;
+        }
+        if (dropped > 0) {
+            SpongeCommon.getLogger().debug("Dropped {} payloads on channel {} this tick", dropped, this.channel);
+        }
+    }
+
+    private void drop(final ServerPlayerEntity player, final String reason) {
+        synchronized (this) {
+            this.droppedPayloads++;
+        }
+        SpongeCommon.getLogger().debug("Dropping payload on channel {} from {}: {}", this.channel, player.getName().getString(), reason);
+    }
+
+    private static final class DecodedPayload<M> {
+
+        final ServerPlayerEntity player;
+        final M message;
+
+        DecodedPayload(final ServerPlayerEntity player, final M message) {
+            this.player = player;
+            this.message = message;
+        }
+    }
+
+    /**
+     * A token bucket refilled continuously at the allowed rate, holding at
+     * most one second worth of payloads.
+     */
+    private static final class RateLimiter {
+
+        private final int rate;
+        private double tokens;
+        private long lastRefill;
+
+        RateLimiter(final int rate) {
+            this.rate = rate;
+            this.tokens = rate;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire() {
+            final long now = System.nanoTime();
+            this.tokens = Math.min(this.rate, this.tokens + (now - this.lastRefill) * (double) this.rate / AsyncDecodingChannel.NANOS_PER_SECOND);
+            this.lastRefill = now;
+            if (this.tokens < 1) {
+                return false;
+            }
+            this.tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.IPacket;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.PacketDirection;
+import net.minecraft.network.ProtocolType;
+import net.minecraft.network.play.server.SEntityEquipmentPacket;
+import net.minecraft.network.play.server.SEntityHeadLookPacket;
+import net.minecraft.network.play.server.SEntityMetadataPacket;
+import net.minecraft.network.play.server.SEntityPacket;
+import net.minecraft.network.play.server.SEntityTeleportPacket;
+import net.minecraft.network.play.server.SEntityVelocityPacket;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.network.NetworkManagerBridge;
+
+import java.util.Collection;
+
+import javax.annotation.Nullable;
+
+/**
+ * Encodes the entity update packets that are sent to all the players
+ * tracking an entity only once, the encoded buffer is shared by every
+ * connection it is written to.
+ *
+ * <p>The packets are encoded after they have been constructed, so any
+ * spoofed values, like the scaled health provided by the
+ * {@link SpoofedEntityDataManager}, are part of the shared buffer. Only the
+ * framing, compression and encryption still happen per connection.</p>
+ */
+public final class SharedPacketCache {
+
+    // Below this amount of players, encoding the packet per connection is just as cheap
+    private static final int MIN_SHARED_PLAYERS = 2;
+
+    /**
+     * Gets whether the given packet can be shared between the connections
+     * of the given players.
+     *
+     * @param packet The packet
+     * @param players The players the packet is sent to
+     * @return Whether the packet can be shared
+     */
+    public static boolean canShare(final IPacket<?> packet, final Collection<ServerPlayerEntity> players) {
+        return players.size() >= SharedPacketCache.MIN_SHARED_PLAYERS
+            && SpongeCommon.getServer().isOnExecutionThread()
+            && (packet instanceof SEntityMetadataPacket
+                || packet instanceof SEntityPacket
+                || packet instanceof SEntityTeleportPacket
+                || packet instanceof SEntityHeadLookPacket
+                || packet instanceof SEntityVelocityPacket
+                || packet instanceof SEntityEquipmentPacket);
+    }
+
+    /**
+     * Sends the given packet to all the given players, encoding it only
+     * once. Every connection gets its own retained duplicate of the encoded
+     * buffer, which is released again once all of them were queued.
+     *
+     * @param packet The packet
+     * @param players The players
+     */
+    public static void send(final IPacket<?> packet, final Collection<ServerPlayerEntity> players) {
+        final ByteBuf encoded = SharedPacketCache.encode(packet);
+        if (encoded == null) {
+            for (final ServerPlayerEntity player : players) {
+                player.connection.sendPacket(packet);
+            }
+            return;
+        }
+        try {
+            for (final ServerPlayerEntity player : players) {
+                ((NetworkManagerBridge) player.connection.netManager).bridge$queueEncodedPacket(encoded.retainedDuplicate(), packet);
+            }
+        } finally {
+            encoded.release();
+        }
+    }
+
+    @Nullable
+    private static ByteBuf encode(final IPacket<?> packet) {
+        final Integer id = ProtocolType.PLAY.getPacketId(PacketDirection.CLIENTBOUND, packet);
+        if (id == null) {
+            return null;
+        }
+        final PacketBuffer buffer = new PacketBuffer(PooledByteBufAllocator.DEFAULT.directBuffer());
+        try {
+            buffer.writeVarInt(id);
+            packet.writePacketData(buffer);
+        } catch (final Exception e) {
+            buffer.release();
+            SpongeCommon.getLogger().debug("Failed to encode shared packet {}, sending it per connection instead", packet, e);
+            return null;
+        }
+        return buffer;
+    }
+
+    private SharedPacketCache() {
+    }
+}
@@ -30,6 +30,9 @@
 
 import com.google.common.base.Charsets;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SCustomPayloadPlayPacket;
 import net.minecraft.util.ResourceLocation;
@@ -39,12 +42,75 @@
 import org.spongepowered.api.network.ChannelRegistrar;
 import org.spongepowered.api.network.ChannelRegistrationException;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.network.NetworkManagerBridge;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeNetworkManager implements ChannelRegistrar {
 
+    private static final Set<NetworkManager> PENDING_FLUSHES = ConcurrentHashMap.newKeySet();
+    private static final Map<ResourceLocation, AsyncDecodingChannel<?>> ASYNC_DECODING_CHANNELS = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules the given connection to be flushed at the end of the tick.
+     *
+     * @param networkManager The connection
+     */
+    public static void scheduleFlush(final NetworkManager networkManager) {
+        SpongeNetworkManager.PENDING_FLUSHES.add(networkManager);
+    }
+
+    /**
+     * Flushes all the connections that packets have been queued on during
+     * this tick, called at the end of every server tick.
+     */
+    public static void flushPendingPackets() {
+        if (SpongeNetworkManager.PENDING_FLUSHES.isEmpty()) {
+            return;
+        }
+        for (final Iterator<NetworkManager> iterator = SpongeNetworkManager.PENDING_FLUSHES.iterator(); iterator.hasNext(); ) {
+            final NetworkManager networkManager = iterator.next();
+            iterator.remove();
+            ((NetworkManagerBridge) networkManager).bridge$flushQueuedPackets();
+        }
+    }
+
+    /**
+     * Gets the channel that decodes its payloads on the network thread for
+     * the given channel name, if any.
+     *
+     * @param channel The channel name
+     * @return The channel, or null
+     */
+    @Nullable
+    public static AsyncDecodingChannel<?> getAsyncDecodingChannel(final ResourceLocation channel) {
+        return SpongeNetworkManager.ASYNC_DECODING_CHANNELS.get(channel);
+    }
+
+    /**
+     * Hands the payloads decoded on the network threads over to their
+     * handlers, called at the start of every server tick.
+     */
+    public static void processDecodedPayloads() {
+        if (SpongeNetworkManager.ASYNC_DECODING_CHANNELS.isEmpty()) {
+            return;
+        }
+        for (final AsyncDecodingChannel<?> channel : SpongeNetworkManager.ASYNC_DECODING_CHANNELS.values()) {
+            channel.process();
+        }
+    }
+
     protected PluginContainer checkCreateChannelArgs(final Object plugin, final String channel) {
         if (checkNotNull(channel, "channel").length() > 20) {
             throw new ChannelRegistrationException("Channel name cannot be greater than 20 characters");
@@ -93,5 +159,100 @@ public ResourceKey getKey() {
         public PluginContainer getOwner() {
             return this.owner;
         }
+
+        /**
+         * Decodes the payloads received on this channel on the network thread
+         * of the connection with the given decoder, only the decoded messages
+         * are handed to the handler on the main thread.
+         *
+         * @param decoder The decoder, called on the network thread
+         * @param handler The handler, called on the main thread
+         * @param maxPayloadSize The maximum size of a payload in bytes
+         * @param maxPayloadsPerSecond The maximum amount of payloads per
+         *     second accepted from a single connection
+         * @param queueCapacity The maximum amount of decoded messages waiting
+         *     to be handled
+         * @param <M> The type of the decoded messages
+         */
+        protected <M> void enableAsyncDecoding(final AsyncPayloadDecoder<M> decoder, final BiConsumer<ServerPlayerEntity, M> handler,
+            final int maxPayloadSize, final int maxPayloadsPerSecond, final int queueCapacity) {
+            checkNotNull(decoder, "decoder");
+            checkNotNull(handler, "handler");
+            checkArgument(maxPayloadSize > 0, "maxPayloadSize must be positive");
+            checkArgument(maxPayloadsPerSecond > 0, "maxPayloadsPerSecond must be positive");
+            checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+            final ResourceLocation channel = (ResourceLocation) (Object) this.channelKey;
+            SpongeNetworkManager.ASYNC_DECODING_CHANNELS.put(channel,
+                new AsyncDecodingChannel<>(channel, decoder, handler, maxPayloadSize, maxPayloadsPerSecond, queueCapacity));
+        }
+
+        /**
+         * Stops decoding the payloads received on this channel on the network
+         * thread, messages that are still queued are discarded.
+         */
+        protected void disableAsyncDecoding() {
+            SpongeNetworkManager.ASYNC_DECODING_CHANNELS.remove((ResourceLocation) (Object) this.channelKey);
+        }
+
+        /**
+         * Hands a payload received on this channel to its asynchronous
+         * decoder, if this channel decodes its payloads asynchronously.
+         *
+         * @param player The player that sent the payload
+         * @param networkManager The connection the payload was received on
+         * @param payload The payload
+         * @return Whether the payload was handed to the decoder
+         */
+        protected boolean receiveAsync(final ServerPlayerEntity player, final NetworkManager networkManager, final ByteBuf payload) {
+            final AsyncDecodingChannel<?> channel = SpongeNetworkManager.getAsyncDecodingChannel((ResourceLocation) (Object) this.channelKey);
+            if (channel == null) {
+                return false;
+            }
+            channel.receive(player, networkManager, payload);
+            return true;
+        }
+
+        /**
+         * Sends a payload on this channel to a single player.
+         *
+         * @param player The player
+         * @param payload The writer of the payload
+         */
+        protected void sendPayload(final ServerPlayerEntity player, final Consumer<ChannelBuf> payload) {
+            this.sendPayload(Collections.singleton(player), payload);
+        }
+
+        /**
+         * Sends a payload on this channel to the given players.
+         *
+         * <p>The payload is encoded once into a pooled direct buffer, and
+         * every packet holds a retained slice of it that is released once
+         * the packet has been written. The packets are queued on their
+         * connections without flushing, the connections are flushed once
+         * at the end of the tick.</p>
+         *
+         * @param players The players
+         * @param payload The writer of the payload
+         */
+        protected void sendPayload(final Collection<ServerPlayerEntity> players, final Consumer<ChannelBuf> payload) {
+            if (players.isEmpty()) {
+                return;
+            }
+            final ResourceLocation channel = (ResourceLocation) (Object) this.channelKey;
+            final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+            try {
+                payload.accept(SpongeNetworkManager.toChannelBuf(buffer));
+                for (final ServerPlayerEntity player : players) {
+                    if (player.connection == null) {
+                        continue;
+                    }
+                    final ByteBuf slice = buffer.retainedSlice();
+                    final SCustomPayloadPlayPacket packet = new SCustomPayloadPlayPacket(channel, new PacketBuffer(slice));
+                    ((NetworkManagerBridge) player.connection.netManager).bridge$queuePacket(packet, future -> slice.release());
+                }
+            } finally {
+                buffer.release();
+            }
+        }
     }
 }
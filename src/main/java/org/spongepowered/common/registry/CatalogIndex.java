@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.registry.SimpleRegistry;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.common.accessor.util.registry.SimpleRegistryAccessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dense index over the entries of a {@link SimpleRegistry}.
+ *
+ * <p>Every key gets an integer id, stable for the lifetime of the index,
+ * so that a lookup is a single hash of the key and an array load. The
+ * entries are grouped by namespace up front as well.</p>
+ *
+ * <p>Registries only ever grow, an entry may at most be replaced under an
+ * existing key. As both change the size or the next free id of the
+ * registry, comparing those is enough to tell whether the index has to be
+ * brought up to date.</p>
+ */
+final class CatalogIndex {
+
+    private final SimpleRegistry<CatalogType> registry;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    CatalogIndex(final SimpleRegistry<CatalogType> registry) {
+        this.registry = registry;
+    }
+
+    @Nullable
+    CatalogType get(final ResourceKey key) {
+        final Snapshot snapshot = this.current();
+        final int id = snapshot.idsByKey.getInt(key);
+        return id < 0 ? null : snapshot.byId[id];
+    }
+
+    int getId(final ResourceKey key) {
+        return this.current().idsByKey.getInt(key);
+    }
+
+    @Nullable
+    CatalogType get(final int id) {
+        final Snapshot snapshot = this.current();
+        return id < 0 || id >= snapshot.byId.length ? null : snapshot.byId[id];
+    }
+
+    List<CatalogType> getAllFor(final String namespace) {
+        return this.current().byNamespace.getOrDefault(namespace, Collections.emptyList());
+    }
+
+    private Snapshot current() {
+        final Snapshot snapshot = this.snapshot;
+        final SimpleRegistryAccessor accessor = (SimpleRegistryAccessor) this.registry;
+        if (snapshot.size == accessor.accessor$getRegistryObjects().size() && snapshot.nextFreeId == accessor.accessor$getNextFreeId()) {
+            return snapshot;
+        }
+        return this.rebuild();
+    }
+
+    private synchronized Snapshot rebuild() {
+        final SimpleRegistryAccessor accessor = (SimpleRegistryAccessor) this.registry;
+        final Snapshot previous = this.snapshot;
+        final int size = accessor.accessor$getRegistryObjects().size();
+        final int nextFreeId = accessor.accessor$getNextFreeId();
+        if (previous.size == size && previous.nextFreeId == nextFreeId) {
+            return previous;
+        }
+
+        // Keep the ids handed out so far, new keys are appended
+        final Object2IntOpenHashMap<ResourceKey> idsByKey = new Object2IntOpenHashMap<>(previous.idsByKey);
+        idsByKey.defaultReturnValue(-1);
+        CatalogType[] byId = Arrays.copyOf(previous.byId, Math.max(previous.byId.length, size));
+        int count = previous.idsByKey.size();
+        final Map<String, List<CatalogType>> byNamespace = new HashMap<>();
+
+        for (final Map.Entry<ResourceLocation, Object> entry : accessor.accessor$getRegistryObjects().entrySet()) {
+            final ResourceKey key = ResourceKeyCache.intern((ResourceKey) (Object) entry.getKey());
+            int id = idsByKey.getInt(key);
+            if (id < 0) {
+                id = count++;
+                if (id >= byId.length) {
+                    byId = Arrays.copyOf(byId, id + 1);
+                }
+                idsByKey.put(key, id);
+            }
+            byId[id] = (CatalogType) entry.getValue();
+            byNamespace.computeIfAbsent(key.getNamespace(), k -> new ArrayList<>()).add((CatalogType) entry.getValue());
+        }
+
+        for (final Map.Entry<String, List<CatalogType>> entry : byNamespace.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        final Snapshot snapshot = new Snapshot(size, nextFreeId, idsByKey, byId, byNamespace);
+        this.snapshot = snapshot;
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(-1, -1, CatalogIndex.emptyIds(), new CatalogType[0], Collections.emptyMap());
+
+        final int size;
+        final int nextFreeId;
+        final Object2IntOpenHashMap<ResourceKey> idsByKey;
+        final CatalogType[] byId;
+        final Map<String, List<CatalogType>> byNamespace;
+
+        Snapshot(final int size, final int nextFreeId, final Object2IntOpenHashMap<ResourceKey> idsByKey, final CatalogType[] byId,
+            final Map<String, List<CatalogType>> byNamespace) {
+            this.size = size;
+            this.nextFreeId = nextFreeId;
+            this.idsByKey = idsByKey;
+            this.byId = byId;
+            this.byNamespace = byNamespace;
+        }
+    }
+
+    private static Object2IntOpenHashMap<ResourceKey> emptyIds() {
+        final Object2IntOpenHashMap<ResourceKey> ids = new Object2IntOpenHashMap<>();
+        ids.defaultReturnValue(-1);
+        return ids;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the keys of registered catalog types so that resolving a key of a
+ * known catalog type from strings neither validates nor allocates a new key,
+ * and registry lookups with it hit the identity check of
+ * {@link Object#equals(Object)}.
+ *
+ * <p>Only keys that were registered somewhere are interned, arbitrary user
+ * input never ends up in here.</p>
+ */
+final class ResourceKeyCache {
+
+    private static final String DEFAULT_NAMESPACE = "minecraft";
+    private static final Map<String, ResourceKey> KEYS = new ConcurrentHashMap<>();
+
+    static ResourceKey intern(final ResourceKey key) {
+        final ResourceKey existing = ResourceKeyCache.KEYS.putIfAbsent(key.getFormatted(), key);
+        return existing == null ? key : existing;
+    }
+
+    @Nullable
+    static ResourceKey get(final String namespace, final String value) {
+        return ResourceKeyCache.KEYS.get(namespace + ':' + value);
+    }
+
+    @Nullable
+    static ResourceKey get(final String formatted) {
+        if (formatted.indexOf(':') >= 0) {
+            return ResourceKeyCache.KEYS.get(formatted);
+        }
+        return ResourceKeyCache.get(ResourceKeyCache.DEFAULT_NAMESPACE, formatted);
+    }
+
+    private ResourceKeyCache() {
+    }
+}
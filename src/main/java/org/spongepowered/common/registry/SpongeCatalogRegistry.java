@@ -199,11 +199,13 @@ public final class SpongeCatalogRegistry implements CatalogRegistry {
     private final Map<Class<CatalogType>, Map<String, Supplier<CatalogType>>> suppliers;
     private final Map<ResourceKey, Registry<CatalogType>> registries;
     private final Map<Class<CatalogType>, Registry<CatalogType>> registriesByType;
+    private final Map<Class<CatalogType>, CatalogIndex> indicesByType;
 
     public SpongeCatalogRegistry() {
         this.suppliers = new IdentityHashMap<>();
         this.registries = new Object2ObjectOpenHashMap<>();
         this.registriesByType = new IdentityHashMap<>();
+        this.indicesByType = new IdentityHashMap<>();
     }
 
     @Override
@@ -227,6 +229,11 @@ public <T extends CatalogType, E extends T> Supplier<E> provideSupplier(final Cl
     public <T extends CatalogType> Optional<T> get(final Class<T> typeClass, final ResourceKey key) {
         Preconditions.checkNotNull(key);
 
+        final CatalogIndex index = this.indicesByType.get(typeClass);
+        if (index != null) {
+            return Optional.ofNullable((T) index.get(key));
+        }
+
         final Registry<CatalogType> registry = this.registriesByType.get(typeClass);
         if (registry == null) {
             return Optional.empty();
@@ -235,6 +242,30 @@ public <T extends CatalogType> Optional<T> get(final Class<T> typeClass, final R
         return (Optional<T>) registry.getValue((ResourceLocation) (Object) key);
     }
 
+    /**
+     * Gets the dense id of the catalog type registered under the given key.
+     *
+     * <p>Ids are assigned per registry in registration order and stay valid
+     * for the lifetime of the server, callers resolving the same key over
+     * and over may keep the id and go through {@link #getById(Class, int)}
+     * instead.</p>
+     *
+     * @param typeClass The catalog class
+     * @param key The key
+     * @return The id, or -1 if nothing is registered under the key
+     */
+    public <T extends CatalogType> int getId(final Class<T> typeClass, final ResourceKey key) {
+        Preconditions.checkNotNull(key);
+
+        final CatalogIndex index = this.indicesByType.get(typeClass);
+        return index == null ? -1 : index.getId(key);
+    }
+
+    public <T extends CatalogType> @Nullable T getById(final Class<T> typeClass, final int id) {
+        final CatalogIndex index = this.indicesByType.get(typeClass);
+        return index == null ? null : (T) index.get(id);
+    }
+
     @Override
     public <T extends CatalogType> Collection<T> getAllOf(final Class<T> typeClass) {
         final Registry<CatalogType> registry = this.registriesByType.get(typeClass);
@@ -261,7 +292,15 @@ public <T extends CatalogType> Stream<T> streamAllOf(final Class<T> typeClass) {
     public <T extends CatalogType> Collection<T> getAllFor(final Class<T> typeClass, final String namespace) {
         Preconditions.checkNotNull(namespace);
 
+        final CatalogIndex index = this.indicesByType.get(typeClass);
+        if (index != null) {
+            return (Collection<T>) index.getAllFor(namespace);
+        }
+
         final Registry<CatalogType> registry = this.registriesByType.get(typeClass);
+        if (registry == null) {
+            return Collections.emptyList();
+        }
         final List<T> types = new ArrayList<>();
         for (final Map.Entry<ResourceLocation, Object> entry : ((SimpleRegistryAccessor) registry).accessor$getRegistryObjects().entrySet()) {
             if (entry.getKey().getNamespace().equals(namespace)) {
@@ -276,6 +315,11 @@ public <T extends CatalogType> Collection<T> getAllFor(final Class<T> typeClass,
     public <T extends CatalogType> Stream<T> streamAllFor(final Class<T> typeClass, final String namespace) {
         Preconditions.checkNotNull(namespace);
 
+        final CatalogIndex index = this.indicesByType.get(typeClass);
+        if (index != null) {
+            return (Stream<T>) index.getAllFor(namespace).stream();
+        }
+
         final Registry<CatalogType> registry = this.registriesByType.get(typeClass);
         final Stream<T> stream;
         if (registry == null) {
@@ -321,6 +365,7 @@ public <T extends CatalogType> SpongeCatalogRegistry registerRegistry(final Clas
 
         this.registries.put(key, (Registry<CatalogType>) registry);
         this.registriesByType.put((Class<CatalogType>) catalogClass, (Registry<CatalogType>) registry);
+        this.indexRegistry((Class<CatalogType>) catalogClass, (Registry<CatalogType>) registry);
 
         if (defaultsSupplier != null) {
             defaultsSupplier.get().forEach(catalogType -> {
@@ -339,9 +384,18 @@ public SpongeCatalogRegistry registerRegistry(final Class<CatalogType> catalogCl
 
         this.registries.put(key, registry);
         this.registriesByType.put(catalogClass, registry);
+        this.indexRegistry(catalogClass, registry);
         return this;
     }
 
+    private void indexRegistry(final Class<CatalogType> catalogClass, @Nullable final Registry<CatalogType> registry) {
+        if (registry instanceof SimpleRegistry) {
+            this.indicesByType.put(catalogClass, new CatalogIndex((SimpleRegistry<CatalogType>) registry));
+        } else {
+            this.indicesByType.remove(catalogClass);
+        }
+    }
+
     private <T extends CatalogType> SpongeCatalogRegistry generateCallbackRegistry(Class<T> catalogClass, ResourceKey key, BiConsumer<ResourceLocation, T> callback) {
         Preconditions.checkNotNull(key);
 
@@ -350,6 +404,7 @@ private <T extends CatalogType> SpongeCatalogRegistry generateCallbackRegistry(C
             throw new DuplicateRegistrationException(String.format("Catalog '%s' already has a registry registered!", catalogClass));
         }
         this.registriesByType.put((Class<CatalogType>) catalogClass, registry);
+        this.indexRegistry((Class<CatalogType>) catalogClass, registry);
 
         return this;
     }
@@ -365,6 +420,7 @@ private <T extends CatalogType, U> SpongeCatalogRegistry registerMappedRegistry(
 
         this.registries.put(key, (Registry<CatalogType>) registry);
         this.registriesByType.put((Class<CatalogType>) catalogClass, (Registry<CatalogType>) registry);
+        this.indexRegistry((Class<CatalogType>) catalogClass, (Registry<CatalogType>) registry);
 
         if (defaultsSupplier != null) {
             defaultsSupplier.get().forEach(kv -> {
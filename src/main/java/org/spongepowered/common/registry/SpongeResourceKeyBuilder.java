@@ -62,6 +62,12 @@ public ResourceKey.Builder value(String value) {
     @Override
     public ResourceKey build() throws IllegalStateException {
         checkState(this.value != null, "Value cannot be empty");
+        // Keys of registered catalog types are interned, skip validating and allocating those
+        final ResourceKey interned = this.namespace != null ? ResourceKeyCache.get(this.namespace, this.value) : ResourceKeyCache.get(this.value);
+        if (interned != null) {
+            return interned;
+        }
+
         if (this.namespace != null) {
             try {
                 final ResourceLocation resourceLocation = new ResourceLocation(this.namespace, this.value);
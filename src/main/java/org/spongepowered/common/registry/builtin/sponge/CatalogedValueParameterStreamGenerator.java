@@ -97,20 +97,20 @@ public static Stream<CatalogedValueParameter<?>> stream() {
                 new SpongeTargetBlockValueParameter(),
                 new SpongeTargetEntityValueParameter(false),
                 new SpongeTargetEntityValueParameter(true),
-                StandardCatalogedArgumentParser.createConverter(
+                StandardCatalogedArgumentParser.createThreadSafeConverter(
                         "text_formatting_code",
                         StringArgumentType.string(),
                         (reader, cause, result) -> TextSerializers.FORMATTING_CODE.get().deserialize(result)),
-                StandardCatalogedArgumentParser.createConverter(
+                StandardCatalogedArgumentParser.createThreadSafeConverter(
                         "text_formatting_code_all",
                         StringArgumentType.greedyString(),
                         (reader, cause, result) -> TextSerializers.FORMATTING_CODE.get().deserialize(result)),
                 StandardCatalogedArgumentParser.createCast("text_json", ComponentArgument.component(), Text.class),
-                StandardCatalogedArgumentParser.createConverter(
+                StandardCatalogedArgumentParser.createThreadSafeConverter(
                         "text_json_all",
                         StringArgumentType.greedyString(),
                         (reader, cause, result) -> TextSerializers.JSON.get().deserialize(result)),
-                StandardCatalogedArgumentParser.createConverter("url", StringArgumentType.string(),
+                StandardCatalogedArgumentParser.createThreadSafeConverter("url", StringArgumentType.string(),
                         (reader, cause, input) -> {
                             try {
                                 return new URL(input);
@@ -120,7 +120,7 @@ public static Stream<CatalogedValueParameter<?>> stream() {
                             }
                         }),
                 new SpongeUserValueParameter(),
-                StandardCatalogedArgumentParser.createConverter("uuid", StringArgumentType.string(),
+                StandardCatalogedArgumentParser.createThreadSafeConverter("uuid", StringArgumentType.string(),
                         (reader, cause, input) -> {
                             try {
                                 return UUID.fromString(input);
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the timings of a single thread other than the main thread.
+ *
+ * <p>The start times and depths are only ever touched by the owning thread,
+ * the recorded counts and times are plain arrays indexed by the id of the
+ * timing, merged into the async records of the handlers on the main thread
+ * whenever a history snapshot is taken.</p>
+ */
+final class AsyncTimingRecorder {
+
+    private static final int INITIAL_SIZE = 64;
+    private static final Queue<AsyncTimingRecorder> RECORDERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<AsyncTimingRecorder> CURRENT = ThreadLocal.withInitial(() -> {
+        final AsyncTimingRecorder recorder = new AsyncTimingRecorder(Thread.currentThread());
+        AsyncTimingRecorder.RECORDERS.add(recorder);
+        return recorder;
+    });
+
+    static AsyncTimingRecorder get() {
+        return AsyncTimingRecorder.CURRENT.get();
+    }
+
+    /**
+     * Merges the timings recorded by all the threads into the async records
+     * of their handlers, called on the main thread.
+     */
+    static void mergeAll() {
+        for (final Iterator<AsyncTimingRecorder> iterator = AsyncTimingRecorder.RECORDERS.iterator(); iterator.hasNext(); ) {
+            final AsyncTimingRecorder recorder = iterator.next();
+            recorder.merge(true);
+            if (!recorder.isThreadAlive()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Discards the timings recorded by all the threads.
+     */
+    static void discardAll() {
+        for (final Iterator<AsyncTimingRecorder> iterator = AsyncTimingRecorder.RECORDERS.iterator(); iterator.hasNext(); ) {
+            final AsyncTimingRecorder recorder = iterator.next();
+            recorder.merge(false);
+            if (!recorder.isThreadAlive()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private final WeakReference<Thread> thread;
+
+    // Only accessed by the owning thread
+    private long[] starts = new long[AsyncTimingRecorder.INITIAL_SIZE];
+    private int[] depths = new int[AsyncTimingRecorder.INITIAL_SIZE];
+
+    // Guarded by this
+    private TimingHandler[] handlers = new TimingHandler[AsyncTimingRecorder.INITIAL_SIZE];
+    private long[] times = new long[AsyncTimingRecorder.INITIAL_SIZE];
+    private int[] counts = new int[AsyncTimingRecorder.INITIAL_SIZE];
+    private int maxId;
+
+    private AsyncTimingRecorder(final Thread thread) {
+        this.thread = new WeakReference<>(thread);
+    }
+
+    void start(final TimingHandler handler) {
+        final int id = handler.id;
+        if (id >= this.depths.length) {
+            final int length = Math.max(id + 1, this.depths.length * 2);
+            this.starts = Arrays.copyOf(this.starts, length);
+            this.depths = Arrays.copyOf(this.depths, length);
+        }
+        if (this.depths[id]++ == 0) {
+            this.starts[id] = System.nanoTime();
+        }
+    }
+
+    void stop(final TimingHandler handler) {
+        final int id = handler.id;
+        if (id >= this.depths.length || this.depths[id] == 0) {
+            return;
+        }
+        if (--this.depths[id] != 0) {
+            return;
+        }
+        final long diff = System.nanoTime() - this.starts[id];
+        synchronized (this) {
+            if (id >= this.times.length) {
+                final int length = Math.max(id + 1, this.times.length * 2);
+                this.handlers = Arrays.copyOf(this.handlers, length);
+                this.times = Arrays.copyOf(this.times, length);
+                this.counts = Arrays.copyOf(this.counts, length);
+            }
+            this.handlers[id] = handler;
+            this.times[id] += diff;
+            this.counts[id]++;
+            if (id > this.maxId) {
+                this.maxId = id;
+            }
+        }
+    }
+
+    void abort(final TimingHandler handler) {
+        final int id = handler.id;
+        if (id < this.depths.length) {
+            this.depths[id] = 0;
+        }
+    }
+
+    private synchronized void merge(final boolean keep) {
+        for (int id = 0; id <= this.maxId; id++) {
+            final int count = this.counts[id];
+            if (count == 0) {
+                continue;
+            }
+            if (keep) {
+                final TimingHandler handler = this.handlers[id];
+                handler.asyncRecord.addTotal(count, this.times[id]);
+                handler.timed = true;
+                TimingsManager.ASYNC_HANDLERS.add(handler);
+            }
+            this.counts[id] = 0;
+            this.times[id] = 0;
+        }
+    }
+
+    private boolean isThreadAlive() {
+        final Thread thread = this.thread.get();
+        return thread != null && thread.isAlive();
+    }
+}
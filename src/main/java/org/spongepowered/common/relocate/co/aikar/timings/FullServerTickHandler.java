@@ -37,7 +37,9 @@ public class FullServerTickHandler extends TimingHandler {
         super(IDENTITY);
         this.minuteData = new TimingData(this.id);
 
-        TimingsManager.TIMING_MAP.put(IDENTITY, this);
+        synchronized (TimingsManager.TIMING_MAP) {
+            TimingsManager.TIMING_MAP.put(IDENTITY, this);
+        }
     }
 
     @Override
@@ -68,6 +68,18 @@ void add(long diff) {
         this.curTickTotal += diff;
     }
 
+    /**
+     * Adds timings that were recorded outside of the tick loop straight to
+     * the totals.
+     *
+     * @param count The amount of times
+     * @param time The total time
+     */
+    void addTotal(int count, long time) {
+        this.count += count;
+        this.totalTime += time;
+    }
+
     void processTick(boolean violated) {
         this.totalTime += this.curTickTotal;
         this.count += this.curTickCount;
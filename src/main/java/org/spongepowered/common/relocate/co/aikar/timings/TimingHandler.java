@@ -27,7 +27,6 @@
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.relocate.co.aikar.util.LoadingIntMap;
@@ -43,6 +42,8 @@ class TimingHandler implements Timing {
     final Int2ObjectOpenHashMap<TimingData> children = new LoadingIntMap<>(TimingData::new);
 
     final TimingData record;
+    // Timings recorded off the main thread, see AsyncTimingRecorder
+    final TimingData asyncRecord;
     private final TimingHandler groupHandler;
 
     private long start = 0;
@@ -62,6 +63,7 @@ class TimingHandler implements Timing {
         }
 
         this.record = new TimingData(this.id);
+        this.asyncRecord = new TimingData(this.id);
         this.groupHandler = id.groupHandler;
 
         TimingIdentifier.getGroup(id.group).handlers.add(this);
@@ -91,8 +93,10 @@ public void startTimingIfSync() {
             return;
         }
 
-        if (Sponge.isServerAvailable() && SpongeCommon.getServer().isOnExecutionThread()) {
+        if (SpongeImplHooks.onServerThread()) {
             this.startTiming();
+        } else {
+            AsyncTimingRecorder.get().start(this);
         }
     }
 
@@ -104,6 +108,8 @@ public void stopTimingIfSync() {
 
         if (SpongeImplHooks.onServerThread()) {
             this.stopTiming();
+        } else {
+            AsyncTimingRecorder.get().stop(this);
         }
     }
 
@@ -141,7 +147,12 @@ public void stopTiming() {
 
     @Override
     public void abort() {
-        if (this.enabled && this.timingDepth > 0) {
+        if (!this.enabled) {
+            return;
+        }
+        if (!SpongeImplHooks.onServerThread()) {
+            AsyncTimingRecorder.get().abort(this);
+        } else if (this.timingDepth > 0) {
             this.start = 0;
         }
     }
@@ -172,6 +183,7 @@ void addDiff(long diff) {
      */
     void reset(boolean full) {
         this.record.reset();
+        this.asyncRecord.reset();
         if (full) {
             this.timed = false;
         }
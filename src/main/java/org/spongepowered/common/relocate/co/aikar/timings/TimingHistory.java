@@ -60,6 +60,8 @@ public class TimingHistory {
     final MinuteReport[] minuteReports;
 
     final TimingHistoryEntry[] entries;
+    // Timings recorded off the main thread, reported separately as they don't count towards the tick
+    final TimingHistoryEntry[] asyncEntries;
     final Set<BlockEntityType> tileEntityTypeSet = Sets.newHashSet();
     final Set<EntityType<?>> entityTypeSet = Sets.newHashSet();
 //    final JsonObject worlds;
@@ -86,6 +88,13 @@ public class TimingHistory {
             this.entries[i++] = new TimingHistoryEntry(handler);
         }
 
+        AsyncTimingRecorder.mergeAll();
+        this.asyncEntries = new TimingHistoryEntry[TimingsManager.ASYNC_HANDLERS.size()];
+        i = 0;
+        for (TimingHandler handler : TimingsManager.ASYNC_HANDLERS) {
+            this.asyncEntries[i++] = new TimingHistoryEntry(handler.asyncRecord);
+        }
+
         // Information about all loaded chunks/entities
 //        this.worlds = JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorldManager().getWorlds(), (world) -> {
 //            Map<RegionId, RegionData> regions = LoadingMap.newHashMap(RegionData.LOADER);
@@ -206,6 +215,7 @@ JsonObject export() {
                 .add("tm", this.totalTime)
 //                .add("w", this.worlds)
                 .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
+                .add("ah", JSONUtil.mapArray(this.asyncEntries, (entry) -> entry.data.count == 0 ? null : entry.export()))
                 .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
                 .build();
     }
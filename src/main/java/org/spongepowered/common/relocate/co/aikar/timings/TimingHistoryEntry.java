@@ -32,6 +32,11 @@ class TimingHistoryEntry {
     final TimingData data;
     final TimingData[] children;
 
+    TimingHistoryEntry(TimingData data) {
+        this.data = data.clone();
+        this.children = new TimingData[0];
+    }
+
     TimingHistoryEntry(TimingHandler handler) {
         this.data = handler.record.clone();
         this.children = new TimingData[handler.children.size()];
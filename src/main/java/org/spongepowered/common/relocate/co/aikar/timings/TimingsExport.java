@@ -158,14 +158,17 @@ static void reportTimings() {
         entityTypeSet.addAll(history[i].entityTypeSet);
 
         JsonObjectBuilder handlersBuilder = JSONUtil.objectBuilder();
-        for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
-            for (TimingHandler id : group.handlers) {
-                if (!id.timed && !id.isSpecial()) {
-                    continue;
+        // Handlers may be created off the main thread while holding the lock of the timing map
+        synchronized (TimingsManager.TIMING_MAP) {
+            for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
+                for (TimingHandler id : group.handlers) {
+                    if (!id.timed && !id.isSpecial()) {
+                        continue;
+                    }
+                    handlersBuilder.add(id.id, JSONUtil.arrayOf(
+                            group.id,
+                            id.name));
                 }
-                handlersBuilder.add(id.id, JSONUtil.arrayOf(
-                        group.id,
-                        id.name));
             }
         }
 
@@ -29,21 +29,22 @@
 import com.google.common.collect.EvictingQueue;
 import org.spongepowered.api.command.manager.CommandMapping;
 import org.spongepowered.common.SpongeCommon;
-import org.spongepowered.common.relocate.co.aikar.util.LoadingMap;
 import org.spongepowered.plugin.PluginContainer;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class TimingsManager {
 
-    static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = Collections.synchronizedMap(
-            LoadingMap.newHashMap((id) -> (id.protect ? new UnsafeTimingHandler(id) : new TimingHandler(id)), 256, .5F));
+    // Handlers are looked up from any thread, but only ever created while holding the lock of the map
+    static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = new ConcurrentHashMap<>(256, .5F);
     public static final FullServerTickHandler FULL_SERVER_TICK = new FullServerTickHandler();
     public static final TimingHandler TIMINGS_TICK = SpongeTimingsFactory.ofSafe("Timings Tick", FULL_SERVER_TICK);
     public static final Timing DATA_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Data");
@@ -55,6 +56,7 @@ public final class TimingsManager {
     public static boolean privacy = false;
 
     static final Collection<TimingHandler> HANDLERS = new ArrayDeque<>();
+    static final Set<TimingHandler> ASYNC_HANDLERS = new LinkedHashSet<>();
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
 
     static EvictingQueue<TimingHistory> HISTORY = EvictingQueue.create(12);
@@ -101,10 +103,8 @@ static void stopServer() {
     }
 
     static void recheckEnabled() {
-        synchronized (TIMING_MAP) {
-            for (TimingHandler timings : TIMING_MAP.values()) {
-                timings.checkEnabled();
-            }
+        for (TimingHandler timings : TIMING_MAP.values()) {
+            timings.checkEnabled();
         }
         needsRecheckEnabled = false;
     }
@@ -112,11 +112,8 @@ static void recheckEnabled() {
     static void resetTimings() {
         if (needsFullReset) {
             // Full resets need to re-check every handlers enabled state
-            // Timing map can be modified from async so we must sync on it.
-            synchronized (TIMING_MAP) {
-                for (TimingHandler timings : TIMING_MAP.values()) {
-                    timings.reset(true);
-                }
+            for (TimingHandler timings : TIMING_MAP.values()) {
+                timings.reset(true);
             }
             if (timingStart != 0) {
                 SpongeCommon.getLogger().info("Timings reset");
@@ -133,7 +130,14 @@ static void resetTimings() {
             }
         }
 
+        // Whatever was recorded off the main thread since the last merge belongs to the previous history
+        AsyncTimingRecorder.discardAll();
+        for (TimingHandler timings : ASYNC_HANDLERS) {
+            timings.asyncRecord.reset();
+        }
+
         HANDLERS.clear();
+        ASYNC_HANDLERS.clear();
         MINUTE_REPORTS.clear();
 
         TimingHistory.resetTicks(true);
@@ -141,7 +145,15 @@ static void resetTimings() {
     }
 
     static TimingHandler getHandler(String group, String name, Timing parent, boolean protect) {
-        return TIMING_MAP.get(new TimingIdentifier(group, name, parent, protect));
+        final TimingIdentifier id = new TimingIdentifier(group, name, parent, protect);
+        final TimingHandler handler = TIMING_MAP.get(id);
+        if (handler != null) {
+            return handler;
+        }
+        // Creating a handler registers it in its group, which isn't thread safe
+        synchronized (TIMING_MAP) {
+            return TIMING_MAP.computeIfAbsent(id, key -> key.protect ? new UnsafeTimingHandler(key) : new TimingHandler(key));
+        }
     }
 
     // TODO Revise this
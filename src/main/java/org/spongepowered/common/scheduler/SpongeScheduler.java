@@ -125,6 +125,15 @@ public Set<ScheduledTask> getTasksByName(String pattern) {
         return matchingTasks;
     }
 
+    /**
+     * Gets the amount of pending and running tasks.
+     *
+     * @return The amount of tasks
+     */
+    public int getTaskCount() {
+        return this.taskMap.size();
+    }
+
     @Override
     public Set<ScheduledTask> getTasks() {
         synchronized (this.taskMap) {
@@ -25,6 +25,9 @@
 package org.spongepowered.common.service.permission;
 
 import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.ints.Int2BooleanMap;
+import it.unimi.dsi.fastutil.ints.Int2BooleanMaps;
+import it.unimi.dsi.fastutil.ints.Int2BooleanOpenHashMap;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
@@ -38,6 +41,15 @@
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    /**
+     * The global permissions of this data, keyed by {@link PermissionNodeTrie}
+     * node id. Writes are rare compared to lookups, so the map is replaced as
+     * a whole on every change and read without locking. Changes are made
+     * while holding the lock of this data, together with the change of the
+     * raw permissions they are compiled from.
+     */
+    private volatile Int2BooleanMap compiledPermissions = Int2BooleanMaps.EMPTY_MAP;
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      */
@@ -51,21 +63,91 @@ public Map<Set<Context>, List<SubjectReference>> getAllParents() {
     }
 
     @Override
-    public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String permission, Tristate value) {
+    public synchronized CompletableFuture<Boolean> setPermission(Set<Context> contexts, String permission, Tristate value) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.setPermission(contexts, permission, value);
+        final CompletableFuture<Boolean> result = super.setPermission(contexts, permission, value);
+        if (value != Tristate.UNDEFINED) {
+            this.compilePermission(PermissionNodeTrie.intern(permission), value);
+        } else {
+            // Unsetting a permission must not intern it, it can only be compiled if it was interned before
+            final PermissionNodeTrie.Node node = PermissionNodeTrie.getIfPresent(permission);
+            if (node != null) {
+                this.compilePermission(node, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> clearPermissions() {
+        this.clearCompiledPermissions();
+        return super.clearPermissions();
     }
 
     @Override
-    public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
+    public synchronized CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
+        this.clearCompiledPermissions();
         return super.clearPermissions(contexts);
     }
 
+    /**
+     * Resolves the value of a permission against the global permissions of
+     * this data, the most specific assigned node winning.
+     *
+     * @param node The compiled permission node
+     * @return The value, or {@link Tristate#UNDEFINED} if no parent node is set
+     */
+    public Tristate getCompiledPermissionValue(PermissionNodeTrie.Node node) {
+        final Int2BooleanMap permissions = this.compiledPermissions;
+        if (permissions.isEmpty()) {
+            return Tristate.UNDEFINED;
+        }
+        for (PermissionNodeTrie.Node current = node; current != null; current = current.getParent()) {
+            if (permissions.containsKey(current.getId())) {
+                return Tristate.fromBoolean(permissions.get(current.getId()));
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
+    /**
+     * Gets the value assigned directly to the given node, ignoring parents.
+     *
+     * @param node The compiled permission node
+     * @return The value, or {@link Tristate#UNDEFINED} if the node is not set
+     */
+    Tristate getAssignedPermissionValue(PermissionNodeTrie.Node node) {
+        final Int2BooleanMap permissions = this.compiledPermissions;
+        return permissions.containsKey(node.getId()) ? Tristate.fromBoolean(permissions.get(node.getId())) : Tristate.UNDEFINED;
+    }
+
+    private void compilePermission(PermissionNodeTrie.Node node, Tristate value) {
+        final Int2BooleanMap permissions = new Int2BooleanOpenHashMap(this.compiledPermissions);
+        if (value == Tristate.UNDEFINED) {
+            permissions.remove(node.getId());
+            node.removeHolder(this);
+        } else {
+            permissions.put(node.getId(), value.asBoolean());
+            node.addHolder(this);
+        }
+        this.compiledPermissions = permissions.isEmpty() ? Int2BooleanMaps.EMPTY_MAP : Int2BooleanMaps.unmodifiable(permissions);
+    }
+
+    private void clearCompiledPermissions() {
+        for (String permission : this.getPermissions(GLOBAL_CONTEXT).keySet()) {
+            final PermissionNodeTrie.Node node = PermissionNodeTrie.getIfPresent(permission);
+            if (node != null) {
+                node.removeHolder(this);
+            }
+        }
+        this.compiledPermissions = Int2BooleanMaps.EMPTY_MAP;
+    }
+
     @Override
     public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectReference parent) {
         if (!contexts.isEmpty()) {
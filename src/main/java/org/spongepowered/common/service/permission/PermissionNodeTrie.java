@@ -0,0 +1,220 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * A shared, interned trie of permission nodes.
+ *
+ * <p>Every dotted permission string is compiled once into a {@link Node}
+ * holding a dense integer id and a link to its parent node, so subject data
+ * can store permissions keyed by id and resolve inheritance by walking parent
+ * links instead of splitting strings on every query. A trailing {@code *}
+ * segment is treated as its parent node, so {@code a.b.*} and {@code a.b}
+ * grant the same set of permissions.</p>
+ *
+ * <p>Each node also keeps a weak reverse index of the subject data that have
+ * a value assigned to it, which allows collections to answer
+ * {@code getAllWithPermission} without visiting every subject.</p>
+ */
+public final class PermissionNodeTrie {
+
+    private static final String WILDCARD = "*";
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final Node ROOT = new Node(NEXT_ID.getAndIncrement(), "", null);
+    private static final ConcurrentMap<String, Node> NODES = new ConcurrentHashMap<>();
+
+    static {
+        PermissionNodeTrie.NODES.put(PermissionNodeTrie.ROOT.permission, PermissionNodeTrie.ROOT);
+    }
+
+    private PermissionNodeTrie() {
+    }
+
+    /**
+     * Gets the root node, which every other node inherits from.
+     *
+     * @return The root node
+     */
+    public static Node root() {
+        return PermissionNodeTrie.ROOT;
+    }
+
+    /**
+     * Gets the interned node for the given permission, creating it and any
+     * missing parents if it has not been seen before.
+     *
+     * <p>Nodes are never released, so this should only be called when a
+     * value is actually assigned to the permission. Queries should go through
+     * {@link #lookup(String)} instead.</p>
+     *
+     * @param permission The permission
+     * @return The node
+     */
+    public static Node intern(final String permission) {
+        final String normalized = PermissionNodeTrie.normalize(permission);
+        final Node existing = PermissionNodeTrie.NODES.get(normalized);
+        if (existing != null) {
+            return existing;
+        }
+        // Parents are interned first and outside of any map computation, ids lost to a race are simply skipped
+        final int separator = normalized.lastIndexOf('.');
+        final Node parent = separator < 0 ? PermissionNodeTrie.ROOT : PermissionNodeTrie.intern(normalized.substring(0, separator));
+        final Node created = new Node(PermissionNodeTrie.NEXT_ID.getAndIncrement(), normalized, parent);
+        final Node raced = PermissionNodeTrie.NODES.putIfAbsent(normalized, created);
+        return raced == null ? created : raced;
+    }
+
+    /**
+     * Gets the already interned node for the given permission, if any.
+     *
+     * @param permission The permission
+     * @return The node, or null if the permission was never interned
+     */
+    @Nullable
+    public static Node getIfPresent(final String permission) {
+        return PermissionNodeTrie.NODES.get(PermissionNodeTrie.normalize(permission));
+    }
+
+    /**
+     * Gets the node for the given permission if it was interned, or else
+     * its nearest interned ancestor, without creating any node.
+     *
+     * <p>A node that was never interned can't have a value assigned, so
+     * resolving from its nearest ancestor gives the same result.</p>
+     *
+     * @param permission The permission
+     * @return The node, or its nearest interned ancestor
+     */
+    public static Node lookup(final String permission) {
+        String current = PermissionNodeTrie.normalize(permission);
+        while (true) {
+            final Node node = PermissionNodeTrie.NODES.get(current);
+            if (node != null) {
+                return node;
+            }
+            final int separator = current.lastIndexOf('.');
+            if (separator < 0) {
+                return PermissionNodeTrie.ROOT;
+            }
+            current = current.substring(0, separator);
+        }
+    }
+
+    /**
+     * Gets the number of ids handed out so far, usable as an upper bound
+     * when sizing id-indexed structures.
+     *
+     * @return The id bound
+     */
+    public static int idBound() {
+        return PermissionNodeTrie.NEXT_ID.get();
+    }
+
+    private static String normalize(final String permission) {
+        String normalized = permission.toLowerCase(Locale.ROOT);
+        if (normalized.equals(PermissionNodeTrie.WILDCARD)) {
+            return "";
+        }
+        while (normalized.endsWith("." + PermissionNodeTrie.WILDCARD)) {
+            normalized = normalized.substring(0, normalized.length() - 2);
+        }
+        return normalized;
+    }
+
+    public static final class Node {
+
+        private final int id;
+        private final String permission;
+        @Nullable private final Node parent;
+        private final int depth;
+        private final Set<GlobalMemorySubjectData> holders = Collections.newSetFromMap(new WeakHashMap<>());
+
+        Node(final int id, final String permission, @Nullable final Node parent) {
+            this.id = id;
+            this.permission = permission;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getPermission() {
+            return this.permission;
+        }
+
+        @Nullable
+        public Node getParent() {
+            return this.parent;
+        }
+
+        public int getDepth() {
+            return this.depth;
+        }
+
+        void addHolder(final GlobalMemorySubjectData data) {
+            synchronized (this.holders) {
+                this.holders.add(data);
+            }
+        }
+
+        void removeHolder(final GlobalMemorySubjectData data) {
+            synchronized (this.holders) {
+                this.holders.remove(data);
+            }
+        }
+
+        /**
+         * Gets a snapshot of the subject data that currently have a value
+         * assigned directly to this node.
+         *
+         * @return The holders
+         */
+        List<GlobalMemorySubjectData> getHolders() {
+            synchronized (this.holders) {
+                return new ArrayList<>(this.holders);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.permission.isEmpty() ? PermissionNodeTrie.WILDCARD : this.permission;
+        }
+    }
+}
@@ -64,7 +64,12 @@ public Tristate getPermissionValue(Set<Context> contexts, String permission) {
     }
 
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        Tristate res;
+        if (subject instanceof GlobalMemorySubjectData) {
+            res = ((GlobalMemorySubjectData) subject).getCompiledPermissionValue(PermissionNodeTrie.lookup(permission));
+        } else {
+            res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        }
 
         if (res == Tristate.UNDEFINED) {
             for (SubjectReference parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
@@ -39,7 +39,6 @@
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 public abstract class SpongeSubjectCollection implements SubjectCollection {
     private final String identifier;
@@ -119,22 +118,42 @@ public Map<Subject, Boolean> getLoadedWithPermission(Set<Context> contexts, Stri
 
     @Override
     public CompletableFuture<Map<SubjectReference, Boolean>> getAllWithPermission(String permission) {
-        return CompletableFuture.completedFuture(this.getLoadedWithPermission(permission).entrySet().stream()
-                .collect(Collectors.toMap(
-                        e -> e.getKey().asSubjectReference(),
-                        Map.Entry::getValue)
-                )
-        );
+        return CompletableFuture.completedFuture(this.getAssignedWithPermission(permission));
     }
 
     @Override
     public CompletableFuture<Map<SubjectReference, Boolean>> getAllWithPermission(Set<Context> contexts, String permission) {
-        return CompletableFuture.completedFuture(this.getLoadedWithPermission(contexts, permission).entrySet().stream()
-                .collect(Collectors.toMap(
-                        e -> e.getKey().asSubjectReference(),
-                        Map.Entry::getValue)
-                )
-        );
+        // Only global permissions are stored, and those apply in every context
+        return CompletableFuture.completedFuture(this.getAssignedWithPermission(permission));
+    }
+
+    /**
+     * Collects the subjects of this collection that have the permission, or
+     * one of its parent nodes, assigned directly. Only the subject data that
+     * hold one of those nodes are visited, through the reverse index kept by
+     * {@link PermissionNodeTrie}.
+     *
+     * @param permission The permission
+     * @return The subjects and their assigned value
+     */
+    private Map<SubjectReference, Boolean> getAssignedWithPermission(String permission) {
+        final PermissionNodeTrie.Node node = PermissionNodeTrie.lookup(permission);
+        final Map<String, Boolean> values = new HashMap<>();
+        for (PermissionNodeTrie.Node current = node; current != null; current = current.getParent()) {
+            for (GlobalMemorySubjectData data : current.getHolders()) {
+                final Subject subject = data.getSubject();
+                if (subject.getContainingCollection() != this || values.containsKey(subject.getIdentifier())) {
+                    continue;
+                }
+                final Tristate state = data.getCompiledPermissionValue(node);
+                if (state != Tristate.UNDEFINED) {
+                    values.put(subject.getIdentifier(), state.asBoolean());
+                }
+            }
+        }
+        final Map<SubjectReference, Boolean> ret = new HashMap<>();
+        values.forEach((identifier, value) -> ret.put(this.newSubjectReference(identifier), value));
+        return Collections.unmodifiableMap(ret);
     }
 
     @Override
@@ -27,7 +27,7 @@
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.BanEntry;
@@ -53,19 +53,32 @@
 import org.spongepowered.common.world.server.SpongeWorldManager;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
 
 final class UserDiscoverer {
 
+    private static final int NAME_INDEX_BATCH_SIZE = 512;
+
     private final Server server;
     private final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
             .expireAfterAccess(1, TimeUnit.DAYS)
@@ -79,7 +92,20 @@ final class UserDiscoverer {
             .build();
 
     // If a user doesn't exist, we should not put it into the cache, instead, we track it here.
-    private final Set<UUID> nonExistentUsers = new HashSet<>();
+    // This is touched by the background loader as well, so it needs to be concurrent.
+    private final Set<UUID> nonExistentUsers = ConcurrentHashMap.newKeySet();
+
+    // Lower cased names of every profile we know of, sorted so that prefix matching
+    // is a sub map view rather than a scan over every known profile. A name can be
+    // shared by several profiles, so it maps to the ids last seen with that name.
+    private final NavigableMap<String, Set<UUID>> profileIdsByName = new ConcurrentSkipListMap<>();
+    private final Map<UUID, org.spongepowered.api.profile.GameProfile> indexedProfiles = new ConcurrentHashMap<>();
+    private final AtomicBoolean profilesByNameSeeding = new AtomicBoolean();
+    private volatile boolean profilesByNameBuilt;
+
+    // Lists the player data directory away from the main thread while seeding the name index.
+    private final ExecutorService loaderExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Loader").setDaemon(true).build());
 
     public UserDiscoverer(Server server) {
         this.server = server;
@@ -92,6 +118,8 @@ User create(final GameProfile profile) {
             userByNameCache.put(profile.getName(), user);
         }
         nonExistentUsers.remove(profile.getId());
+        this.indexProfile((org.spongepowered.api.profile.GameProfile) profile);
+        this.seedNameIndex();
         return user;
     }
 
@@ -147,8 +175,7 @@ User findByUsername(final String username) {
 
         // check mojang cache
         final PlayerProfileCache cache = ((MinecraftServer) this.server).getPlayerProfileCache();
-        final HashSet<String> names = Sets.newHashSet(((PlayerProfileCacheAccessor) cache).accessor$getUsernameToProfileEntryMap().keySet());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
+        if (((PlayerProfileCacheAccessor) cache).accessor$getUsernameToProfileEntryMap().containsKey(username.toLowerCase(Locale.ROOT))) {
             final GameProfile profile = cache.getGameProfileForUsername(username);
             if (profile != null) {
                 return findByProfile((org.spongepowered.api.profile.GameProfile) profile);
@@ -183,19 +210,8 @@ Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         final String[] uuids = saveHandler.func_215771_d();
         final PlayerProfileCache profileCache = ((MinecraftServer) this.server).getPlayerProfileCache();
         for (final String playerUuid : uuids) {
-
-            // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
-            // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
-            if (playerUuid.contains(".")) {
-                continue;
-            }
-
-            // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
-            // any filenames that fail the UUID check.
-            final UUID uuid;
-            try {
-                uuid = UUID.fromString(playerUuid);
-            } catch (Exception ex) {
+            final UUID uuid = UserDiscoverer.parseStoredId(playerUuid);
+            if (uuid == null) {
                 continue;
             }
 
@@ -215,10 +231,206 @@ Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         //
         // See https://github.com/SpongePowered/SpongeCommon/issues/1989
         this.addToProfiles(((UserListAccessor<GameProfile, WhitelistEntry>) playerList.getWhitelistedPlayers()).accessor$getValues().values(), profiles, profileCache);
-        this.addToProfiles(((UserListAccessor<GameProfile, WhitelistEntry>) playerList.getWhitelistedPlayers()).accessor$getValues().values(), profiles, profileCache);
+        this.addToProfiles(((UserListAccessor<GameProfile, BanEntry<GameProfile>>) playerList.getBannedPlayers()).accessor$getValues().values(), profiles, profileCache);
+
+        profiles.values().forEach(this::indexProfile);
+        this.profilesByNameBuilt = true;
         return profiles.values();
     }
 
+    /**
+     * Gets all known profiles whose last known name starts with the given,
+     * lower cased, prefix. The index is seeded in the background once the
+     * first user is created or the first match is requested, and kept up to
+     * date as users are created afterwards. Until the seed completes, only
+     * the profiles indexed so far are matched.
+     *
+     * @param lowerCasePrefix The lower cased name prefix
+     * @return The matching profiles
+     */
+    Collection<org.spongepowered.api.profile.GameProfile> matchByName(final String lowerCasePrefix) {
+        if (!this.profilesByNameBuilt) {
+            this.seedNameIndex();
+        }
+        final Collection<Set<UUID>> matches = lowerCasePrefix.isEmpty()
+                ? this.profileIdsByName.values()
+                : this.profileIdsByName.subMap(lowerCasePrefix, true, lowerCasePrefix + Character.MAX_VALUE, true).values();
+        final List<org.spongepowered.api.profile.GameProfile> profiles = new ArrayList<>();
+        for (final Set<UUID> uniqueIds : matches) {
+            for (final UUID uniqueId : uniqueIds) {
+                final org.spongepowered.api.profile.GameProfile profile = this.indexedProfiles.get(uniqueId);
+                if (profile != null) {
+                    profiles.add(profile);
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Starts seeding the name index, unless it is already built or being
+     * seeded. The player data directory is listed on the background loader,
+     * the profiles are then resolved and indexed on the main thread in
+     * batches of {@link #NAME_INDEX_BATCH_SIZE}, one batch per task.
+     */
+    private void seedNameIndex() {
+        if (this.profilesByNameBuilt) {
+            return;
+        }
+        final File playersDirectory = this.getPlayersDirectory();
+        if (playersDirectory == null || this.loaderExecutor.isShutdown() || !this.profilesByNameSeeding.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture
+                .supplyAsync(() -> UserDiscoverer.listStoredIds(playersDirectory), this.loaderExecutor)
+                .thenAcceptAsync(uniqueIds -> this.seedStoredProfiles(uniqueIds, 0), (MinecraftServer) this.server)
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        this.onSeedFailed(e);
+                    }
+                });
+    }
+
+    private void seedStoredProfiles(final List<UUID> uniqueIds, final int from) {
+        if (this.profilesByNameBuilt) {
+            return;
+        }
+        final PlayerProfileCache profileCache = ((MinecraftServer) this.server).getPlayerProfileCache();
+        final int to = Math.min(uniqueIds.size(), from + UserDiscoverer.NAME_INDEX_BATCH_SIZE);
+        for (final UUID uniqueId : uniqueIds.subList(from, to)) {
+            this.nonExistentUsers.remove(uniqueId);
+            final GameProfile profile = profileCache.getProfileByUUID(uniqueId);
+            if (profile != null) {
+                this.indexProfile((org.spongepowered.api.profile.GameProfile) profile);
+            }
+        }
+        if (to < uniqueIds.size()) {
+            this.scheduleSeed(() -> this.seedStoredProfiles(uniqueIds, to));
+        } else {
+            this.scheduleSeed(() -> this.seedListedProfiles(this.getListedProfiles(), 0));
+        }
+    }
+
+    private void seedListedProfiles(final List<GameProfile> listed, final int from) {
+        if (this.profilesByNameBuilt) {
+            return;
+        }
+        final PlayerProfileCache profileCache = ((MinecraftServer) this.server).getPlayerProfileCache();
+        final int to = Math.min(listed.size(), from + UserDiscoverer.NAME_INDEX_BATCH_SIZE);
+        for (final GameProfile entry : listed.subList(from, to)) {
+            // The cache is assumed to be superior to the white and ban lists, see getAllProfiles
+            final GameProfile profile = profileCache.getProfileByUUID(entry.getId());
+            this.indexProfile((org.spongepowered.api.profile.GameProfile) (profile == null ? entry : profile));
+        }
+        if (to < listed.size()) {
+            this.scheduleSeed(() -> this.seedListedProfiles(listed, to));
+        } else {
+            this.profilesByNameBuilt = true;
+        }
+    }
+
+    private void scheduleSeed(final Runnable batch) {
+        ((MinecraftServer) this.server).execute(() -> {
+            try {
+                batch.run();
+            } catch (final RuntimeException e) {
+                this.onSeedFailed(e);
+            }
+        });
+    }
+
+    private void onSeedFailed(final Throwable e) {
+        SpongeCommon.getLogger().warn("Could not seed the user name index", e);
+        this.profilesByNameSeeding.set(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GameProfile> getListedProfiles() {
+        final PlayerList playerList = ((MinecraftServer) this.server).getPlayerList();
+        final List<GameProfile> listed = new ArrayList<>();
+        for (final WhitelistEntry entry : ((UserListAccessor<GameProfile, WhitelistEntry>) playerList.getWhitelistedPlayers()).accessor$getValues().values()) {
+            listed.add(((UserListEntryAccessor<GameProfile>) entry).accessor$getValue());
+        }
+        for (final BanEntry<GameProfile> entry : ((UserListAccessor<GameProfile, BanEntry<GameProfile>>) playerList.getBannedPlayers()).accessor$getValues().values()) {
+            listed.add(((UserListEntryAccessor<GameProfile>) entry).accessor$getValue());
+        }
+        return listed;
+    }
+
+    private static List<UUID> listStoredIds(final File playersDirectory) {
+        final String[] files = playersDirectory.list((dir, name) -> name.endsWith(".dat"));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        final List<UUID> uniqueIds = new ArrayList<>(files.length);
+        for (final String file : files) {
+            final UUID uniqueId = UserDiscoverer.parseStoredId(file.substring(0, file.length() - 4));
+            if (uniqueId != null) {
+                uniqueIds.add(uniqueId);
+            }
+        }
+        return uniqueIds;
+    }
+
+    @Nullable
+    private static UUID parseStoredId(final String playerUuid) {
+        // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
+        // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
+        if (playerUuid.contains(".")) {
+            return null;
+        }
+
+        // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
+        // any filenames that fail the UUID check.
+        try {
+            return UUID.fromString(playerUuid);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private void indexProfile(final org.spongepowered.api.profile.GameProfile profile) {
+        final UUID uniqueId = profile.getUniqueId();
+        final String name = profile.getName().map(n -> n.toLowerCase(Locale.ROOT)).orElse(null);
+        final org.spongepowered.api.profile.GameProfile previous = this.indexedProfiles.put(uniqueId, profile);
+        if (previous != null) {
+            // The profile was renamed, so its previous name must no longer match it
+            previous.getName()
+                    .map(n -> n.toLowerCase(Locale.ROOT))
+                    .filter(previousName -> !previousName.equals(name))
+                    .ifPresent(previousName -> this.unindexName(previousName, uniqueId));
+        }
+        if (name != null) {
+            this.profileIdsByName.compute(name, (key, uniqueIds) -> {
+                final Set<UUID> ids = uniqueIds == null ? ConcurrentHashMap.newKeySet() : uniqueIds;
+                ids.add(uniqueId);
+                return ids;
+            });
+        }
+    }
+
+    private void unindexProfile(final UUID uniqueId) {
+        final org.spongepowered.api.profile.GameProfile previous = this.indexedProfiles.remove(uniqueId);
+        if (previous != null) {
+            previous.getName().ifPresent(name -> this.unindexName(name.toLowerCase(Locale.ROOT), uniqueId));
+        }
+    }
+
+    private void unindexName(final String name, final UUID uniqueId) {
+        this.profileIdsByName.computeIfPresent(name, (key, uniqueIds) -> {
+            uniqueIds.remove(uniqueId);
+            return uniqueIds.isEmpty() ? null : uniqueIds;
+        });
+    }
+
+    /**
+     * Stops the background loader. A pending name index seed is abandoned,
+     * as the main thread that would complete it is stopping too.
+     */
+    void shutdown() {
+        this.loaderExecutor.shutdownNow();
+    }
+
     @SuppressWarnings("unchecked")
     private void addToProfiles(
             final Collection<? extends UserListEntry<GameProfile>> gameProfiles,
@@ -250,6 +462,9 @@ boolean delete(final UUID uniqueId) {
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
+        if (success) {
+            this.unindexProfile(uniqueId);
+        }
         return success;
     }
 
@@ -340,7 +555,8 @@ private User getFromBanlist(final UUID uniqueId) {
         return null;
     }
 
-    private File getPlayerDataFile(final UUID uniqueId) {
+    @Nullable
+    private File getPlayersDirectory() {
         // This may be called triggered by mods using FakePlayer during
         // initial world gen (before the overworld is registered). Because of
         // this, we need to check if the overworld is actually registered yet
@@ -350,8 +566,15 @@ private File getPlayerDataFile(final UUID uniqueId) {
         }
 
         // Note: Uses the overworld's player data
-        final SaveHandlerAccessor saveHandler = (SaveHandlerAccessor) world.getSaveHandler();
-        final File file = new File(saveHandler.accessor$getPlayersDirectory(), uniqueId.toString() + ".dat");
+        return ((SaveHandlerAccessor) world.getSaveHandler()).accessor$getPlayersDirectory();
+    }
+
+    private File getPlayerDataFile(final UUID uniqueId) {
+        final File playersDirectory = this.getPlayersDirectory();
+        if (playersDirectory == null) {
+            return null;
+        }
+        final File file = new File(playersDirectory, uniqueId.toString() + ".dat");
         if (file.exists()) {
             return file;
         }
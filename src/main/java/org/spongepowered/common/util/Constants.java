@@ -277,6 +277,8 @@ public static final class World {
             public static final String LEVEL_SPONGE_DAT = "level_sponge.dat";
             public static final String LEVEL_SPONGE_DAT_OLD = "level_sponge.dat_old";
             public static final String LEVEL_SPONGE_DAT_NEW = "level_sponge.dat_new";
+            public static final String LEVEL_TEMPLATE_DAT = "level_template.dat";
+            public static final String TEMPLATE_DIRECTORY = "templateDirectory";
             public static final String UNIQUE_ID = "UUID";
         }
 
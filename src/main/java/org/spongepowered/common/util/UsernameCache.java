@@ -27,109 +27,288 @@
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
 import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import org.spongepowered.api.Server;
 import org.spongepowered.common.SpongeCommon;
 import com.google.common.base.Charsets;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 
+/**
+ * Keeps the last known username of every unique id the server has seen.
+ *
+ * <p>Entries are stored as fixed size records in a memory mapped file, so
+ * adding or renaming an entry is a single record write and saving only has
+ * to flush the mapping. The in-heap footprint is limited to an open
+ * addressing table of record slots, built on first lookup, and a slot table
+ * sorted by (ASCII case insensitive) name for name and prefix searches,
+ * built on first search and kept sorted as entries change. Removed entries
+ * keep their slot with an empty name.</p>
+ *
+ * <p>The legacy {@code usernamecache.json} is imported once and then moved
+ * aside.</p>
+ */
 public final class UsernameCache {
 
     private static final Charset CHARSET = Charsets.UTF_8;
 
-    private final Map<UUID, String> usernameByUniqueId;
-    private final Gson gson;
+    private static final int MAGIC = 0x53554331; // SUC1
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int MAX_NAME_BYTES = 46;
+    private static final int RECORD_SIZE = 16 + 2 + UsernameCache.MAX_NAME_BYTES;
+    private static final int INITIAL_CAPACITY = 1024;
+
     private final Path cacheFile;
+    private final Path legacyCacheFile;
+
+    @Nullable private FileChannel channel;
+    @Nullable private ByteBuffer records;
+    private int capacity;
+    private int count;
+
+    // Open addressing table of record slot + 1, zero meaning empty. Built lazily.
+    @Nullable private int[] slotsByUniqueId;
+    // Record slots ordered by lower cased name, the first nameCount of which are in use.
+    // Built lazily, then updated in place on every change.
+    @Nullable private int[] slotsByName;
+    private int nameCount;
     private boolean dirty = false;
 
     public UsernameCache(final Server server) {
-        this.usernameByUniqueId = new ConcurrentHashMap<>();
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.cacheFile = server.getGame().getGameDirectory().resolve("usernamecache.json");
+        this.cacheFile = server.getGame().getGameDirectory().resolve("usernamecache.dat");
+        this.legacyCacheFile = server.getGame().getGameDirectory().resolve("usernamecache.json");
     }
 
-    public void setUsername(final UUID uniqueId, final String username) {
+    public synchronized void setUsername(final UUID uniqueId, final String username) {
         Preconditions.checkNotNull(uniqueId);
         Preconditions.checkNotNull(username);
 
-        if (username.equals(this.usernameByUniqueId.get(uniqueId))) {
+        final byte[] name = username.getBytes(UsernameCache.CHARSET);
+        if (name.length == 0 || name.length > UsernameCache.MAX_NAME_BYTES) {
+            SpongeCommon.getLogger().warn("Not caching username '{}' of {}, it does not fit a username record", username, uniqueId);
             return;
         }
 
-        this.usernameByUniqueId.put(uniqueId, username);
+        final ByteBuffer records = this.records();
+        int slot = this.findSlot(uniqueId);
+        if (slot >= 0) {
+            if (this.nameEquals(records, slot, name)) {
+                return;
+            }
+            this.unindexName(records, slot);
+        } else {
+            slot = this.appendRecord(uniqueId);
+        }
+        this.writeName(this.records(), slot, name);
+        this.indexName(this.records(), slot);
         this.dirty = true;
     }
 
-    public boolean removeUsername(final UUID uniqueId) {
+    public synchronized boolean removeUsername(final UUID uniqueId) {
         Preconditions.checkNotNull(uniqueId);
 
-        if (this.usernameByUniqueId.remove(uniqueId) != null) {
-            this.dirty = true;
-            return true;
+        final int slot = this.findSlot(uniqueId);
+        if (slot < 0 || this.nameLength(this.records(), slot) == 0) {
+            return false;
         }
-
-        return false;
+        this.unindexName(this.records(), slot);
+        this.records().putShort(UsernameCache.offset(slot) + 16, (short) 0);
+        this.dirty = true;
+        return true;
     }
 
     @Nullable
-    public String getLastKnownUsername(final UUID uniqueId) {
+    public synchronized String getLastKnownUsername(final UUID uniqueId) {
         Preconditions.checkNotNull(uniqueId);
 
-        return this.usernameByUniqueId.get(uniqueId);
+        final int slot = this.findSlot(uniqueId);
+        return slot < 0 ? null : this.readName(this.records(), slot);
     }
 
     @Nullable
-    public UUID getLastKnownUUID(final String username) {
+    public synchronized UUID getLastKnownUUID(final String username) {
         Preconditions.checkNotNull(username);
 
-        for (Map.Entry<UUID, String> mapEntry : this.usernameByUniqueId.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
+        final byte[] name = username.getBytes(UsernameCache.CHARSET);
+        final ByteBuffer records = this.records();
+        final int[] sorted = this.slotsByName();
+        final int i = this.lowerBound(records, sorted, name);
+        if (i < this.nameCount && UsernameCache.compareName(records, sorted[i], name, false) == 0) {
+            return this.readUniqueId(records, sorted[i]);
         }
-
         return null;
     }
 
-    public boolean containsUUID(final UUID uniqueId) {
+    /**
+     * Gets every entry whose last known username starts with the given
+     * prefix, ignoring ASCII case.
+     *
+     * @param prefix The username prefix
+     * @return The matching usernames, by unique id
+     */
+    public synchronized Map<UUID, String> getByUsernamePrefix(final String prefix) {
+        Preconditions.checkNotNull(prefix);
+
+        final byte[] name = prefix.getBytes(UsernameCache.CHARSET);
+        final ByteBuffer records = this.records();
+        final int[] sorted = this.slotsByName();
+        final Map<UUID, String> matches = new HashMap<>();
+        for (int i = this.lowerBound(records, sorted, name); i < this.nameCount; i++) {
+            if (UsernameCache.compareName(records, sorted[i], name, true) != 0) {
+                break;
+            }
+            matches.put(this.readUniqueId(records, sorted[i]), this.readName(records, sorted[i]));
+        }
+        return matches;
+    }
+
+    public synchronized boolean containsUUID(final UUID uniqueId) {
         Preconditions.checkNotNull(uniqueId);
 
-        return this.usernameByUniqueId.containsKey(uniqueId);
+        final int slot = this.findSlot(uniqueId);
+        return slot >= 0 && this.nameLength(this.records(), slot) != 0;
     }
 
-    public Map<UUID, String> getAll() {
-        return Collections.unmodifiableMap(this.usernameByUniqueId);
+    public synchronized Map<UUID, String> getAll() {
+        final ByteBuffer records = this.records();
+        final Map<UUID, String> all = new HashMap<>();
+        for (int slot = 0; slot < this.count; slot++) {
+            final String name = this.readName(records, slot);
+            if (name != null) {
+                all.put(this.readUniqueId(records, slot), name);
+            }
+        }
+        return Collections.unmodifiableMap(all);
     }
 
-    public void load() {
-        this.usernameByUniqueId.clear();
+    public synchronized void load() {
+        this.close();
+
+        try {
+            final boolean importLegacy = Files.notExists(this.cacheFile) && Files.exists(this.legacyCacheFile);
+            this.open();
+            if (importLegacy) {
+                this.importLegacyCacheFile();
+            }
+        } catch (final IOException | RuntimeException e) {
+            SpongeCommon.getLogger().error("Failed to read username cache file from disk, deleting file", e);
+            this.close();
+            this.deleteCacheFile();
+            this.openInMemory();
+        }
+    }
 
-        if (Files.notExists(cacheFile)) {
+    public synchronized void save() {
+        if (!this.dirty) {
             return;
         }
 
-        try (final BufferedReader reader = Files.newBufferedReader(this.cacheFile, UsernameCache.CHARSET)) {
+        if (this.records instanceof MappedByteBuffer) {
+            try {
+                ((MappedByteBuffer) this.records).force();
+            } catch (final RuntimeException e) {
+                SpongeCommon.getLogger().error("Failed to save username cache to file!", e);
+                return;
+            }
+        }
+        this.dirty = false;
+    }
+
+    private ByteBuffer records() {
+        if (this.records == null) {
+            this.load();
+        }
+        return this.records;
+    }
+
+    private void open() throws IOException {
+        final FileChannel channel = FileChannel.open(this.cacheFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel = channel;
+        if (channel.size() < UsernameCache.HEADER_SIZE) {
+            this.capacity = UsernameCache.INITIAL_CAPACITY;
+            this.records = channel.map(FileChannel.MapMode.READ_WRITE, 0, UsernameCache.offset(this.capacity));
+            this.records.putInt(0, UsernameCache.MAGIC);
+            this.records.putInt(4, UsernameCache.VERSION);
+            this.records.putInt(UsernameCache.COUNT_OFFSET, 0);
+            this.count = 0;
+            return;
+        }
+
+        this.capacity = (int) ((channel.size() - UsernameCache.HEADER_SIZE) / UsernameCache.RECORD_SIZE);
+        this.records = channel.map(FileChannel.MapMode.READ_WRITE, 0, UsernameCache.offset(this.capacity));
+        if (this.records.getInt(0) != UsernameCache.MAGIC || this.records.getInt(4) != UsernameCache.VERSION) {
+            throw new IOException("Unrecognized username cache file format");
+        }
+        this.count = this.records.getInt(UsernameCache.COUNT_OFFSET);
+        if (this.count < 0 || this.count > this.capacity) {
+            throw new IOException("Username cache file is truncated, expected " + this.count + " records");
+        }
+    }
+
+    private void openInMemory() {
+        this.capacity = UsernameCache.INITIAL_CAPACITY;
+        this.records = ByteBuffer.allocate(UsernameCache.offset(this.capacity));
+        this.count = 0;
+    }
+
+    /**
+     * Saves the cache and closes the file backing it, called when the server
+     * stops. The file is opened again if the cache is used afterwards.
+     */
+    public synchronized void close() {
+        this.save();
+        this.records = null;
+        this.slotsByUniqueId = null;
+        this.slotsByName = null;
+        this.nameCount = 0;
+        this.count = 0;
+        this.capacity = 0;
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to close username cache file!", e);
+            }
+            this.channel = null;
+        }
+    }
+
+    private void importLegacyCacheFile() {
+        try (final BufferedReader reader = Files.newBufferedReader(this.legacyCacheFile, UsernameCache.CHARSET)) {
             final Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
-            this.usernameByUniqueId.putAll(this.gson.fromJson(reader, type));
+            final Map<UUID, String> legacy = new Gson().fromJson(reader, type);
+            if (legacy != null) {
+                legacy.forEach(this::setUsername);
+            }
         } catch (final JsonSyntaxException e) {
-            SpongeCommon.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
-            this.deleteCacheFile();
+            SpongeCommon.getLogger().error("Could not parse legacy username cache file as valid json, skipping import", e);
         } catch (final IOException e) {
-            SpongeCommon.getLogger().error("Failed to read username cache file from disk, deleting file", e);
-            this.deleteCacheFile();
+            SpongeCommon.getLogger().error("Failed to read legacy username cache file from disk, skipping import", e);
+        }
+        this.save();
+        try {
+            Files.move(this.legacyCacheFile, this.legacyCacheFile.resolveSibling("usernamecache.json.old"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to move the imported legacy username cache file aside", e);
         }
     }
 
@@ -141,18 +320,255 @@ private void deleteCacheFile() {
         }
     }
 
-    public void save() {
-        if (!this.dirty) {
+    private int appendRecord(final UUID uniqueId) {
+        if (this.count == this.capacity) {
+            this.grow();
+        }
+        final int slot = this.count++;
+        final ByteBuffer records = this.records;
+        records.putLong(UsernameCache.offset(slot), uniqueId.getMostSignificantBits());
+        records.putLong(UsernameCache.offset(slot) + 8, uniqueId.getLeastSignificantBits());
+        records.putShort(UsernameCache.offset(slot) + 16, (short) 0);
+        records.putInt(UsernameCache.COUNT_OFFSET, this.count);
+        if (this.slotsByUniqueId != null) {
+            if (this.count * 2 > this.slotsByUniqueId.length) {
+                this.slotsByUniqueId = null;
+            } else {
+                UsernameCache.insertSlot(this.slotsByUniqueId, uniqueId, slot);
+            }
+        }
+        return slot;
+    }
+
+    private void grow() {
+        final int newCapacity = this.capacity * 2;
+        final ByteBuffer grown;
+        if (this.channel != null) {
+            try {
+                grown = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, UsernameCache.offset(newCapacity));
+            } catch (final IOException e) {
+                throw new IllegalStateException("Failed to grow the username cache file", e);
+            }
+        } else {
+            grown = ByteBuffer.allocate(UsernameCache.offset(newCapacity));
+            final ByteBuffer source = this.records.duplicate();
+            source.clear();
+            grown.put(source);
+        }
+        this.records = grown;
+        this.capacity = newCapacity;
+    }
+
+    private int findSlot(final UUID uniqueId) {
+        final ByteBuffer records = this.records();
+        int[] table = this.slotsByUniqueId;
+        if (table == null) {
+            table = this.buildUniqueIdTable(records);
+        }
+        final int mask = table.length - 1;
+        for (int i = UsernameCache.hash(uniqueId) & mask; ; i = (i + 1) & mask) {
+            final int entry = table[i];
+            if (entry == 0) {
+                return -1;
+            }
+            final int slot = entry - 1;
+            if (records.getLong(UsernameCache.offset(slot)) == uniqueId.getMostSignificantBits()
+                    && records.getLong(UsernameCache.offset(slot) + 8) == uniqueId.getLeastSignificantBits()) {
+                return slot;
+            }
+        }
+    }
+
+    private int[] buildUniqueIdTable(final ByteBuffer records) {
+        final int[] table = new int[Integer.highestOneBit(Math.max(16, this.count * 4) - 1) << 1];
+        for (int slot = 0; slot < this.count; slot++) {
+            final UUID uniqueId = this.readUniqueId(records, slot);
+            UsernameCache.insertSlot(table, uniqueId, slot);
+        }
+        this.slotsByUniqueId = table;
+        return table;
+    }
+
+    private static void insertSlot(final int[] table, final UUID uniqueId, final int slot) {
+        final int mask = table.length - 1;
+        int i = UsernameCache.hash(uniqueId) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    private static int hash(final UUID uniqueId) {
+        final long bits = uniqueId.getMostSignificantBits() ^ uniqueId.getLeastSignificantBits();
+        final int hash = (int) (bits ^ (bits >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+
+    private int[] slotsByName() {
+        if (this.slotsByName != null) {
+            return this.slotsByName;
+        }
+        final ByteBuffer records = this.records();
+        int live = 0;
+        for (int slot = 0; slot < this.count; slot++) {
+            if (this.nameLength(records, slot) != 0) {
+                live++;
+            }
+        }
+        final int[] sorted = new int[live];
+        for (int slot = 0, i = 0; slot < this.count; slot++) {
+            if (this.nameLength(records, slot) != 0) {
+                sorted[i++] = slot;
+            }
+        }
+        IntArrays.quickSort(sorted, (a, b) -> UsernameCache.compareNames(records, a, b));
+        this.slotsByName = sorted;
+        this.nameCount = live;
+        return sorted;
+    }
+
+    /**
+     * Inserts a named record into the sorted slot table, if it was built.
+     */
+    private void indexName(final ByteBuffer records, final int slot) {
+        if (this.slotsByName == null) {
             return;
         }
+        final int i = this.lowerBound(records, this.slotsByName, slot);
+        final int[] sorted = IntArrays.grow(this.slotsByName, this.nameCount + 1);
+        System.arraycopy(sorted, i, sorted, i + 1, this.nameCount - i);
+        sorted[i] = slot;
+        this.slotsByName = sorted;
+        this.nameCount++;
+    }
 
-        try {
-            // Make sure we don't save when another thread is still saving
-            final String serialized = this.gson.toJson(this.usernameByUniqueId);
-            Files.write(this.cacheFile, serialized.getBytes(UsernameCache.CHARSET));
-            this.dirty = false;
-        } catch (final IOException e) {
-            SpongeCommon.getLogger().error("Failed to save username cache to file!", e);
+    /**
+     * Removes a record from the sorted slot table, if it was built. Must be
+     * called before the name of the record changes.
+     */
+    private void unindexName(final ByteBuffer records, final int slot) {
+        final int[] sorted = this.slotsByName;
+        if (sorted == null || this.nameLength(records, slot) == 0) {
+            return;
+        }
+        for (int i = this.lowerBound(records, sorted, slot); i < this.nameCount && UsernameCache.compareNames(records, sorted[i], slot) == 0; i++) {
+            if (sorted[i] == slot) {
+                System.arraycopy(sorted, i + 1, sorted, i, this.nameCount - i - 1);
+                this.nameCount--;
+                return;
+            }
+        }
+    }
+
+    private int lowerBound(final ByteBuffer records, final int[] sorted, final byte[] name) {
+        int low = 0;
+        int high = this.nameCount;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (UsernameCache.compareName(records, sorted[mid], name, false) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(final ByteBuffer records, final int[] sorted, final int slot) {
+        int low = 0;
+        int high = this.nameCount;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (UsernameCache.compareNames(records, sorted[mid], slot) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compareNames(final ByteBuffer records, final int a, final int b) {
+        final int aOffset = UsernameCache.offset(a) + 18;
+        final int bOffset = UsernameCache.offset(b) + 18;
+        final int aLength = records.getShort(aOffset - 2);
+        final int bLength = records.getShort(bOffset - 2);
+        for (int i = 0; i < Math.min(aLength, bLength); i++) {
+            final int diff = UsernameCache.lower(records.get(aOffset + i)) - UsernameCache.lower(records.get(bOffset + i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    /**
+     * Compares the name of a record against a name, optionally treating the
+     * given name as a prefix that matches every longer record name.
+     */
+    private static int compareName(final ByteBuffer records, final int slot, final byte[] name, final boolean prefix) {
+        final int nameOffset = UsernameCache.offset(slot) + 18;
+        final int length = records.getShort(nameOffset - 2);
+        for (int i = 0; i < Math.min(length, name.length); i++) {
+            final int diff = UsernameCache.lower(records.get(nameOffset + i)) - UsernameCache.lower(name[i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        if (prefix && length >= name.length) {
+            return 0;
+        }
+        return length - name.length;
+    }
+
+    private static int lower(final byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b & 0xFF;
+    }
+
+    private boolean nameEquals(final ByteBuffer records, final int slot, final byte[] name) {
+        if (this.nameLength(records, slot) != name.length) {
+            return false;
         }
+        final int nameOffset = UsernameCache.offset(slot) + 18;
+        for (int i = 0; i < name.length; i++) {
+            if (records.get(nameOffset + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int nameLength(final ByteBuffer records, final int slot) {
+        return records.getShort(UsernameCache.offset(slot) + 16);
+    }
+
+    private void writeName(final ByteBuffer records, final int slot, final byte[] name) {
+        final int nameOffset = UsernameCache.offset(slot) + 18;
+        for (int i = 0; i < name.length; i++) {
+            records.put(nameOffset + i, name[i]);
+        }
+        records.putShort(nameOffset - 2, (short) name.length);
+    }
+
+    @Nullable
+    private String readName(final ByteBuffer records, final int slot) {
+        final int length = this.nameLength(records, slot);
+        if (length == 0) {
+            return null;
+        }
+        final byte[] name = new byte[length];
+        final int nameOffset = UsernameCache.offset(slot) + 18;
+        for (int i = 0; i < length; i++) {
+            name[i] = records.get(nameOffset + i);
+        }
+        return new String(name, UsernameCache.CHARSET);
+    }
+
+    private UUID readUniqueId(final ByteBuffer records, final int slot) {
+        return new UUID(records.getLong(UsernameCache.offset(slot)), records.getLong(UsernameCache.offset(slot) + 8));
+    }
+
+    private static int offset(final int slot) {
+        return UsernameCache.HEADER_SIZE + slot * UsernameCache.RECORD_SIZE;
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.world.server.ServerWorld;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.world.server.ServerWorldAccessor;
+import org.spongepowered.common.world.explosion.ExplosionExposureCache;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics exposed by the {@link LocalMetricsExporter}.
+ *
+ * <p>Everything is recorded on the main thread with plain counters, the
+ * values that can only be read safely on the main thread are sampled once
+ * per second into an immutable snapshot that the exporter reads.</p>
+ */
+public final class LocalMetrics {
+
+    // Upper bounds of the tick duration buckets, in milliseconds
+    static final double[] TICK_BUCKETS = {5, 10, 25, 50, 75, 100, 150, 250, 500, 1000};
+    private static final int SAMPLE_INTERVAL = 20;
+
+    static volatile boolean enabled;
+
+    // One counter per bucket, followed by the +Inf bucket, the sum in nanoseconds and the count
+    static final AtomicLongArray TICKS = new AtomicLongArray(LocalMetrics.TICK_BUCKETS.length + 3);
+    static final Map<String, ListenerStats> LISTENERS = new ConcurrentHashMap<>();
+    static volatile ImmutableList<WorldSample> worlds = ImmutableList.of();
+    static volatile int maxPhaseDepth;
+    static volatile long explosionExposureHits;
+    static volatile long explosionExposureMisses;
+    static volatile long explosionExposureInvalidations;
+
+    private static long tickStart;
+    private static int ticks;
+    private static int currentMaxPhaseDepth;
+
+    public static boolean isEnabled() {
+        return LocalMetrics.enabled;
+    }
+
+    public static void onTickStart() {
+        if (LocalMetrics.enabled) {
+            LocalMetrics.tickStart = System.nanoTime();
+        }
+    }
+
+    public static void onTickEnd() {
+        if (!LocalMetrics.enabled || LocalMetrics.tickStart == 0) {
+            return;
+        }
+        final long duration = System.nanoTime() - LocalMetrics.tickStart;
+        final double millis = duration / 1.0E6D;
+        int bucket = 0;
+        while (bucket < LocalMetrics.TICK_BUCKETS.length && millis > LocalMetrics.TICK_BUCKETS[bucket]) {
+            bucket++;
+        }
+        LocalMetrics.TICKS.incrementAndGet(bucket);
+        LocalMetrics.TICKS.addAndGet(LocalMetrics.TICK_BUCKETS.length + 1, duration);
+        LocalMetrics.TICKS.incrementAndGet(LocalMetrics.TICK_BUCKETS.length + 2);
+
+        if (++LocalMetrics.ticks % LocalMetrics.SAMPLE_INTERVAL == 0) {
+            LocalMetrics.sample();
+        }
+    }
+
+    /**
+     * Records the time an event listener of the given plugin took, called
+     * for the listeners running on the main thread of the server only.
+     *
+     * @param plugin The plugin owning the listener
+     * @param nanos The time in nanoseconds
+     */
+    public static void recordListener(final PluginContainer plugin, final long nanos) {
+        final ListenerStats stats = LocalMetrics.LISTENERS.computeIfAbsent(plugin.getMetadata().getId(), id -> new ListenerStats());
+        stats.calls.increment();
+        stats.nanos.add(nanos);
+    }
+
+    /**
+     * Records the depth of the phase tracker of the main thread after a phase
+     * was entered.
+     *
+     * @param depth The depth
+     */
+    public static void recordPhaseDepth(final int depth) {
+        if (depth > LocalMetrics.currentMaxPhaseDepth) {
+            LocalMetrics.currentMaxPhaseDepth = depth;
+        }
+    }
+
+    private static void sample() {
+        final ImmutableList.Builder<WorldSample> samples = ImmutableList.builder();
+        for (final ServerWorld world : SpongeCommon.getServer().getWorlds()) {
+            samples.add(new WorldSample(world.getWorldInfo().getWorldName(),
+                ((ServerWorldAccessor) world).accessor$getEntitiesById().size(),
+                world.loadedTileEntityList.size(),
+                world.getChunkProvider().getLoadedChunkCount()));
+        }
+        LocalMetrics.worlds = samples.build();
+        LocalMetrics.maxPhaseDepth = LocalMetrics.currentMaxPhaseDepth;
+        LocalMetrics.currentMaxPhaseDepth = 0;
+        LocalMetrics.explosionExposureHits = ExplosionExposureCache.getHitCount();
+        LocalMetrics.explosionExposureMisses = ExplosionExposureCache.getMissCount();
+        LocalMetrics.explosionExposureInvalidations = ExplosionExposureCache.getInvalidationCount();
+    }
+
+    static final class ListenerStats {
+
+        final LongAdder calls = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    static final class WorldSample {
+
+        final String name;
+        final int entities;
+        final int tileEntities;
+        final int loadedChunks;
+
+        WorldSample(final String name, final int entities, final int tileEntities, final int loadedChunks) {
+            this.name = name;
+            this.entities = entities;
+            this.tileEntities = tileEntities;
+            this.loadedChunks = loadedChunks;
+        }
+    }
+
+    private LocalMetrics() {
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.config.category.LocalMetricsCategory;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Exposes the {@link LocalMetrics} in the Prometheus text format, through a
+ * loopback only HTTP endpoint and a periodically written file.
+ *
+ * <p>The metrics are formatted on a single background thread, only when they
+ * are requested or written, so the main thread only ever pays for
+ * recording them.</p>
+ */
+public final class LocalMetricsExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Nullable private static ScheduledExecutorService executor;
+    @Nullable private static HttpServer server;
+
+    /**
+     * Starts exporting the metrics if they are enabled in the global config.
+     */
+    public static synchronized void start() {
+        final LocalMetricsCategory config = SpongeCommon.getGlobalConfigAdapter().getConfig().getLocalMetrics();
+        if (!config.isEnabled() || LocalMetricsExporter.executor != null) {
+            return;
+        }
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Metrics Exporter").setDaemon(true).build());
+        LocalMetricsExporter.executor = executor;
+        LocalMetrics.enabled = true;
+
+        if (config.getHttpPort() > 0) {
+            try {
+                final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getHttpPort()), 0);
+                server.createContext("/metrics", LocalMetricsExporter::handle);
+                server.setExecutor(executor);
+                server.start();
+                LocalMetricsExporter.server = server;
+                SpongeCommon.getLogger().info("Serving metrics on http://{}:{}/metrics", InetAddress.getLoopbackAddress().getHostAddress(),
+                    config.getHttpPort());
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to start the metrics endpoint on port {}", config.getHttpPort(), e);
+            }
+        }
+        if (!config.getFile().isEmpty()) {
+            final Path file = SpongeCommon.getGameDirectory().resolve(config.getFile());
+            final int interval = Math.max(1, config.getFileInterval());
+            executor.scheduleWithFixedDelay(() -> LocalMetricsExporter.write(file), interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized void stop() {
+        LocalMetrics.enabled = false;
+        if (LocalMetricsExporter.server != null) {
+            LocalMetricsExporter.server.stop(0);
+            LocalMetricsExporter.server = null;
+        }
+        if (LocalMetricsExporter.executor != null) {
+            LocalMetricsExporter.executor.shutdownNow();
+            LocalMetricsExporter.executor = null;
+        }
+    }
+
+    private static void handle(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final byte[] body = LocalMetricsExporter.format().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", LocalMetricsExporter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void write(final Path file) {
+        try {
+            final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, LocalMetricsExporter.format().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().warn("Failed to write the metrics to {}", file, e);
+        }
+    }
+
+    static String format() {
+        final StringBuilder builder = new StringBuilder(4096);
+
+        LocalMetricsExporter.header(builder, "sponge_tick_duration_seconds", "histogram", "The duration of server ticks.");
+        long cumulative = 0;
+        for (int i = 0; i < LocalMetrics.TICK_BUCKETS.length; i++) {
+            cumulative += LocalMetrics.TICKS.get(i);
+            builder.append("sponge_tick_duration_seconds_bucket{le=\"")
+                .append(LocalMetricsExporter.number(LocalMetrics.TICK_BUCKETS[i] / 1000D)).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += LocalMetrics.TICKS.get(LocalMetrics.TICK_BUCKETS.length);
+        builder.append("sponge_tick_duration_seconds_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        builder.append("sponge_tick_duration_seconds_sum ")
+            .append(LocalMetricsExporter.number(LocalMetrics.TICKS.get(LocalMetrics.TICK_BUCKETS.length + 1) / 1.0E9D)).append('\n');
+        builder.append("sponge_tick_duration_seconds_count ").append(LocalMetrics.TICKS.get(LocalMetrics.TICK_BUCKETS.length + 2)).append('\n');
+
+        LocalMetricsExporter.header(builder, "sponge_world_entities", "gauge", "The amount of loaded entities per world.");
+        for (final LocalMetrics.WorldSample world : LocalMetrics.worlds) {
+            LocalMetricsExporter.sample(builder, "sponge_world_entities", "world", world.name, world.entities);
+        }
+        LocalMetricsExporter.header(builder, "sponge_world_tile_entities", "gauge", "The amount of loaded tile entities per world.");
+        for (final LocalMetrics.WorldSample world : LocalMetrics.worlds) {
+            LocalMetricsExporter.sample(builder, "sponge_world_tile_entities", "world", world.name, world.tileEntities);
+        }
+        LocalMetricsExporter.header(builder, "sponge_world_loaded_chunks", "gauge", "The amount of loaded chunks per world.");
+        for (final LocalMetrics.WorldSample world : LocalMetrics.worlds) {
+            LocalMetricsExporter.sample(builder, "sponge_world_loaded_chunks", "world", world.name, world.loadedChunks);
+        }
+
+        LocalMetricsExporter.header(builder, "sponge_event_listener_calls_total", "counter",
+            "The amount of event listener calls per plugin on the main thread.");
+        for (final Map.Entry<String, LocalMetrics.ListenerStats> entry : LocalMetrics.LISTENERS.entrySet()) {
+            LocalMetricsExporter.sample(builder, "sponge_event_listener_calls_total", "plugin", entry.getKey(), entry.getValue().calls.sum());
+        }
+        LocalMetricsExporter.header(builder, "sponge_event_listener_seconds_total", "counter",
+            "The time spent in event listeners per plugin on the main thread.");
+        for (final Map.Entry<String, LocalMetrics.ListenerStats> entry : LocalMetrics.LISTENERS.entrySet()) {
+            builder.append("sponge_event_listener_seconds_total{plugin=\"").append(LocalMetricsExporter.escape(entry.getKey())).append("\"} ")
+                .append(LocalMetricsExporter.number(entry.getValue().nanos.sum() / 1.0E9D)).append('\n');
+        }
+
+        LocalMetricsExporter.header(builder, "sponge_scheduler_tasks", "gauge", "The amount of pending and running scheduler tasks.");
+        LocalMetricsExporter.sample(builder, "sponge_scheduler_tasks", "scheduler", "sync",
+            ((SpongeScheduler) SpongeCommon.getServerScheduler()).getTaskCount());
+        LocalMetricsExporter.sample(builder, "sponge_scheduler_tasks", "scheduler", "async",
+            ((SpongeScheduler) SpongeCommon.getAsyncScheduler()).getTaskCount());
+
+        LocalMetricsExporter.header(builder, "sponge_phase_tracker_max_depth", "gauge",
+            "The deepest the phase tracker of the main thread went during the last second.");
+        builder.append("sponge_phase_tracker_max_depth ").append(LocalMetrics.maxPhaseDepth).append('\n');
+
+        LocalMetricsExporter.header(builder, "sponge_explosion_exposure_lookups_total", "counter",
+            "The amount of explosion exposure lookups, by whether they were served from the cache.");
+        LocalMetricsExporter.sample(builder, "sponge_explosion_exposure_lookups_total", "result", "hit", LocalMetrics.explosionExposureHits);
+        LocalMetricsExporter.sample(builder, "sponge_explosion_exposure_lookups_total", "result", "miss", LocalMetrics.explosionExposureMisses);
+        LocalMetricsExporter.header(builder, "sponge_explosion_exposure_invalidations_total", "counter",
+            "The amount of cached explosion exposures dropped because of block changes.");
+        builder.append("sponge_explosion_exposure_invalidations_total ").append(LocalMetrics.explosionExposureInvalidations).append('\n');
+        return builder.toString();
+    }
+
+    private static void header(final StringBuilder builder, final String name, final String type, final String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(final StringBuilder builder, final String name, final String label, final String value, final long sample) {
+        builder.append(name).append('{').append(label).append("=\"").append(LocalMetricsExporter.escape(value)).append("\"} ")
+            .append(sample).append('\n');
+    }
+
+    private static String number(final double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private LocalMetricsExporter() {
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the exposure of entities to explosions, as computed by
+ * {@link Explosion#getBlockDensity(Vec3d, Entity)}, for the duration of a
+ * tick.
+ *
+ * <p>Chained explosions at the same position ask for the exposure of the
+ * same entities over and over, which means ray tracing a grid of samples
+ * across the bounding box of every entity each time. A cached exposure is
+ * re-used as long as the entity has not moved and no block has been
+ * changed within the region its rays pass through.</p>
+ */
+public final class ExplosionExposureCache {
+
+    /**
+     * The maximum amount of block changes that are remembered within a tick,
+     * after which the whole cache is dropped instead.
+     */
+    private static final int MAX_LOGGED_CHANGES = 4096;
+
+    private static final Map<ExposureKey, Exposure> EXPOSURES = new HashMap<>();
+    private static final LongArrayList CHANGES = new LongArrayList();
+    @Nullable private static World currentWorld;
+    private static long currentTick = Long.MIN_VALUE;
+
+    private static long hits;
+    private static long misses;
+    private static long invalidations;
+
+    /**
+     * Gets the exposure of the given entity to an explosion at the given
+     * position, re-using a previously computed value within the same tick
+     * when possible.
+     *
+     * @param origin The origin of the explosion
+     * @param entity The entity
+     * @return The exposure, between 0 and 1
+     */
+    public static float getBlockDensity(final Vec3d origin, final Entity entity) {
+        final World world = entity.world;
+        final long tick = world.getGameTime();
+        if (ExplosionExposureCache.currentWorld != world || ExplosionExposureCache.currentTick != tick) {
+            ExplosionExposureCache.clear();
+            ExplosionExposureCache.currentWorld = world;
+            ExplosionExposureCache.currentTick = tick;
+        }
+        final AxisAlignedBB box = entity.getBoundingBox();
+        final ExposureKey key = new ExposureKey(origin, entity.getEntityId(), box);
+        final Exposure cached = ExplosionExposureCache.EXPOSURES.get(key);
+        if (cached != null) {
+            if (cached.validate()) {
+                ExplosionExposureCache.hits++;
+                return cached.density;
+            }
+            ExplosionExposureCache.invalidations++;
+        }
+        ExplosionExposureCache.misses++;
+        final float density = Explosion.getBlockDensity(origin, entity);
+        ExplosionExposureCache.EXPOSURES.put(key, new Exposure(origin, box, density));
+        return density;
+    }
+
+    /**
+     * Notifies the cache that a block in a server world has been changed.
+     *
+     * @param pos The position of the block
+     */
+    public static void onBlockChange(final BlockPos pos) {
+        if (ExplosionExposureCache.EXPOSURES.isEmpty()) {
+            return;
+        }
+        if (ExplosionExposureCache.CHANGES.size() >= ExplosionExposureCache.MAX_LOGGED_CHANGES) {
+            ExplosionExposureCache.invalidations += ExplosionExposureCache.EXPOSURES.size();
+            ExplosionExposureCache.clear();
+            return;
+        }
+        ExplosionExposureCache.CHANGES.add(pos.toLong());
+    }
+
+    public static long getHitCount() {
+        return ExplosionExposureCache.hits;
+    }
+
+    public static long getMissCount() {
+        return ExplosionExposureCache.misses;
+    }
+
+    public static long getInvalidationCount() {
+        return ExplosionExposureCache.invalidations;
+    }
+
+    private static void clear() {
+        ExplosionExposureCache.EXPOSURES.clear();
+        ExplosionExposureCache.CHANGES.clear();
+    }
+
+    private static final class ExposureKey {
+
+        private final double originX;
+        private final double originY;
+        private final double originZ;
+        private final int entityId;
+        private final AxisAlignedBB box;
+        private final int hashCode;
+
+        ExposureKey(final Vec3d origin, final int entityId, final AxisAlignedBB box) {
+            this.originX = origin.x;
+            this.originY = origin.y;
+            this.originZ = origin.z;
+            this.entityId = entityId;
+            this.box = box;
+            int result = Double.hashCode(this.originX);
+            result = 31 * result + Double.hashCode(this.originY);
+            result = 31 * result + Double.hashCode(this.originZ);
+            result = 31 * result + this.entityId;
+            this.hashCode = 31 * result + box.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExposureKey)) {
+                return false;
+            }
+            final ExposureKey other = (ExposureKey) o;
+            return this.entityId == other.entityId
+                && Double.compare(this.originX, other.originX) == 0
+                && Double.compare(this.originY, other.originY) == 0
+                && Double.compare(this.originZ, other.originZ) == 0
+                && this.box.equals(other.box);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class Exposure {
+
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+        final float density;
+        private int checkedChanges;
+
+        Exposure(final Vec3d origin, final AxisAlignedBB box, final float density) {
+            // The rays are traced between the samples in the box and the origin, and may
+            // hit collision shapes of blocks that stick out of their neighbours (like fences)
+            this.minX = MathHelper.floor(Math.min(origin.x, box.minX)) - 1;
+            this.minY = MathHelper.floor(Math.min(origin.y, box.minY)) - 1;
+            this.minZ = MathHelper.floor(Math.min(origin.z, box.minZ)) - 1;
+            this.maxX = MathHelper.floor(Math.max(origin.x, box.maxX)) + 1;
+            this.maxY = MathHelper.floor(Math.max(origin.y, box.maxY)) + 1;
+            this.maxZ = MathHelper.floor(Math.max(origin.z, box.maxZ)) + 1;
+            this.density = density;
+            this.checkedChanges = ExplosionExposureCache.CHANGES.size();
+        }
+
+        boolean validate() {
+            final LongArrayList changes = ExplosionExposureCache.CHANGES;
+            final int size = changes.size();
+            for (int i = this.checkedChanges; i < size; i++) {
+                final long packed = changes.getLong(i);
+                final int x = BlockPos.unpackX(packed);
+                final int y = BlockPos.unpackY(packed);
+                final int z = BlockPos.unpackZ(packed);
+                if (x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY && z >= this.minZ && z <= this.maxZ) {
+                    return false;
+                }
+            }
+            this.checkedChanges = size;
+            return true;
+        }
+    }
+
+    private ExplosionExposureCache() {
+    }
+}
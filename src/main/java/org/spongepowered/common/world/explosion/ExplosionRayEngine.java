@@ -0,0 +1,319 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.TNTEntity;
+import net.minecraft.fluid.IFluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.server.ServerWorld;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.world.TrackedWorldBridge;
+import org.spongepowered.common.bridge.world.WorldBridge;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Traces the rays of an {@link Explosion} to find the blocks it affects.
+ *
+ * <p>This is a drop in replacement for the ray tracing half of
+ * {@link Explosion#doExplosionA()} that produces the same results as Vanilla,
+ * but avoids most of the overhead involved: ray directions are computed once
+ * per resolution, blocks are read straight from a per explosion cache of the
+ * chunks that are touched, the resistance of a block is only computed once
+ * per position regardless of how many rays pass through it and the affected
+ * positions are collected as packed longs instead of {@link BlockPos}es.</p>
+ *
+ * <p>Optionally, identical explosions at the same position within the same
+ * tick can be merged, in which case the affected blocks of the previous
+ * explosion are re-used as long as no block has been changed since it was
+ * traced.</p>
+ */
+public final class ExplosionRayEngine {
+
+    private static final double STEP_LENGTH = 0.30000001192092896D;
+    private static final float STEP_ATTENUATION = 0.22500001F;
+    private static final float AIR = Float.NEGATIVE_INFINITY;
+
+    private static final Map<Integer, double[]> RAY_DIRECTIONS = new ConcurrentHashMap<>();
+
+    /**
+     * A counter of the block changes that have happened on the server, used
+     * to determine whether the result of a previous explosion is still valid.
+     */
+    private static long blockChanges;
+    @Nullable private static MergeCandidate lastExplosion;
+
+    /**
+     * Notifies the engine that a block in a server world has been changed.
+     */
+    public static void onBlockChange() {
+        ExplosionRayEngine.blockChanges++;
+    }
+
+    /**
+     * Traces the rays of the given explosion and adds all the positions that
+     * are affected to the given collection.
+     *
+     * @param explosion The explosion
+     * @param world The world the explosion happens in
+     * @param exploder The entity that caused the explosion, if present
+     * @param x The x coordinate of the explosion origin
+     * @param y The y coordinate of the explosion origin
+     * @param z The z coordinate of the explosion origin
+     * @param size The size of the explosion
+     * @param resolution The amount of rays along each edge of the ray cube
+     * @param affectedPositions The collection to add the affected positions to
+     */
+    public static void traceAffectedBlocks(final Explosion explosion, final World world, @Nullable final Entity exploder,
+            final double x, final double y, final double z, final float size, final int resolution,
+            final Collection<BlockPos> affectedPositions) {
+        final boolean mergeable = (exploder == null || exploder.getClass() == TNTEntity.class)
+                && world instanceof ServerWorld
+                && SpongeCommon.getGlobalConfigAdapter().getConfig().getOptimizations().isMergeIdenticalExplosions();
+        final long gameTime = world.getGameTime();
+        if (mergeable) {
+            final MergeCandidate candidate = ExplosionRayEngine.lastExplosion;
+            if (candidate != null && candidate.matches(world, exploder, x, y, z, size, resolution, gameTime)) {
+                for (final long packed : candidate.affectedPositions) {
+                    affectedPositions.add(BlockPos.fromLong(packed));
+                }
+                return;
+            }
+        }
+
+        final ExplosionRayEngine engine = new ExplosionRayEngine(explosion, world, exploder);
+        engine.trace(x, y, z, size, resolution);
+
+        final long[] packedPositions = new long[engine.affected.size()];
+        int index = 0;
+        for (final LongIterator iterator = engine.affected.iterator(); iterator.hasNext(); ) {
+            final long packed = iterator.nextLong();
+            packedPositions[index++] = packed;
+            affectedPositions.add(BlockPos.fromLong(packed));
+        }
+        ExplosionRayEngine.lastExplosion = mergeable
+                ? new MergeCandidate(world, exploder, x, y, z, size, resolution, gameTime, packedPositions)
+                : null;
+    }
+
+    private static double[] getRayDirections(final int resolution) {
+        return ExplosionRayEngine.RAY_DIRECTIONS.computeIfAbsent(resolution, ExplosionRayEngine::computeRayDirections);
+    }
+
+    private static double[] computeRayDirections(final int resolution) {
+        // The directions of all the rays on the surface of the ray cube, laid out as (x, y, z) triples
+        // in the same order Vanilla visits them, so that the world random is consumed identically.
+        final int edge = resolution - 1;
+        final int rays = resolution <= 1 ? resolution : resolution * resolution * resolution - Math.max(0, resolution - 2) * Math.max(0, resolution - 2) * Math.max(0, resolution - 2);
+        final double[] directions = new double[rays * 3];
+        int index = 0;
+        for (int j = 0; j < resolution; ++j) {
+            for (int k = 0; k < resolution; ++k) {
+                for (int l = 0; l < resolution; ++l) {
+                    if (j == 0 || j == edge || k == 0 || k == edge || l == 0 || l == edge) {
+                        double d0 = (double) ((float) j / (float) edge * 2.0F - 1.0F);
+                        double d1 = (double) ((float) k / (float) edge * 2.0F - 1.0F);
+                        double d2 = (double) ((float) l / (float) edge * 2.0F - 1.0F);
+                        final double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+                        d0 = d0 / d3;
+                        d1 = d1 / d3;
+                        d2 = d2 / d3;
+                        directions[index++] = d0;
+                        directions[index++] = d1;
+                        directions[index++] = d2;
+                    }
+                }
+            }
+        }
+        return directions;
+    }
+
+    private final Explosion explosion;
+    private final World world;
+    @Nullable private final Entity exploder;
+    private final boolean readChunksDirectly;
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    private final Long2ObjectOpenHashMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+    private final Long2FloatOpenHashMap resistances = new Long2FloatOpenHashMap(512);
+    private final LongOpenHashSet affected = new LongOpenHashSet(256);
+    @Nullable private Chunk lastChunk;
+    private long lastChunkKey;
+
+    private ExplosionRayEngine(final Explosion explosion, final World world, @Nullable final Entity exploder) {
+        this.explosion = explosion;
+        this.world = world;
+        this.exploder = exploder;
+        this.resistances.defaultReturnValue(Float.NaN);
+        // Proxied block changes and fake worlds have to go through the world to be seen
+        this.readChunksDirectly = world instanceof ServerWorld
+                && !((WorldBridge) world).bridge$isFake()
+                && !((TrackedWorldBridge) world).bridge$getProxyAccess().hasProxy()
+                && world.getWorldType() != WorldType.DEBUG_ALL_BLOCK_STATES;
+    }
+
+    private void trace(final double x, final double y, final double z, final float size, final int resolution) {
+        final double[] directions = ExplosionRayEngine.getRayDirections(resolution);
+        for (int ray = 0; ray < directions.length; ray += 3) {
+            final double dx = directions[ray] * ExplosionRayEngine.STEP_LENGTH;
+            final double dy = directions[ray + 1] * ExplosionRayEngine.STEP_LENGTH;
+            final double dz = directions[ray + 2] * ExplosionRayEngine.STEP_LENGTH;
+            float power = size * (0.7F + this.world.rand.nextFloat() * 0.6F);
+            double px = x;
+            double py = y;
+            double pz = z;
+            long lastPacked = 0;
+            float resistance = Float.NaN;
+            for (; power > 0.0F; power -= ExplosionRayEngine.STEP_ATTENUATION) {
+                final int bx = MathHelper.floor(px);
+                final int by = MathHelper.floor(py);
+                final int bz = MathHelper.floor(pz);
+                final long packed = BlockPos.pack(bx, by, bz);
+                // Consecutive steps usually land in the same block, so only look up the resistance when moving on
+                if (packed != lastPacked || Float.isNaN(resistance)) {
+                    resistance = this.resistances.get(packed);
+                    if (Float.isNaN(resistance)) {
+                        resistance = this.computeResistance(bx, by, bz);
+                        this.resistances.put(packed, resistance);
+                    }
+                    lastPacked = packed;
+                }
+                if (resistance != ExplosionRayEngine.AIR) {
+                    power -= (resistance + 0.3F) * 0.3F;
+                }
+                if (power > 0.0F && (this.exploder == null || this.canDestroy(bx, by, bz, power))) {
+                    this.affected.add(packed);
+                }
+                px += dx;
+                py += dy;
+                pz += dz;
+            }
+        }
+    }
+
+    private float computeResistance(final int x, final int y, final int z) {
+        this.pos.setPos(x, y, z);
+        final BlockState state = this.getBlockState(x, y, z);
+        final IFluidState fluid = this.readChunksDirectly ? state.getFluidState() : this.world.getFluidState(this.pos);
+        if (state.isAir() && fluid.isEmpty()) {
+            return ExplosionRayEngine.AIR;
+        }
+        final float resistance = Math.max(state.getBlock().getExplosionResistance(), fluid.getExplosionResistance());
+        if (this.exploder == null) {
+            return resistance;
+        }
+        return this.exploder.getExplosionResistance(this.explosion, this.world, this.pos, state, fluid, resistance);
+    }
+
+    private boolean canDestroy(final int x, final int y, final int z, final float power) {
+        this.pos.setPos(x, y, z);
+        return this.exploder.canExplosionDestroyBlock(this.explosion, this.world, this.pos, this.getBlockState(x, y, z), power);
+    }
+
+    private BlockState getBlockState(final int x, final int y, final int z) {
+        if (!this.readChunksDirectly) {
+            return this.world.getBlockState(this.pos);
+        }
+        if (y < 0 || y >= 256) {
+            return Blocks.VOID_AIR.getDefaultState();
+        }
+        final ChunkSection section = this.getChunk(x >> 4, z >> 4).getSections()[y >> 4];
+        return ChunkSection.isEmpty(section) ? Blocks.AIR.getDefaultState() : section.getBlockState(x & 15, y & 15, z & 15);
+    }
+
+    private Chunk getChunk(final int chunkX, final int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.lastChunk != null && this.lastChunkKey == key) {
+            return this.lastChunk;
+        }
+        Chunk chunk = this.chunks.get(key);
+        if (chunk == null) {
+            chunk = this.world.getChunk(chunkX, chunkZ);
+            this.chunks.put(key, chunk);
+        }
+        this.lastChunk = chunk;
+        this.lastChunkKey = key;
+        return chunk;
+    }
+
+    private static final class MergeCandidate {
+
+        private final WeakReference<World> world;
+        private final boolean hasExploder;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final float size;
+        private final int resolution;
+        private final long gameTime;
+        private final long blockChanges;
+        final long[] affectedPositions;
+
+        MergeCandidate(final World world, @Nullable final Entity exploder, final double x, final double y, final double z,
+                final float size, final int resolution, final long gameTime, final long[] affectedPositions) {
+            this.world = new WeakReference<>(world);
+            this.hasExploder = exploder != null;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.size = size;
+            this.resolution = resolution;
+            this.gameTime = gameTime;
+            this.blockChanges = ExplosionRayEngine.blockChanges;
+            this.affectedPositions = affectedPositions;
+        }
+
+        boolean matches(final World world, @Nullable final Entity exploder, final double x, final double y, final double z,
+                final float size, final int resolution, final long gameTime) {
+            return this.blockChanges == ExplosionRayEngine.blockChanges
+                    && this.gameTime == gameTime
+                    && this.world.get() == world
+                    && this.hasExploder == (exploder != null)
+                    && this.x == x
+                    && this.y == y
+                    && this.z == z
+                    && this.size == size
+                    && this.resolution == resolution;
+        }
+    }
+}
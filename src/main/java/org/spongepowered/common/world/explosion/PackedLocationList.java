@@ -0,0 +1,169 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.api.world.ServerLocation;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.common.util.VecHelper;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import javax.annotation.Nullable;
+
+/**
+ * A mutable {@link ServerLocation} list that is backed by packed block
+ * positions, used to pass the affected blocks of an explosion to plugins.
+ *
+ * <p>Locations are only created for the elements that are actually read,
+ * and whether the list was modified at all can be queried afterwards so
+ * that the positions only have to be written back when needed.</p>
+ */
+public final class PackedLocationList extends AbstractList<ServerLocation> implements RandomAccess {
+
+    private static final long[] EMPTY_POSITIONS = new long[0];
+
+    private final ServerWorld world;
+    private long[] positions;
+    @Nullable private ServerLocation[] locations;
+    private int size;
+    private boolean modified;
+
+    public PackedLocationList(final ServerWorld world, final Collection<BlockPos> positions) {
+        this.world = world;
+        this.positions = positions.isEmpty() ? PackedLocationList.EMPTY_POSITIONS : new long[positions.size()];
+        for (final BlockPos pos : positions) {
+            this.positions[this.size++] = pos.toLong();
+        }
+    }
+
+    /**
+     * Gets whether this list has been structurally modified or had any of
+     * its elements replaced since it was created.
+     *
+     * @return Whether the list was modified
+     */
+    public boolean isModified() {
+        return this.modified;
+    }
+
+    /**
+     * Replaces the contents of the given collection with the positions
+     * in this list.
+     *
+     * @param target The collection to write to
+     */
+    public void writeTo(final Collection<BlockPos> target) {
+        target.clear();
+        for (int i = 0; i < this.size; i++) {
+            target.add(BlockPos.fromLong(this.positions[i]));
+        }
+    }
+
+    private void checkIndex(final int index, final int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    @Override
+    public ServerLocation get(final int index) {
+        this.checkIndex(index, this.size);
+        if (this.locations == null) {
+            this.locations = new ServerLocation[this.positions.length];
+        }
+        ServerLocation location = this.locations[index];
+        if (location == null) {
+            final long packed = this.positions[index];
+            location = ServerLocation.of(this.world, BlockPos.unpackX(packed), BlockPos.unpackY(packed), BlockPos.unpackZ(packed));
+            this.locations[index] = location;
+        }
+        return location;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public ServerLocation set(final int index, final ServerLocation element) {
+        final ServerLocation previous = this.get(index);
+        this.positions[index] = VecHelper.toBlockPos(element).toLong();
+        this.locations[index] = element;
+        this.modified = true;
+        return previous;
+    }
+
+    @Override
+    public void add(final int index, final ServerLocation element) {
+        this.checkIndex(index, this.size + 1);
+        final long packed = VecHelper.toBlockPos(element).toLong();
+        if (this.size == this.positions.length) {
+            final int capacity = Math.max(8, this.size + (this.size >> 1));
+            this.positions = Arrays.copyOf(this.positions, capacity);
+            if (this.locations != null) {
+                this.locations = Arrays.copyOf(this.locations, capacity);
+            }
+        }
+        System.arraycopy(this.positions, index, this.positions, index + 1, this.size - index);
+        this.positions[index] = packed;
+        if (this.locations != null) {
+            System.arraycopy(this.locations, index, this.locations, index + 1, this.size - index);
+            this.locations[index] = element;
+        }
+        this.size++;
+        this.modCount++;
+        this.modified = true;
+    }
+
+    @Override
+    public ServerLocation remove(final int index) {
+        final ServerLocation previous = this.get(index);
+        final int moved = this.size - index - 1;
+        System.arraycopy(this.positions, index + 1, this.positions, index, moved);
+        System.arraycopy(this.locations, index + 1, this.locations, index, moved);
+        this.locations[--this.size] = null;
+        this.modCount++;
+        this.modified = true;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (this.size == 0) {
+            return;
+        }
+        if (this.locations != null) {
+            Arrays.fill(this.locations, 0, this.size, null);
+        }
+        this.size = 0;
+        this.modCount++;
+        this.modified = true;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.server;
+
+import net.minecraft.world.server.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the amount of entity and player pairs that are being
+ * tracked in every world, updated as pairs start and stop being tracked.
+ */
+public final class EntityTrackingStats {
+
+    private static final Map<ServerWorld, WorldStats> WORLDS = new WeakHashMap<>();
+
+    public static void onTrack(final ServerWorld world) {
+        final WorldStats stats = EntityTrackingStats.WORLDS.computeIfAbsent(world, k -> new WorldStats());
+        stats.trackedPairs++;
+        stats.tracked++;
+    }
+
+    public static void onUntrack(final ServerWorld world) {
+        final WorldStats stats = EntityTrackingStats.WORLDS.computeIfAbsent(world, k -> new WorldStats());
+        stats.trackedPairs--;
+        stats.untracked++;
+    }
+
+    /**
+     * Gets the amount of entity and player pairs currently tracked in the
+     * given world.
+     *
+     * @param world The world
+     * @return The amount of tracked pairs
+     */
+    public static int getTrackedPairs(final ServerWorld world) {
+        final WorldStats stats = EntityTrackingStats.WORLDS.get(world);
+        return stats == null ? 0 : stats.trackedPairs;
+    }
+
+    /**
+     * Describes the tracked pairs of every world.
+     *
+     * @return A line per world
+     */
+    public static List<String> describeWorlds() {
+        final List<String> lines = new ArrayList<>();
+        for (final Map.Entry<ServerWorld, WorldStats> entry : EntityTrackingStats.WORLDS.entrySet()) {
+            final WorldStats stats = entry.getValue();
+            lines.add(String.format("%s: %d tracked pairs, %d started and %d stopped tracking", entry.getKey().getWorldInfo().getWorldName(),
+                stats.trackedPairs, stats.tracked, stats.untracked));
+        }
+        return lines;
+    }
+
+    public static void reset() {
+        for (final WorldStats stats : EntityTrackingStats.WORLDS.values()) {
+            stats.tracked = 0;
+            stats.untracked = 0;
+        }
+    }
+
+    private static final class WorldStats {
+
+        int trackedPairs;
+        long tracked;
+        long untracked;
+    }
+
+    private EntityTrackingStats() {
+    }
+}
@@ -26,6 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.CompressedStreamTools;
 import org.spongepowered.api.Server;
@@ -36,93 +37,231 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.file.DirectoryIteratorException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 
+/**
+ * Holds the Sponge specific data of every player that ever joined.
+ *
+ * <p>Player data is read on demand, either ahead of time while a player
+ * logs in or on first access, and only the most recently used entries are
+ * kept in memory. Saves are snapshotted on the calling thread and written
+ * in batches by a background thread, entries that were changed but are
+ * about to be dropped from memory are queued for saving first.</p>
+ */
 public final class SpongePlayerDataManager {
 
     private static final String SPONGE_DATA = "sponge";
+    private static final int MAX_CACHED_ENTRIES = 1024;
+    private static final long SAVE_BATCH_DELAY_MILLIS = 1000;
+
     private final Server server;
-    private final Map<UUID, SpongePlayerData> playerDataByUniqueId;
-    private Path playersDirectory;
+    private final Object lock = new Object();
+    // Absent players are cached as well, so asking about someone who never joined doesn't hit the disk every time
+    private final Map<UUID, Optional<SpongePlayerData>> playerDataByUniqueId;
+    private final Set<UUID> dirtyEntries = new HashSet<>();
+    private final Map<UUID, CompoundNBT> pendingSaves = new HashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService ioExecutor;
+    @Nullable private volatile Path playersDirectory;
 
     public SpongePlayerDataManager(final Server server) {
         this.server = server;
-        this.playerDataByUniqueId = new ConcurrentHashMap<>();
-    }
+        this.playerDataByUniqueId = new LinkedHashMap<UUID, Optional<SpongePlayerData>>(16, 0.75f, true) {
 
-    public void load() {
-        try {
-            this.playersDirectory = this.server.getWorldManager().getSavesDirectory().resolve("data").resolve(SPONGE_DATA);
-            Files.createDirectories(this.playersDirectory);
-
-            final List<Path> playerFiles = new ArrayList<>();
-            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.playersDirectory, "*.{dat}")) {
-                for (final Path entry : stream) {
-                    playerFiles.add(entry);
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, Optional<SpongePlayerData>> eldest) {
+                if (this.size() <= SpongePlayerDataManager.MAX_CACHED_ENTRIES) {
+                    return false;
                 }
-            } catch (DirectoryIteratorException e) {
-                SpongeCommon.getLogger().error("Something happened when trying to gather all player files", e);
-            }
-            for (final Path playerFile : playerFiles) {
-                if (Files.isReadable(playerFile)) {
-                    final CompoundNBT compound;
-
-                    try (final InputStream stream = Files.newInputStream(playerFile)) {
-                        compound = CompressedStreamTools.readCompressed(stream);
-                    } catch (Exception e) {
-                        throw new RuntimeException("Failed to decompress playerdata for playerfile " + playerFile, e);
-                    }
-
-                    if (compound.isEmpty()) {
-                        throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
-                    }
-
-                    final DataContainer container = NbtTranslator.getInstance().translateFrom(compound);
-                    final SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
-                    this.playerDataByUniqueId.put(data.uuid, data);
+                if (SpongePlayerDataManager.this.dirtyEntries.remove(eldest.getKey()) && eldest.getValue().isPresent()) {
+                    SpongePlayerDataManager.this.pendingSaves.put(eldest.getKey(),
+                        SpongePlayerDataManager.this.createCompoundFor(eldest.getValue().get()));
+                    SpongePlayerDataManager.this.scheduleSave();
                 }
+                return true;
             }
-            playerFiles.clear();
+        };
+        this.ioExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Player Data IO").setDaemon(true).build());
+    }
 
+    public void load() {
+        try {
+            Files.createDirectories(this.getPlayersDirectory());
         } catch (final Exception ex) {
             throw new RuntimeException("Encountered an exception while creating the player data handler!", ex);
         }
     }
 
+    /**
+     * Reads the data of a player in the background, so that it is already
+     * cached once the server asks for it.
+     *
+     * @param uniqueId The unique id of the player
+     */
+    public void prefetch(final UUID uniqueId) {
+        try {
+            this.ioExecutor.execute(() -> this.getData(uniqueId));
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down, nothing left to prefetch for
+        }
+    }
+
     public void savePlayer(final UUID id) {
-        @Nullable final SpongePlayerData data = this.playerDataByUniqueId.get(checkNotNull(id, "Player id cannot be null!"));
+        @Nullable final SpongePlayerData data = this.getData(checkNotNull(id, "Player id cannot be null!"));
         if (data != null) {
-            saveFile(id.toString(), createCompoundFor(data));
+            synchronized (this.lock) {
+                this.dirtyEntries.remove(id);
+                this.pendingSaves.put(id, this.createCompoundFor(data));
+            }
+            this.scheduleSave();
         } else {
             SpongeCommon.getLogger().error("Couldn't find a player data for the uuid: " + id.toString());
         }
     }
 
+    /**
+     * Writes every pending and changed entry and waits for the writes to
+     * complete. No further saves are batched afterwards.
+     */
+    public void close() {
+        synchronized (this.lock) {
+            for (final UUID id : this.dirtyEntries) {
+                this.playerDataByUniqueId.get(id).ifPresent(data -> this.pendingSaves.put(id, this.createCompoundFor(data)));
+            }
+            this.dirtyEntries.clear();
+        }
+        try {
+            this.ioExecutor.execute(this::saveBatch);
+        } catch (RejectedExecutionException ignored) {
+            // Already closed
+        }
+        this.ioExecutor.shutdown();
+        try {
+            if (!this.ioExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                SpongeCommon.getLogger().warn("Timed out waiting for player data to be saved");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scheduleSave() {
+        if (!this.saveScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Saves usually come in bursts, all players get saved at once, so give the batch a moment to fill up
+            this.ioExecutor.schedule(this::saveBatch, SpongePlayerDataManager.SAVE_BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            this.saveBatch();
+        }
+    }
+
+    private void saveBatch() {
+        this.saveScheduled.set(false);
+        final Map<UUID, CompoundNBT> batch;
+        synchronized (this.lock) {
+            if (this.pendingSaves.isEmpty()) {
+                return;
+            }
+            batch = new HashMap<>(this.pendingSaves);
+        }
+        for (final Map.Entry<UUID, CompoundNBT> entry : batch.entrySet()) {
+            this.saveFile(entry.getKey().toString(), entry.getValue());
+        }
+        synchronized (this.lock) {
+            // Anything saved again in the meantime stays queued for the next batch
+            for (final Map.Entry<UUID, CompoundNBT> entry : batch.entrySet()) {
+                this.pendingSaves.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Nullable
+    private SpongePlayerData getData(final UUID uniqueId) {
+        final CompoundNBT pendingCompound;
+        synchronized (this.lock) {
+            final Optional<SpongePlayerData> cached = this.playerDataByUniqueId.get(uniqueId);
+            if (cached != null) {
+                return cached.orElse(null);
+            }
+            pendingCompound = this.pendingSaves.get(uniqueId);
+        }
+
+        // Evicted entries may not have reached the disk yet, their queued snapshot is the latest state
+        final SpongePlayerData data = pendingCompound != null ? this.readCompound(pendingCompound) : this.readFile(uniqueId);
+        synchronized (this.lock) {
+            final Optional<SpongePlayerData> cached = this.playerDataByUniqueId.putIfAbsent(uniqueId, Optional.ofNullable(data));
+            return cached == null ? data : cached.orElse(null);
+        }
+    }
+
+    @Nullable
+    private SpongePlayerData readFile(final UUID uniqueId) {
+        final Path playerFile = this.getPlayersDirectory().resolve(uniqueId.toString() + ".dat");
+        if (!Files.isReadable(playerFile)) {
+            return null;
+        }
+
+        final CompoundNBT compound;
+        try (final InputStream stream = Files.newInputStream(playerFile)) {
+            compound = CompressedStreamTools.readCompressed(stream);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to decompress playerdata for playerfile " + playerFile, e);
+        }
+
+        if (compound.isEmpty()) {
+            throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
+        }
+
+        return this.readCompound(compound);
+    }
+
+    private SpongePlayerData readCompound(final CompoundNBT compound) {
+        final DataContainer container = NbtTranslator.getInstance().translateFrom(compound);
+        return container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
+    }
+
     private CompoundNBT createCompoundFor(final SpongePlayerData data) {
         return NbtTranslator.getInstance().translateData(data.toContainer());
     }
 
+    private Path getPlayersDirectory() {
+        Path playersDirectory = this.playersDirectory;
+        if (playersDirectory == null) {
+            playersDirectory = this.server.getWorldManager().getSavesDirectory().resolve("data").resolve(SPONGE_DATA);
+            this.playersDirectory = playersDirectory;
+        }
+        return playersDirectory;
+    }
+
     private void saveFile(final String id, final CompoundNBT compound) {
         try {
             // Ensure that where we want to put this at ALWAYS exists
-            Files.createDirectories(this.playersDirectory);
+            final Path playersDirectory = this.getPlayersDirectory();
+            Files.createDirectories(playersDirectory);
 
-            final Path finalDatPath = this.playersDirectory.resolve(id + ".dat");
-            final Path newDatPath = this.playersDirectory.resolve(id + ".dat.tmp");
+            final Path finalDatPath = playersDirectory.resolve(id + ".dat");
+            final Path newDatPath = playersDirectory.resolve(id + ".dat.tmp");
             try (final OutputStream stream = Files.newOutputStream(newDatPath, StandardOpenOption.CREATE)) {
                 CompressedStreamTools.writeCompressed(compound, stream);
             }
@@ -136,23 +275,27 @@ public void setPlayerInfo(final UUID playerId, final Instant join, final Instant
         checkNotNull(join, "Joined date cannot be null!");
         checkNotNull(last, "Last joined date cannot be null!");
 
-        SpongePlayerData data = this.playerDataByUniqueId.get(checkNotNull(playerId, "Player UUID cannot be null!"));
-        if (data == null) {
-            data = new SpongePlayerData();
-            data.uuid = playerId;
+        final SpongePlayerData existing = this.getData(checkNotNull(playerId, "Player UUID cannot be null!"));
+        synchronized (this.lock) {
+            SpongePlayerData data = existing;
+            if (data == null) {
+                data = new SpongePlayerData();
+                data.uuid = playerId;
+            }
+            data.firstJoined = join.toEpochMilli();
+            data.lastJoined = last.toEpochMilli();
+            this.playerDataByUniqueId.put(playerId, Optional.of(data));
+            this.dirtyEntries.add(playerId);
         }
-        data.firstJoined = join.toEpochMilli();
-        data.lastJoined = last.toEpochMilli();
-        this.playerDataByUniqueId.put(playerId, data);
     }
 
     public Optional<Instant> getFirstJoined(final UUID uniqueId) {
-        final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
+        final SpongePlayerData data = this.getData(uniqueId);
         return Optional.ofNullable(data == null ? null : Instant.ofEpochMilli(data.firstJoined));
     }
 
     public Optional<Instant> getLastPlayed(final UUID uniqueId) {
-        final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
+        final SpongePlayerData data = this.getData(uniqueId);
         return Optional.ofNullable(data == null ? null : Instant.ofEpochMilli(data.lastJoined));
     }
 }
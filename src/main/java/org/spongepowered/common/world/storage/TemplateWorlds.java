@@ -0,0 +1,189 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.datafix.DataFixesManager;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.ChunkLoader;
+import org.spongepowered.common.SpongeCommon;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Tracks worlds that are copy-on-write instances of a template world.
+ *
+ * <p>An instance directory only holds the level data and the chunks the
+ * instance wrote itself. Any chunk an instance hasn't written yet is read
+ * from the region files of its template, which are opened once, shared by
+ * every instance of that template and never written to. Writes always go to
+ * the instance, so a chunk is copied out of the template the first time it
+ * is saved.</p>
+ */
+public final class TemplateWorlds {
+
+    private static final Map<Path, Path> TEMPLATES_BY_INSTANCE = new ConcurrentHashMap<>();
+    private static final Set<Path> DISCARDED_INSTANCES = ConcurrentHashMap.newKeySet();
+    private static final Map<Path, ChunkLoader> TEMPLATE_LOADERS = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a world directory as an instance of a template. This has to
+     * happen before the world is constructed so that its region caches pick
+     * the template up.
+     *
+     * @param instanceDirectory The directory of the instance
+     * @param templateDirectory The directory of the template
+     */
+    public static void register(final Path instanceDirectory, final Path templateDirectory) {
+        TemplateWorlds.TEMPLATES_BY_INSTANCE.put(instanceDirectory.toAbsolutePath().normalize(), templateDirectory.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Gets whether the world directory is a registered instance.
+     *
+     * @param instanceDirectory The directory of the world
+     * @return True if it is an instance of a template
+     */
+    public static boolean isInstance(final Path instanceDirectory) {
+        return TemplateWorlds.TEMPLATES_BY_INSTANCE.containsKey(instanceDirectory.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Marks an instance as discarded, every further chunk write of it is
+     * dropped as the instance is about to be deleted anyway.
+     *
+     * @param instanceDirectory The directory of the instance
+     */
+    public static void discard(final Path instanceDirectory) {
+        TemplateWorlds.DISCARDED_INSTANCES.add(instanceDirectory.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Unregisters an instance, closing the region files of its template once
+     * no other instance uses them.
+     *
+     * @param instanceDirectory The directory of the instance
+     */
+    public static void unregister(final Path instanceDirectory) {
+        final Path instance = instanceDirectory.toAbsolutePath().normalize();
+        TemplateWorlds.DISCARDED_INSTANCES.remove(instance);
+        final Path template = TemplateWorlds.TEMPLATES_BY_INSTANCE.remove(instance);
+        if (template == null || TemplateWorlds.TEMPLATES_BY_INSTANCE.containsValue(template)) {
+            return;
+        }
+
+        final Iterator<Map.Entry<Path, ChunkLoader>> iterator = TemplateWorlds.TEMPLATE_LOADERS.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Path, ChunkLoader> entry = iterator.next();
+            if (entry.getKey().startsWith(template)) {
+                iterator.remove();
+                try {
+                    entry.getValue().close();
+                } catch (IOException e) {
+                    SpongeCommon.getLogger().error("Failed to close the template region files in {}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the template counterpart of a region folder of an instance.
+     *
+     * @param folder The region folder
+     * @return The template folder, or null if the folder isn't part of an instance
+     */
+    @Nullable
+    public static Path getTemplateFolder(final Path folder) {
+        final Path normalized = folder.toAbsolutePath().normalize();
+        for (final Map.Entry<Path, Path> entry : TemplateWorlds.TEMPLATES_BY_INSTANCE.entrySet()) {
+            if (normalized.startsWith(entry.getKey())) {
+                return entry.getValue().resolve(entry.getKey().relativize(normalized));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets whether writes to the region folder should be dropped.
+     *
+     * @param folder The region folder
+     * @return True if the folder belongs to a discarded instance
+     */
+    public static boolean isDiscarded(final Path folder) {
+        if (TemplateWorlds.DISCARDED_INSTANCES.isEmpty()) {
+            return false;
+        }
+        final Path normalized = folder.toAbsolutePath().normalize();
+        for (final Path instance : TemplateWorlds.DISCARDED_INSTANCES) {
+            if (normalized.startsWith(instance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads a chunk from the shared region files of a template.
+     *
+     * @param templateFolder The template region folder
+     * @param pos The chunk position
+     * @return The chunk data, or null if the template doesn't have it
+     * @throws IOException If the region file couldn't be read
+     */
+    @Nullable
+    public static CompoundNBT readChunk(final Path templateFolder, final ChunkPos pos) throws IOException {
+        // Never let the region cache create files in the template
+        if (Files.notExists(templateFolder.resolve(TemplateWorlds.getRegionFileName(pos)))) {
+            return null;
+        }
+
+        final ChunkLoader loader = TemplateWorlds.TEMPLATE_LOADERS.computeIfAbsent(templateFolder,
+            folder -> new ChunkLoader(folder.toFile(), DataFixesManager.getDataFixer()));
+        synchronized (loader) {
+            return loader.readChunk(pos);
+        }
+    }
+
+    /**
+     * Gets the name of the region file holding a chunk.
+     *
+     * @param pos The chunk position
+     * @return The file name
+     */
+    public static String getRegionFileName(final ChunkPos pos) {
+        return "r." + pos.getRegionCoordX() + "." + pos.getRegionCoordZ() + ".mca";
+    }
+
+    private TemplateWorlds() {
+    }
+}
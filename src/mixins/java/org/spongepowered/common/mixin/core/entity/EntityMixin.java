@@ -42,7 +42,6 @@
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.IPacket;
 import net.minecraft.network.datasync.EntityDataManager;
-import net.minecraft.network.play.server.SDestroyEntitiesPacket;
 import net.minecraft.network.play.server.SPlayerListItemPacket;
 import net.minecraft.particles.IParticleData;
 import net.minecraft.util.DamageSource;
@@ -109,6 +108,7 @@
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.math.vector.Vector3d;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -181,7 +181,6 @@ public abstract class EntityMixin implements EntityBridge, TrackableBridge, Vani
     @Nullable private Cause impl$destructCause;
     private int impl$customFireImmuneTicks = this.shadow$getFireImmuneTicks();
     private boolean impl$skipSettingCustomNameTag = false;
-    private int vanish$visibilityTicks = 0;
 
     // @formatter:on
 /*
@@ -355,41 +354,50 @@ public void stopRiding() {
     }
 
 
-    @SuppressWarnings({"ConstantConditions", "RedundantCast"})
     @Inject(method = "tick",
         at = @At("RETURN"))
     private void impl$updateVanishState(final CallbackInfo callbackInfo) {
         if (this.vanish$pendingVisibilityUpdate && !this.world.isRemote) {
-            final EntityTrackerAccessor trackerAccessor = ((ChunkManagerAccessor) ((ServerWorld) this.world).getChunkProvider().chunkManager).accessor$getEntityTrackers().get(this.shadow$getEntityId());
-            if (trackerAccessor != null && this.vanish$visibilityTicks % 4 == 0) {
-                if (this.vanish$isVanished) {
-                    for (final ServerPlayerEntity entityPlayerMP : trackerAccessor.accessor$getTrackingPlayers()) {
-                        entityPlayerMP.connection.sendPacket(new SDestroyEntitiesPacket(this.shadow$getEntityId()));
-                        if ((Entity) (Object) this instanceof ServerPlayerEntity) {
-                            entityPlayerMP.connection.sendPacket(
-                                new SPlayerListItemPacket(SPlayerListItemPacket.Action.REMOVE_PLAYER, (ServerPlayerEntity) (Object) this));
-                        }
-                    }
-                } else {
-                    this.vanish$visibilityTicks = 1;
-                    this.vanish$pendingVisibilityUpdate = false;
-                    for (final ServerPlayerEntity entityPlayerMP : SpongeCommon.getServer().getPlayerList().getPlayers()) {
-                        if ((Entity) (Object) this == entityPlayerMP) {
-                            continue;
-                        }
-                        if ((Entity) (Object) this instanceof ServerPlayerEntity) {
-                            final IPacket<?> packet = new SPlayerListItemPacket(SPlayerListItemPacket.Action.ADD_PLAYER, (ServerPlayerEntity) (Object) this);
-                            entityPlayerMP.connection.sendPacket(packet);
-                        }
-                        trackerAccessor.accessor$getEntry().sendSpawnPackets(entityPlayerMP.connection::sendPacket);
-                    }
+            this.vanish$pendingVisibilityUpdate = false;
+            this.vanish$updateTrackingPlayers();
+        }
+    }
+
+    /**
+     * Vanished entities are removed from the tracking players of their
+     * tracker instead of filtering every packet sent to them, and the
+     * {@code ChunkManager.EntityTracker} keeps them from being tracked again
+     * while they are vanished.
+     */
+    @SuppressWarnings({"ConstantConditions", "RedundantCast"})
+    private void vanish$updateTrackingPlayers() {
+        if (!(this.world instanceof ServerWorld)) {
+            return;
+        }
+        final EntityTrackerAccessor trackerAccessor = ((ChunkManagerAccessor) ((ServerWorld) this.world).getChunkProvider().chunkManager).accessor$getEntityTrackers().get(this.shadow$getEntityId());
+        if (trackerAccessor == null) {
+            return;
+        }
+        if (this.vanish$isVanished) {
+            if ((Entity) (Object) this instanceof ServerPlayerEntity) {
+                final IPacket<?> packet = new SPlayerListItemPacket(SPlayerListItemPacket.Action.REMOVE_PLAYER, (ServerPlayerEntity) (Object) this);
+                for (final ServerPlayerEntity entityPlayerMP : trackerAccessor.accessor$getTrackingPlayers()) {
+                    entityPlayerMP.connection.sendPacket(packet);
                 }
             }
-            if (this.vanish$visibilityTicks > 0) {
-                this.vanish$visibilityTicks--;
-            } else {
-                this.vanish$pendingVisibilityUpdate = false;
+            // removeAllTrackers untracks without clearing the tracking players, go through
+            // updateTrackingState instead, which drops vanished entities for every player
+            trackerAccessor.accessor$updateTrackingState(new ArrayList<>(trackerAccessor.accessor$getTrackingPlayers()));
+        } else {
+            if ((Entity) (Object) this instanceof ServerPlayerEntity) {
+                final IPacket<?> packet = new SPlayerListItemPacket(SPlayerListItemPacket.Action.ADD_PLAYER, (ServerPlayerEntity) (Object) this);
+                for (final ServerPlayerEntity entityPlayerMP : SpongeCommon.getServer().getPlayerList().getPlayers()) {
+                    if ((Entity) (Object) this != entityPlayerMP) {
+                        entityPlayerMP.connection.sendPacket(packet);
+                    }
+                }
             }
+            trackerAccessor.accessor$updateTrackingState(((ServerWorld) this.world).getPlayers());
         }
     }
 
@@ -592,9 +600,15 @@ public void stopRiding() {
 
     @Override
     public void bridge$setVanished(final boolean vanished) {
+        final boolean changed = this.vanish$isVanished != vanished;
         this.vanish$isVanished = vanished;
-        this.vanish$pendingVisibilityUpdate = true;
-        this.vanish$visibilityTicks = 20;
+        if (changed) {
+            if (this.world != null && !this.world.isRemote && SpongeCommon.getServer().isOnExecutionThread()) {
+                this.vanish$updateTrackingPlayers();
+            } else {
+                this.vanish$pendingVisibilityUpdate = true;
+            }
+        }
         if (vanished) {
             final CompoundNBT spongeData = ((DataCompoundHolder) this).data$getSpongeDataCompound();
             spongeData.putBoolean(Constants.Sponge.Entity.IS_VANISHED, true);
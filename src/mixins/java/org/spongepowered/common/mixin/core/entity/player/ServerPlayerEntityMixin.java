@@ -26,6 +26,7 @@
 
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.play.ServerPlayNetHandler;
+import net.minecraft.world.server.ServerWorld;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -36,6 +37,8 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.world.server.ChunkManagerAccessor;
+import org.spongepowered.common.accessor.world.server.EntityTrackerAccessor;
 import org.spongepowered.common.bridge.entity.player.ServerPlayerEntityBridge;
 import org.spongepowered.common.bridge.network.ServerPlayNetHandlerBridge;
 import org.spongepowered.common.bridge.permissions.SubjectBridge;
@@ -50,6 +53,7 @@ public abstract class ServerPlayerEntityMixin extends PlayerEntityMixin implemen
     @Shadow public ServerPlayNetHandler connection;
 
     private final User impl$user = this.impl$getUserObjectOnConstruction();
+    private int impl$entityTrackingRange = -1;
 
     @Override
     public String bridge$getSubjectCollectionIdentifier() {
@@ -81,6 +85,25 @@ public abstract class ServerPlayerEntityMixin extends PlayerEntityMixin implemen
         return Optional.of(this.impl$user);
     }
 
+    @Override
+    public int bridge$getEntityTrackingRange() {
+        return this.impl$entityTrackingRange;
+    }
+
+    @Override
+    public void bridge$setEntityTrackingRange(final int range) {
+        if (this.impl$entityTrackingRange == range) {
+            return;
+        }
+        this.impl$entityTrackingRange = range;
+        if (this.world instanceof ServerWorld) {
+            for (final EntityTrackerAccessor tracker : ((ChunkManagerAccessor) ((ServerWorld) this.world).getChunkProvider().chunkManager)
+                .accessor$getEntityTrackers().values()) {
+                tracker.accessor$updateTrackingState((ServerPlayerEntity) (Object) this);
+            }
+        }
+    }
+
     // TODO: this, properly.
     @Override
     public boolean bridge$isVanished() {
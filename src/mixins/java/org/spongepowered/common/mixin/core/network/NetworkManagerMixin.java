@@ -24,21 +24,32 @@
  */
 package org.spongepowered.common.mixin.core.network;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.local.LocalAddress;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import net.minecraft.network.IPacket;
 import net.minecraft.network.NetworkManager;
+import net.minecraft.network.ProtocolType;
 import org.spongepowered.api.MinecraftVersion;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.SpongeMinecraftVersion;
 import org.spongepowered.common.bridge.network.NetworkManagerBridge;
+import org.spongepowered.common.network.SpongeNetworkManager;
 import org.spongepowered.common.util.Constants;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 
@@ -46,11 +57,15 @@
 public abstract class NetworkManagerMixin extends SimpleChannelInboundHandler implements NetworkManagerBridge {
 
     @Shadow private Channel channel;
+    @Shadow @Final private Queue<?> outboundPacketsQueue;
 
     @Shadow public abstract SocketAddress getRemoteAddress();
+    @Shadow public abstract boolean isChannelOpen();
+    @Shadow public abstract void sendPacket(IPacket<?> packetIn, @Nullable GenericFutureListener<? extends Future<? super Void>> listener);
 
     @Nullable private InetSocketAddress impl$virtualHost;
     @Nullable private MinecraftVersion impl$version;
+    private final AtomicBoolean impl$flushPending = new AtomicBoolean();
 
     @Override
     public InetSocketAddress bridge$getAddress() {
@@ -93,4 +108,45 @@ public abstract class NetworkManagerMixin extends SimpleChannelInboundHandler im
         this.impl$version = new SpongeMinecraftVersion(String.valueOf(version), version);
     }
 
+    @Override
+    public void bridge$queuePacket(final IPacket<?> packet, @Nullable final GenericFutureListener<? extends Future<? super Void>> listener) {
+        if (!this.isChannelOpen() || !this.outboundPacketsQueue.isEmpty()) {
+            // Let Vanilla deal with the packets that are waiting for the channel to open
+            this.sendPacket(packet, listener);
+            return;
+        }
+        final ChannelFuture future = this.channel.write(packet);
+        if (listener != null) {
+            future.addListener(listener);
+        }
+        future.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        this.impl$scheduleFlush();
+    }
+
+    @Override
+    public void bridge$queueEncodedPacket(final ByteBuf encoded, final IPacket<?> packet) {
+        if (!this.isChannelOpen() || !this.outboundPacketsQueue.isEmpty()
+            || this.channel.attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() != ProtocolType.PLAY) {
+            encoded.release();
+            this.sendPacket(packet, null);
+            return;
+        }
+        // The packet encoder passes buffers through untouched, only framing, compression and encryption are applied
+        this.channel.write(encoded).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        this.impl$scheduleFlush();
+    }
+
+    private void impl$scheduleFlush() {
+        // Schedule the flush after writing, so a concurrent flush either sees this flag or comes after the write
+        if (!this.impl$flushPending.getAndSet(true)) {
+            SpongeNetworkManager.scheduleFlush((NetworkManager) (Object) this);
+        }
+    }
+
+    @Override
+    public void bridge$flushQueuedPackets() {
+        if (this.impl$flushPending.getAndSet(false) && this.channel.isOpen()) {
+            this.channel.flush();
+        }
+    }
 }
@@ -48,6 +48,7 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.SpongeServer;
 import org.spongepowered.common.bridge.network.ServerLoginNetHandlerBridge;
 import org.spongepowered.common.text.SpongeTexts;
 
@@ -104,6 +105,9 @@ public abstract class ServerLoginNetHandlerMixin implements ServerLoginNetHandle
         SpongeCommon.postEvent(event);
         if (event.isCancelled()) {
             this.impl$disconnectClient(event.isMessageCancelled() ? Optional.empty() : Optional.of(event.getMessage()));
+        } else if (this.loginGameProfile.getId() != null) {
+            // Start reading the player's data while the rest of the login happens
+            ((SpongeServer) SpongeCommon.getServer()).getPlayerDataManager().prefetch(this.loginGameProfile.getId());
         }
         return event.isCancelled();
     }
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.network.play;
+
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.play.ServerPlayNetHandler;
+import net.minecraft.network.play.client.CCustomPayloadPacket;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.network.play.client.CCustomPayloadPacketAccessor;
+import org.spongepowered.common.command.manager.SpongeCommandManager;
+import org.spongepowered.common.network.AsyncDecodingChannel;
+import org.spongepowered.common.network.SpongeNetworkManager;
+
+@Mixin(ServerPlayNetHandler.class)
+public abstract class ServerPlayNetHandlerMixin {
+
+    @Shadow public ServerPlayerEntity player;
+    @Shadow @Final public NetworkManager netManager;
+
+    /**
+     * Custom payloads are processed on the network thread, payloads of
+     * channels that decode asynchronously are decoded right here and only the
+     * decoded message is passed on to the main thread.
+     */
+    @Inject(method = "processCustomPayload", at = @At("HEAD"), cancellable = true)
+    private void impl$decodeAsyncPayload(final CCustomPayloadPacket packet, final CallbackInfo ci) {
+        final CCustomPayloadPacketAccessor accessor = (CCustomPayloadPacketAccessor) packet;
+        final AsyncDecodingChannel<?> channel = SpongeNetworkManager.getAsyncDecodingChannel(accessor.accessor$getChannel());
+        if (channel == null) {
+            return;
+        }
+        channel.receive(this.player, this.netManager, accessor.accessor$getData());
+        ci.cancel();
+    }
+
+    /**
+     * Commands sent in chat go through {@link SpongeCommandManager#handleCommandAsync}
+     * when they may be parsed off the main thread.
+     */
+    @Redirect(method = "handleSlashCommand",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/command/Commands;handleCommand(Lnet/minecraft/command/CommandSource;Ljava/lang/String;)I"))
+    private int impl$handleCommandAsync(final Commands commands, final CommandSource source, final String command) {
+        if (!SpongeCommon.getGlobalConfigAdapter().getConfig().getCommands().isAsyncParsing()) {
+            return commands.handleCommand(source, command);
+        }
+        ((SpongeCommandManager) SpongeCommon.getGame().getCommandManager()).handleCommandAsync(source, command);
+        return 0;
+    }
+}
@@ -42,13 +42,21 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.SpongeServer;
 import org.spongepowered.common.bridge.command.CommandSourceProviderBridge;
 import org.spongepowered.common.bridge.permissions.SubjectBridge;
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickProfiler;
+import org.spongepowered.common.network.SpongeNetworkManager;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.service.user.SpongeUserManager;
+import org.spongepowered.common.util.metric.LocalMetrics;
+import org.spongepowered.common.util.metric.LocalMetricsExporter;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
 
 import javax.annotation.Nullable;
@@ -92,6 +100,36 @@ public MinecraftServerMixin(String name) {
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Could not initialize the server PhaseTracker!");
         }
+        LocalMetricsExporter.start();
+    }
+
+    @Inject(method = "stopServer", at = @At("HEAD"))
+    private void impl$stopMetricsExporter(CallbackInfo ci) {
+        LocalMetricsExporter.stop();
+    }
+
+    @Inject(method = "stopServer", at = @At("RETURN"))
+    private void impl$flushPlayerData(CallbackInfo ci) {
+        ((SpongeServer) this).getPlayerDataManager().close();
+    }
+
+    @Inject(method = "stopServer", at = @At("RETURN"))
+    private void impl$stopUserLoader(CallbackInfo ci) {
+        ((SpongeUserManager) ((SpongeServer) this).getUserManager()).shutdown();
+    }
+
+    @Inject(method = "stopServer", at = @At("RETURN"))
+    private void impl$closeUsernameCache(CallbackInfo ci) {
+        ((SpongeServer) this).getUsernameCache().close();
+    }
+
+    @Inject(method = "stopServer", at = @At("HEAD"))
+    private void impl$stopTickProfiler(CallbackInfo ci) {
+        try {
+            TickProfiler.stop();
+        } catch (IOException e) {
+            SpongeCommon.getLogger().error("Could not write the tick profile", e);
+        }
     }
 
 //    /**
@@ -140,6 +178,24 @@ public String toString() {
     @Inject(method = "tick", at = @At(value = "HEAD"))
     private void impl$onServerTickStart(CallbackInfo ci) {
         TimingsManager.FULL_SERVER_TICK.startTiming();
+        LocalMetrics.onTickStart();
+        TickProfiler.onTickStart();
+    }
+
+    @Inject(method = "tick", at = @At(value = "HEAD"))
+    private void impl$processDecodedPayloads(CallbackInfo ci) {
+        SpongeNetworkManager.processDecodedPayloads();
+    }
+
+    @Inject(method = "tick", at = @At(value = "RETURN"))
+    private void impl$flushQueuedPackets(CallbackInfo ci) {
+        SpongeNetworkManager.flushPendingPackets();
+    }
+
+    @Inject(method = "tick", at = @At(value = "RETURN"))
+    private void impl$recordTickMetrics(CallbackInfo ci) {
+        LocalMetrics.onTickEnd();
+        TickProfiler.onTickEnd();
     }
 
     @Override
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.util;
+
+import net.minecraft.util.NonNullList;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.inventory.fabric.FabricContentIndex;
+
+@Mixin(NonNullList.class)
+public abstract class NonNullListMixin {
+
+    // Inventories keep their stacks in non null lists, so replacing one is a possible content change
+
+    @Inject(method = "set", at = @At("HEAD"))
+    private void impl$markContentChangedOnSet(final int index, final Object element, final CallbackInfoReturnable<Object> cir) {
+        FabricContentIndex.markChanged();
+    }
+
+    @Inject(method = "add", at = @At("HEAD"))
+    private void impl$markContentChangedOnAdd(final int index, final Object element, final CallbackInfo ci) {
+        FabricContentIndex.markChanged();
+    }
+
+    @Inject(method = "remove", at = @At("HEAD"))
+    private void impl$markContentChangedOnRemove(final int index, final CallbackInfoReturnable<Object> cir) {
+        FabricContentIndex.markChanged();
+    }
+}
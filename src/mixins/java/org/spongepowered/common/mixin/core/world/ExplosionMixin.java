@@ -25,7 +25,6 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.Sets;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -33,7 +32,6 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.fluid.IFluidState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.particles.ParticleTypes;
 import net.minecraft.tileentity.TileEntity;
@@ -68,6 +66,9 @@
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.context.CaptureBlockPos;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.explosion.ExplosionExposureCache;
+import org.spongepowered.common.world.explosion.ExplosionRayEngine;
+import org.spongepowered.common.world.explosion.PackedLocationList;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -75,7 +76,6 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 
 @Mixin(net.minecraft.world.Explosion.class)
 public abstract class ExplosionMixin implements ExplosionBridge {
@@ -99,10 +99,6 @@ public abstract class ExplosionMixin implements ExplosionBridge {
     @Shadow @Final private float size;
     @Shadow @Final private net.minecraft.world.Explosion.Mode mode;
 
-    @Shadow public static float shadow$getBlockDensity(Vec3d p_222259_0_, Entity p_222259_1_) {
-        throw new UnsupportedOperationException("shadows");
-    }
-
 
     @Inject(method = "<init>*", at = @At("RETURN"))
     private void onConstructed(net.minecraft.world.World worldIn, @Nullable Entity exploderIn, double xIn, double yIn, double zIn, float sizeIn, boolean causesFireIn, net.minecraft.world.Explosion.Mode modeIn,
@@ -126,50 +122,9 @@ private void onConstructed(net.minecraft.world.World worldIn, @Nullable Entity e
     public void doExplosionA() {
         // Sponge Start - If the explosion should not break blocks, don't bother calculating it
         if (this.impl$shouldBreakBlocks) {
-            final Set<BlockPos> set = Sets.newHashSet();
-
-            for (int j = 0; j < impl$resolution; ++j) {
-                for (int k = 0; k < impl$resolution; ++k) {
-                    for (int l = 0; l < impl$resolution; ++l) {
-                        if (j == 0 || j == impl$resolution - 1 || k == 0 || k == impl$resolution - 1 || l == 0 || l == impl$resolution - 1) {
-                            double d0 = (double) ((float) j / (float)(impl$resolution - 1) * 2.0F - 1.0F);
-                            double d1 = (double) ((float) k / (float)(impl$resolution - 1) * 2.0F - 1.0F);
-                            double d2 = (double) ((float) l / (float)(impl$resolution - 1) * 2.0F - 1.0F);
-                            final double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
-                            d0 = d0 / d3;
-                            d1 = d1 / d3;
-                            d2 = d2 / d3;
-                            float f = this.size * (0.7F + this.world.rand.nextFloat() * 0.6F);
-                            double d4 = this.x;
-                            double d6 = this.y;
-                            double d8 = this.z;
-
-                            for (final float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-                                final BlockPos blockpos = new BlockPos(d4, d6, d8);
-                                final BlockState iblockstate = this.world.getBlockState(blockpos);
-                                IFluidState ifluidstate = this.world.getFluidState(blockpos);
-                                if (!iblockstate.isAir() || !ifluidstate.isEmpty()) {
-                                    float f2 = Math.max(iblockstate.getBlock().getExplosionResistance(), ifluidstate.getExplosionResistance());
-                                    if (this.exploder != null) {
-                                        f2 = this.exploder.getExplosionResistance((net.minecraft.world.Explosion) (Object) this, this.world, blockpos, iblockstate, ifluidstate, f2);
-                                    }
-
-                                    f -= (f2 + 0.3F) * 0.3F;
-                                }
-                                if (f > 0.0F && (this.exploder == null || this.exploder.canExplosionDestroyBlock((net.minecraft.world.Explosion) (Object) this, this.world, blockpos, iblockstate, f))) {
-                                    set.add(blockpos);
-                                }
-
-                                d4 += d0 * 0.30000001192092896D;
-                                d6 += d1 * 0.30000001192092896D;
-                                d8 += d2 * 0.30000001192092896D;
-                            }
-                        }
-                    }
-                }
-            }
-
-            this.affectedBlockPositions.addAll(set);
+            // Sponge - Trace the rays through our engine, which caches chunk, resistance and position lookups
+            ExplosionRayEngine.traceAffectedBlocks((net.minecraft.world.Explosion) (Object) this, this.world, this.exploder,
+                    this.x, this.y, this.z, this.size, this.impl$resolution, this.affectedBlockPositions);
         } // Sponge - Finish if statement
         final float f3 = this.size * 2.0F;
         final int k1 = MathHelper.floor(this.x - (double) f3 - 1.0D);
@@ -185,11 +140,10 @@ public void doExplosionA() {
                             : Collections.emptyList();
         // Now we can throw our Detonate Event
         if (ShouldFire.EXPLOSION_EVENT_DETONATE) {
-            final List<ServerLocation> blockPositions = new ArrayList<>(this.affectedBlockPositions.size());
+            // Locations are only created for the positions that are actually looked at by listeners
+            final PackedLocationList blockPositions =
+                new PackedLocationList((org.spongepowered.api.world.server.ServerWorld) this.world, this.affectedBlockPositions);
             final List<org.spongepowered.api.entity.Entity> entities = new ArrayList<>(list.size());
-            for (final BlockPos pos : this.affectedBlockPositions) {
-                blockPositions.add(ServerLocation.of((org.spongepowered.api.world.server.ServerWorld) this.world, pos.getX(), pos.getY(), pos.getZ()));
-            }
             for (final Entity entity : list) {
                 // Make sure to check the entity is immune first.
                 if (!entity.isImmuneToExplosions()) {
@@ -200,15 +154,21 @@ public void doExplosionA() {
             final ExplosionEvent.Detonate detonate =
                 SpongeEventFactory.createExplosionEventDetonate(cause, blockPositions, entities, (Explosion) this, (org.spongepowered.api.world.server.ServerWorld) this.world);
             SpongeCommon.postEvent(detonate);
-            // Clear the positions so that they can be pulled from the event
-            this.affectedBlockPositions.clear();
             if (detonate.isCancelled()) {
+                this.affectedBlockPositions.clear();
                 return;
             }
-            if (this.impl$shouldBreakBlocks) {
-                for (final ServerLocation worldLocation : detonate.getAffectedLocations()) {
+            // Only pull the positions from the event if they have been changed
+            final List<ServerLocation> affectedLocations = detonate.getAffectedLocations();
+            if (!this.impl$shouldBreakBlocks) {
+                this.affectedBlockPositions.clear();
+            } else if (affectedLocations != blockPositions) {
+                this.affectedBlockPositions.clear();
+                for (final ServerLocation worldLocation : affectedLocations) {
                     this.affectedBlockPositions.add(VecHelper.toBlockPos(worldLocation));
                 }
+            } else if (blockPositions.isModified()) {
+                blockPositions.writeTo(this.affectedBlockPositions);
             }
             // Clear the list of entities so they can be pulled from the event.
             list.clear();
@@ -242,7 +202,7 @@ public void doExplosionA() {
                         d5 = d5 / d13;
                         d7 = d7 / d13;
                         d9 = d9 / d13;
-                        double d14 = (double) shadow$getBlockDensity(vec3d, entity);
+                        double d14 = (double) ExplosionExposureCache.getBlockDensity(vec3d, entity); // Sponge - Re-use exposures within the same tick
                         final double d10 = (1.0D - d12) * d14;
                         entity.attackEntityFrom(
                                 DamageSource.causeExplosionDamage((net.minecraft.world.Explosion) (Object) this), (float) ((int) ((d10 * d10 + d10) / 2.0D * 7.0D * (double) f3 + 1.0D)));
@@ -34,61 +34,43 @@
 import net.minecraft.world.server.ServerWorld;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyArg;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.bridge.data.VanishableBridge;
 import org.spongepowered.common.bridge.entity.player.ServerPlayerEntityBridge;
 import org.spongepowered.common.entity.living.human.HumanEntity;
 import org.spongepowered.common.accessor.network.datasync.EntityDataManagerAccessor;
 import org.spongepowered.common.network.SpoofedEntityDataManager;
+import org.spongepowered.common.world.server.EntityTrackingStats;
 
 import java.util.Collection;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 @Mixin(TrackedEntity.class)
 public abstract class TrackedEntityMixin {
 
     @Shadow @Final private Entity trackedEntity;
-    @Shadow @Final @Mutable private Consumer<IPacket<?>> packetConsumer;
+    @Shadow @Final private Consumer<IPacket<?>> packetConsumer;
+    @Shadow @Final private ServerWorld world;
 
     /**
-     * @author gabizou - January 10th, 2020 - Minecraft 1.14.3
-     * @reason Because the packets for *most* all entity updates are handled
-     * through this consumer tick, basically all the players tracking the
-     * {@link #trackedEntity} can be updated within the {@code net.minecraft.world.server.ChunkManager.EntityTracker}
-     * which maintains which players are being updated for all "tick" updates. The problem
-     * with this is that we don't really care about which updates are sent, but rather
-     * whether the update packets are sent at all (ideally so that hack clients thinking
-     * they can sniff for invisible entities or players is possible). Likewise, what this
-     * involves doing is setting up several safeguards against the common accessors for
-     * any and all players tracking our tracked entity by filtering the consumer first,
-     * then as a fail safe, the EntityTracker mixin. Meanwhile, all other states are updated
-     * just fine.
-     *
-     * @param world The world
-     * @param tracked The entity being tracked
-     * @param update The update frequency
-     * @param sendVelocity Whether velocity updates are sent
-     * @param consumer The consumer (a method handle for EntityTracker#sendToAllTracking)
-     * @param ci The callback info
+     * Keeps the per world count of tracked pairs up to date. Note that
+     * vanished entities are never tracked by any player, see
+     * {@code ChunkManager_EntityTrackerMixin}, so the packets sent through the
+     * {@link #packetConsumer} don't need to be filtered for them.
      */
-    @Inject(method = "<init>", at = @At("TAIL"))
-    private void impl$wrapConsumer(ServerWorld world, Entity tracked, int update, boolean sendVelocity, Consumer<IPacket<?>> consumer, CallbackInfo ci) {
-        this.packetConsumer = (packet)  -> {
-            if (this.trackedEntity instanceof VanishableBridge) {
-                if (!((VanishableBridge) this.trackedEntity).bridge$isVanished()) {
-                    consumer.accept(packet);
-                }
-            }
-        };
+    @Inject(method = "track", at = @At("HEAD"))
+    private void impl$countTrackedPair(final ServerPlayerEntity player, final CallbackInfo ci) {
+        EntityTrackingStats.onTrack(this.world);
     }
 
+    @Inject(method = "untrack", at = @At("HEAD"))
+    private void impl$countUntrackedPair(final ServerPlayerEntity player, final CallbackInfo ci) {
+        EntityTrackingStats.onUntrack(this.world);
+    }
 
     /**
      * @author gabizou - January 10th, 2020 - Minecraft 1.14.3
@@ -130,8 +112,12 @@ public void onSendSpawnPacket(Consumer<IPacket<?>> consumer, Object spawnPacket)
             return;
         }
         HumanEntity human = (HumanEntity) this.trackedEntity;
-        Stream<IPacket<?>> packets = human.popQueuedPackets(null);
-        packets.forEach(this.packetConsumer);
+        final IPacket<?>[] packets = human.popQueuedPackets(null);
+        if (packets != null) {
+            for (final IPacket<?> packet : packets) {
+                this.packetConsumer.accept(packet);
+            }
+        }
         // Note that this will further call in ChunkManager_EntityTrackerMixin
         // for any player specific packets to send.
     }
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.world.storage.TemplateWorlds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Mixin(RegionFileCache.class)
+public abstract class RegionFileCacheMixin {
+
+    @Shadow @Final protected Long2ObjectLinkedOpenHashMap<RegionFile> cache;
+    @Shadow @Final private File folder;
+
+    @Nullable private Path impl$templateFolder;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void impl$findTemplateFolder(File folder, CallbackInfo ci) {
+        this.impl$templateFolder = TemplateWorlds.getTemplateFolder(folder.toPath());
+    }
+
+    @Inject(method = "readChunk", at = @At("HEAD"), cancellable = true)
+    private void impl$readUntouchedRegionFromTemplate(ChunkPos pos, CallbackInfoReturnable<CompoundNBT> cir) throws IOException {
+        if (this.impl$templateFolder == null) {
+            return;
+        }
+
+        // Opening the region of the instance would create it on disk, leave that to the first write
+        if (!this.cache.containsKey(ChunkPos.asLong(pos.getRegionCoordX(), pos.getRegionCoordZ()))
+                && !new File(this.folder, TemplateWorlds.getRegionFileName(pos)).exists()) {
+            cir.setReturnValue(TemplateWorlds.readChunk(this.impl$templateFolder, pos));
+        }
+    }
+
+    @Inject(method = "readChunk", at = @At("RETURN"), cancellable = true)
+    private void impl$readUntouchedChunkFromTemplate(ChunkPos pos, CallbackInfoReturnable<CompoundNBT> cir) throws IOException {
+        if (this.impl$templateFolder != null && cir.getReturnValue() == null) {
+            cir.setReturnValue(TemplateWorlds.readChunk(this.impl$templateFolder, pos));
+        }
+    }
+
+    @Inject(method = "writeChunk", at = @At("HEAD"), cancellable = true)
+    private void impl$dropWritesOfDiscardedInstance(ChunkPos pos, CompoundNBT compound, CallbackInfo ci) {
+        if (this.impl$templateFolder != null && TemplateWorlds.isDiscarded(this.folder.toPath())) {
+            ci.cancel();
+        }
+    }
+}
@@ -36,14 +36,35 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.bridge.data.VanishableBridge;
+import org.spongepowered.common.bridge.entity.player.ServerPlayerEntityBridge;
+import org.spongepowered.common.config.GlobalConfigSnapshot;
 import org.spongepowered.common.entity.living.human.HumanEntity;
+import org.spongepowered.common.network.SharedPacketCache;
 
-import java.util.stream.Stream;
+import java.util.Set;
 
 @Mixin(targets = "net/minecraft/world/server/ChunkManager$EntityTracker")
 public abstract class ChunkManager_EntityTrackerMixin {
 
     @Shadow @Final private Entity entity;
+    @Shadow @Final private Set<ServerPlayerEntity> trackingPlayers;
+
+    /**
+     * Shares a single encoding of entity update packets between all the
+     * tracking players, see {@link SharedPacketCache}. Humans are excluded
+     * since they send queued packets per player below.
+     *
+     * @param packet The packet to send
+     * @param ci The callback info
+     */
+    @Inject(method = "sendToAllTracking", at = @At("HEAD"), cancellable = true)
+    private void impl$sendSharedPacket(final IPacket<?> packet, final CallbackInfo ci) {
+        if (GlobalConfigSnapshot.get().shareEncodedEntityPackets && !(this.entity instanceof HumanEntity)
+            && SharedPacketCache.canShare(packet, this.trackingPlayers)) {
+            SharedPacketCache.send(packet, this.trackingPlayers);
+            ci.cancel();
+        }
+    }
 
     /**
      * @author gabizou - January 10th, 2020 - Minecraft 1.14.3
@@ -68,30 +89,24 @@ public abstract class ChunkManager_EntityTrackerMixin {
     )
     private void impl$checkQueuedHumanPackets(IPacket<?> p_219391_1_, CallbackInfo ci, ServerPlayerEntity entity) {
         if (this.entity instanceof HumanEntity) {
-            Stream<IPacket<?>> packets = ((HumanEntity) this.entity).popQueuedPackets(entity);
-            packets.forEach(entity.connection::sendPacket);
+            final IPacket<?>[] packets = ((HumanEntity) this.entity).popQueuedPackets(entity);
+            if (packets != null) {
+                for (final IPacket<?> packet : packets) {
+                    entity.connection.sendPacket(packet);
+                }
+            }
         }
     }
 
     /**
-     * @author gabizou - January 10th, 2020 - Minecraft 1.14.3
-     * @reason Because of the public availability of some methods, a packet
-     * being sent for a "vanished" entity is not permissible since the vanished
-     * entity is being "removed" from clients by way of literally being mimiced being
-     * "untracked". This safeguards the players being updated erroneously.
+     * Vanished entities are kept out of the tracking players entirely, and
+     * are removed from them as soon as they vanish, so packets sent for them
+     * don't have to be filtered when they are sent to all tracking players.
      *
-     * @param p_219391_1_
-     * @param ci
+     * @param entity The tracked entity
+     * @param player The player
+     * @return Whether the player can track the entity
      */
-    @Inject(method = "sendToAllTracking", at = @At("HEAD"), cancellable = true)
-    private void impl$ignoreVanished(IPacket<?> p_219391_1_, CallbackInfo ci) {
-        if (this.entity instanceof VanishableBridge) {
-            if (((VanishableBridge) this.entity).bridge$isVanished()) {
-                ci.cancel();
-            }
-        }
-    }
-
     @Redirect(method = "updateTrackingState(Lnet/minecraft/entity/player/ServerPlayerEntity;)V",
             at = @At(
                     value = "INVOKE",
@@ -105,4 +120,23 @@ public abstract class ChunkManager_EntityTrackerMixin {
         return entity.isSpectatedByPlayer(player);
     }
 
+    /**
+     * Applies the entity tracking range of the player, if they have one, on
+     * top of the tracking range of the entity and the view distance.
+     *
+     * @param entityRange The tracking range of the entity
+     * @param viewRange The range of the view distance
+     * @param player The player
+     * @return The range the player tracks the entity within
+     */
+    @Redirect(method = "updateTrackingState(Lnet/minecraft/entity/player/ServerPlayerEntity;)V",
+            at = @At(
+                    value = "INVOKE",
+                    target = "Ljava/lang/Math;min(II)I"))
+    private int impl$applyPlayerTrackingRange(final int entityRange, final int viewRange, final ServerPlayerEntity player) {
+        final int range = Math.min(entityRange, viewRange);
+        final int playerRange = ((ServerPlayerEntityBridge) player).bridge$getEntityTrackingRange();
+        return playerRange < 0 ? range : Math.min(range, playerRange);
+    }
+
 }
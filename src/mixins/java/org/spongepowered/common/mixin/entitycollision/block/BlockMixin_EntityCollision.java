@@ -31,6 +31,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.bridge.world.storage.WorldInfoBridge;
+import org.spongepowered.common.config.ResolvedWorldConfig;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.CollisionModCategory;
 import org.spongepowered.common.config.category.EntityCollisionCategory;
@@ -72,6 +73,12 @@ public abstract class BlockMixin_EntityCollision implements CollisionCapabilityB
     @Override
     public void collision$initializeCollisionState(World world) {
         final SpongeConfig<WorldConfig> worldConfigAdapter = ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter();
+        final ResolvedWorldConfig resolvedConfig = worldConfigAdapter.getResolvedConfig();
+        if (!resolvedConfig.isAutoPopulatingCollisions()) {
+            // Nothing has to be written back to the config, so use the flattened lookup
+            this.collision$setMaxCollisions(resolvedConfig.getMaxCollisions((Block) (Object) this));
+            return;
+        }
         final SpongeConfig<GlobalConfig> globalConfigAdapter = SpongeCommon.getGlobalConfigAdapter();
         final EntityCollisionCategory worldCollCat = worldConfigAdapter.getConfig().getEntityCollisionCategory();
         final EntityCollisionCategory globalCollCat = globalConfigAdapter.getConfig().getEntityCollisionCategory();
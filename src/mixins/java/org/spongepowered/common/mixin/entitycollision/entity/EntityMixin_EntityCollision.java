@@ -26,7 +26,9 @@
 
 import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.world.World;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -37,21 +39,27 @@
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.storage.WorldInfoBridge;
+import org.spongepowered.common.config.ResolvedWorldConfig;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.CollisionModCategory;
 import org.spongepowered.common.config.category.EntityCollisionCategory;
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.bridge.entitycollision.CollisionCapabilityBridge;
+import org.spongepowered.common.bridge.entitycollision.SectionIndexedEntityBridge;
+import org.spongepowered.common.entity.collision.EntitySectionIndex;
 
 @Mixin(value = net.minecraft.entity.Entity.class, priority = 1002)
-public abstract class EntityMixin_EntityCollision implements CollisionCapabilityBridge {
+public abstract class EntityMixin_EntityCollision implements CollisionCapabilityBridge, SectionIndexedEntityBridge {
 
     @Shadow public abstract World shadow$getEntityWorld();
 
     private ResourceKey entityCollision$key;
     private int entityCollision$maxCollisions = 8;
     private boolean entityCollision$refreshCache = false;
+    @Nullable private EntitySectionIndex entityCollision$sectionIndex;
+    private int entityCollision$sectionIndexCell;
+    private int entityCollision$sectionIndexSlot;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void collisions$InjectActivationInformation(net.minecraft.entity.EntityType<?> type, World world, CallbackInfo ci) {
@@ -71,6 +79,36 @@ public abstract class EntityMixin_EntityCollision implements CollisionCapability
         }
     }
 
+    @Inject(method = "setBoundingBox", at = @At("RETURN"))
+    private void collisions$updateSectionIndex(final AxisAlignedBB box, final CallbackInfo ci) {
+        if (this.entityCollision$sectionIndex != null) {
+            this.entityCollision$sectionIndex.update((net.minecraft.entity.Entity) (Object) this);
+        }
+    }
+
+    @Override
+    @Nullable
+    public EntitySectionIndex collision$getSectionIndex() {
+        return this.entityCollision$sectionIndex;
+    }
+
+    @Override
+    public int collision$getSectionIndexCell() {
+        return this.entityCollision$sectionIndexCell;
+    }
+
+    @Override
+    public int collision$getSectionIndexSlot() {
+        return this.entityCollision$sectionIndexSlot;
+    }
+
+    @Override
+    public void collision$setSectionIndex(@Nullable final EntitySectionIndex index, final int cell, final int slot) {
+        this.entityCollision$sectionIndex = index;
+        this.entityCollision$sectionIndexCell = cell;
+        this.entityCollision$sectionIndexSlot = slot;
+    }
+
     @Override
     public ResourceKey collision$getKey() {
         return this.entityCollision$key;
@@ -89,6 +127,16 @@ public abstract class EntityMixin_EntityCollision implements CollisionCapability
     @Override
     public void collision$initializeCollisionState(final World world) {
         final SpongeConfig<WorldConfig> worldConfigAdapter = ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter();
+        final ResolvedWorldConfig resolvedConfig = worldConfigAdapter.getResolvedConfig();
+        if (!resolvedConfig.isAutoPopulatingCollisions()) {
+            // Nothing has to be written back to the config, so use the flattened lookup
+            if ((net.minecraft.entity.Entity) (Object) this instanceof ItemEntity && !((ItemEntity) (Object) this).getItem().isEmpty()) {
+                this.collision$setMaxCollisions(resolvedConfig.getItemEntityMaxCollisions(((ItemEntity) (Object) this).getItem().getItem()));
+            } else {
+                this.collision$setMaxCollisions(resolvedConfig.getMaxCollisions(((net.minecraft.entity.Entity) (Object) this).getType()));
+            }
+            return;
+        }
         final SpongeConfig<GlobalConfig> globalConfigAdapter = SpongeCommon.getGlobalConfigAdapter();
         final EntityCollisionCategory worldCollCat = worldConfigAdapter.getConfig().getEntityCollisionCategory();
         final EntityCollisionCategory globalCollCat = globalConfigAdapter.getConfig().getEntityCollisionCategory();
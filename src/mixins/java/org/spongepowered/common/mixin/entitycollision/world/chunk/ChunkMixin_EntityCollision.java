@@ -27,13 +27,18 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.boss.dragon.EnderDragonEntity;
+import net.minecraft.entity.boss.dragon.EnderDragonPartEntity;
 import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.world.LocatableBlock;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -43,6 +48,9 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.bridge.entitycollision.CollisionCapabilityBridge;
+import org.spongepowered.common.entity.collision.EntityCollisionStats;
+import org.spongepowered.common.entity.collision.EntitySectionIndex;
+import org.spongepowered.common.event.SpongeCommonEventFactory;
 
 import java.util.List;
 import java.util.function.Predicate;
@@ -50,12 +58,39 @@
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class ChunkMixin_EntityCollision {
 
+    @Shadow @Final private ClassInheritanceMultiMap<Entity>[] entityLists;
+
     @Shadow public abstract World shadow$getWorld();
+    @Shadow public abstract ChunkPos shadow$getPos();
 
-    @Inject(method = "getEntitiesWithinAABBForEntity",
-            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    private void collisionsImpl$checkForCollisionRules(@Nullable Entity entity, AxisAlignedBB bb, List<Entity> entities, Predicate<? super Entity> filter,
-            CallbackInfo ci) {
+    private final EntitySectionIndex[] entityCollision$sectionIndexes = new EntitySectionIndex[16];
+
+    @Inject(method = "addEntity", at = @At("RETURN"))
+    private void collisionsImpl$addToSectionIndex(final Entity entity, final CallbackInfo ci) {
+        final EntitySectionIndex index = this.entityCollision$sectionIndexes[entity.chunkCoordY];
+        if (index != null) {
+            index.add(entity);
+        }
+    }
+
+    @Inject(method = "removeEntityAtIndex", at = @At("HEAD"))
+    private void collisionsImpl$removeFromSectionIndex(final Entity entity, final int sectionY, final CallbackInfo ci) {
+        final int section = MathHelper.clamp(sectionY, 0, this.entityLists.length - 1);
+        final EntitySectionIndex index = this.entityCollision$sectionIndexes[section];
+        if (index != null) {
+            index.remove(entity);
+            if (index.size() < EntitySectionIndex.MIN_INDEXED_ENTITIES / 2) {
+                index.invalidate();
+                this.entityCollision$sectionIndexes[section] = null;
+            }
+        }
+    }
+
+    // Answers queries from sources with a collision limit directly, stopping at the limit instead of
+    // gathering every entity first, and uses a spatial index for crowded sections
+    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At("HEAD"), cancellable = true)
+    private void collisionsImpl$checkForCollisionRules(@Nullable final Entity entity, final AxisAlignedBB bb, final List<Entity> entities,
+            @Nullable final Predicate<? super Entity> filter, final CallbackInfo ci) {
         // ignore players and entities with parts (ex. EnderDragon)
         if (this.shadow$getWorld().isRemote() || entities == null || entity instanceof PlayerEntity || entity instanceof EnderDragonEntity) {
             return;
@@ -65,9 +100,36 @@ public abstract class ChunkMixin_EntityCollision {
             return;
         }
 
-        if (!this.entityCollision$allowEntityCollision(entities)) {
-            ci.cancel();
+        final CollisionCapabilityBridge source = this.entityCollision$getCollisionSource();
+        if (source == null || source.collision$getMaxCollisions() < 0) {
+            return;
+        }
+        ci.cancel();
+
+        final int limit = source.collision$getMaxCollisions();
+        final int initialSize = entities.size();
+        boolean truncated = initialSize >= limit;
+        // Same section range as Vanilla, entities may stick out of the section they are in
+        final int minSection = MathHelper.clamp(MathHelper.floor((bb.minY - 2.0D) / 16.0D), 0, this.entityLists.length - 1);
+        final int maxSection = MathHelper.clamp(MathHelper.floor((bb.maxY + 2.0D) / 16.0D), 0, this.entityLists.length - 1);
+        for (int section = minSection; section <= maxSection && !truncated; section++) {
+            final ClassInheritanceMultiMap<Entity> sectionEntities = this.entityLists[section];
+            if (sectionEntities.isEmpty()) {
+                continue;
+            }
+            EntitySectionIndex index = this.entityCollision$sectionIndexes[section];
+            if (index == null && sectionEntities.size() >= EntitySectionIndex.MIN_INDEXED_ENTITIES) {
+                final ChunkPos pos = this.shadow$getPos();
+                index = new EntitySectionIndex(this.shadow$getWorld(), pos.x, section, pos.z, sectionEntities);
+                this.entityCollision$sectionIndexes[section] = index;
+            }
+            truncated = index != null
+                ? index.collect(entity, bb, entities, filter, limit)
+                : ChunkMixin_EntityCollision.entityCollision$collectLinear(sectionEntities, entity, bb, entities, filter, limit);
         }
+        EntityCollisionStats.recordQuery(source, entities.size() - initialSize, truncated);
+        // The collision event is thrown at RETURN of the method, which cancelling skips
+        SpongeCommonEventFactory.throwCollideEntityEvent(this.shadow$getWorld(), entity, entities);
     }
 
     @Inject(method = "getEntitiesOfTypeWithinAABB",
@@ -80,25 +142,53 @@ public abstract class ChunkMixin_EntityCollision {
             return;
         }
 
-        if (!this.entityCollision$allowEntityCollision(entities)) {
+        final CollisionCapabilityBridge source = this.entityCollision$getCollisionSource();
+        if (source != null && source.collision$getMaxCollisions() >= 0 && entities.size() >= source.collision$getMaxCollisions()) {
             ci.cancel();
         }
     }
 
-    private <T extends Entity> boolean entityCollision$allowEntityCollision(List<T> entities) {
+    private static boolean entityCollision$collectLinear(final Iterable<Entity> sectionEntities, @Nullable final Entity except,
+            final AxisAlignedBB bb, final List<Entity> entities, @Nullable final Predicate<? super Entity> filter, final int limit) {
+        for (final Entity candidate : sectionEntities) {
+            if (candidate == except || !candidate.getBoundingBox().intersects(bb)) {
+                continue;
+            }
+            if (filter == null || filter.test(candidate)) {
+                if (entities.size() >= limit) {
+                    return true;
+                }
+                entities.add(candidate);
+            }
+            if (candidate instanceof EnderDragonEntity) {
+                for (final EnderDragonPartEntity part : ((EnderDragonEntity) candidate).getDragonParts()) {
+                    if (part != except && part.getBoundingBox().intersects(bb) && (filter == null || filter.test(part))) {
+                        if (entities.size() >= limit) {
+                            return true;
+                        }
+                        entities.add(part);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private CollisionCapabilityBridge entityCollision$getCollisionSource() {
         if (((WorldBridge) this.shadow$getWorld()).bridge$isFake()) {
-            return true;
+            return null;
         }
 
         if (PhaseTracker.getInstance().getCurrentState().ignoresEntityCollisions()) {
             // allow explosions
-            return true;
+            return null;
         }
 
         final PhaseContext<?> phaseContext = PhaseTracker.getInstance().getPhaseContext();
         final Object source = phaseContext.getSource();
         if (source == null) {
-            return true;
+            return null;
         }
 
         CollisionCapabilityBridge collisionBridge = null;
@@ -112,14 +202,13 @@ public abstract class ChunkMixin_EntityCollision {
         }
 
         if (collisionBridge == null) {
-            return true;
+            return null;
         }
 
         if (collisionBridge.collision$requiresCollisionsCacheRefresh()) {
             collisionBridge.collision$initializeCollisionState(this.shadow$getWorld());
             collisionBridge.collision$requiresCollisionsCacheRefresh(false);
         }
-
-        return !((collisionBridge.collision$getMaxCollisions() >= 0) && (entities.size() >= collisionBridge.collision$getMaxCollisions()));
+        return collisionBridge;
     }
 }
@@ -68,6 +68,8 @@
 import org.spongepowered.common.event.tracking.context.SpongeProxyBlockAccess;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
+import org.spongepowered.common.world.explosion.ExplosionExposureCache;
+import org.spongepowered.common.world.explosion.ExplosionRayEngine;
 
 import java.util.List;
 import java.util.Map;
@@ -181,6 +183,11 @@ public BlockState setBlockState(final BlockPos pos, final BlockState state, fina
         if (oldState == newState) {
             return null;
         }
+        // Sponge - Any change invalidates previously traced explosions and cached exposures around it
+        if (!this.world.isRemote) {
+            ExplosionRayEngine.onBlockChange();
+            ExplosionExposureCache.onBlockChange(pos);
+        }
         // Useless else block
         //} else {
         // Block block = newState.getBlock(); // Vanilla
@@ -440,26 +447,7 @@ public BlockState setBlockState(final BlockPos pos, final BlockState state, fina
     @Inject(method = "getEntitiesWithinAABBForEntity", at = @At("RETURN"))
     private void impl$ThrowCollisionEvent(final Entity entityIn, final AxisAlignedBB aabb, final List<Entity> listToFill,
             final java.util.function.Predicate<? super Entity> filter, final CallbackInfo ci) {
-        if (((WorldBridge) this.world).bridge$isFake() || PhaseTracker.getInstance().getCurrentState().ignoresEntityCollisions()) {
-            return;
-        }
-
-        if (listToFill.isEmpty()) {
-            return;
-        }
-
-        if (!ShouldFire.COLLIDE_ENTITY_EVENT) {
-            return;
-        }
-
-        final CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.world, entityIn, listToFill);
-
-        if (event == null || event.isCancelled()) {
-            if (event == null && !PhaseTracker.getInstance().getCurrentState().isTicking()) {
-                return;
-            }
-            listToFill.clear();
-        }
+        SpongeCommonEventFactory.throwCollideEntityEvent(this.world, entityIn, listToFill);
     }
 
     @Inject(method = "getEntitiesOfTypeWithinAABB", at = @At("RETURN"))
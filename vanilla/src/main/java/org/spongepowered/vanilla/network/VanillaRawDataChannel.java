@@ -28,7 +28,7 @@
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
-import net.minecraft.network.play.server.SCustomPayloadPlayPacket;
+import net.minecraft.network.play.ServerPlayNetHandler;
 import net.minecraft.util.ResourceLocation;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.Platform;
@@ -39,15 +39,28 @@
 import org.spongepowered.api.network.RawDataListener;
 import org.spongepowered.api.network.RemoteConnection;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.network.AsyncPayloadDecoder;
 import org.spongepowered.plugin.PluginContainer;
 import org.spongepowered.vanilla.bridge.network.NetHandlerPlayServerBridge_Vanilla;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.annotation.Nullable;
+
 public final class VanillaRawDataChannel extends VanillaChannelBinding implements ChannelBinding.RawDataChannel {
 
+    // The limit Vanilla places on the payloads sent by clients
+    private static final int MAX_PAYLOAD_SIZE = Short.MAX_VALUE;
+    private static final int MAX_PAYLOADS_PER_SECOND = 200;
+    private static final int QUEUE_CAPACITY = 1024;
+
     private final Set<RawDataListener> listeners = Sets.newIdentityHashSet();
+    private final List<AsyncListener<?>> asyncListeners = new CopyOnWriteArrayList<>();
 
     public VanillaRawDataChannel(ChannelRegistrar registrar, ResourceKey registration, PluginContainer owner) {
         super(registrar, registration, owner);
@@ -66,15 +79,52 @@ public void addListener(Platform.Type side, RawDataListener listener) {
         }
     }
 
+    /**
+     * Adds a listener whose payloads are decoded on the network thread they
+     * are received on, only the decoded message is passed to the listener
+     * on the main thread.
+     *
+     * <p>Once a channel has such a listener, the payloads for the other
+     * listeners of the channel are handled on the main thread as well.</p>
+     *
+     * @param decoder The decoder, called on the network thread
+     * @param listener The listener, called on the main thread
+     * @param <M> The type of the decoded messages
+     */
+    public <M> void addListener(AsyncPayloadDecoder<M> decoder, BiConsumer<ServerPlayer, M> listener) {
+        validate();
+        this.asyncListeners.add(new AsyncListener<>(decoder, listener));
+        if (this.asyncListeners.size() == 1) {
+            enableAsyncDecoding(this::decode, this::handle, MAX_PAYLOAD_SIZE, MAX_PAYLOADS_PER_SECOND, QUEUE_CAPACITY);
+        }
+    }
+
     @Override
     public void removeListener(RawDataListener listener) {
         validate();
         this.listeners.remove(listener);
     }
 
+    public void removeListener(BiConsumer<ServerPlayer, ?> listener) {
+        validate();
+        this.asyncListeners.removeIf(asyncListener -> asyncListener.listener == listener);
+        if (this.asyncListeners.isEmpty()) {
+            disableAsyncDecoding();
+        }
+    }
+
     @Override
     public void post(RemoteConnection connection, PacketBuffer payload) {
-        final ChannelBuf buf = (ChannelBuf) payload;
+        if (!this.asyncListeners.isEmpty() && connection instanceof ServerPlayNetHandler) {
+            final ServerPlayNetHandler handler = (ServerPlayNetHandler) connection;
+            if (receiveAsync(handler.player, handler.netManager, payload)) {
+                return;
+            }
+        }
+        notifyListeners((ChannelBuf) payload, connection);
+    }
+
+    private void notifyListeners(ChannelBuf buf, RemoteConnection connection) {
         for (RawDataListener listener : this.listeners) {
             try {
                 listener.handlePayload(buf, connection, Platform.Type.SERVER);
@@ -84,10 +134,41 @@ public void post(RemoteConnection connection, PacketBuffer payload) {
         }
     }
 
-    private SCustomPayloadPlayPacket createPacket(Consumer<ChannelBuf> consumer) {
-        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
-        consumer.accept((ChannelBuf) buffer);
-        return new SCustomPayloadPlayPacket((ResourceLocation) (Object) getKey(), buffer);
+    // Called on the network thread
+    private DecodedPayload decode(ChannelBuf buf) throws Exception {
+        final PacketBuffer payload = (PacketBuffer) buf;
+        final AsyncListener<?>[] listeners = this.asyncListeners.toArray(new AsyncListener<?>[0]);
+        final Object[] messages = new Object[listeners.length];
+        final int readerIndex = payload.readerIndex();
+        for (int i = 0; i < listeners.length; i++) {
+            payload.readerIndex(readerIndex);
+            messages[i] = listeners[i].decoder.decode(buf);
+        }
+        payload.readerIndex(readerIndex);
+        // The payload belongs to the packet, keep a copy for the raw listeners on the main thread. The copy
+        // is an unpooled heap buffer, so a decoded payload that is dropped before being handled doesn't leak it.
+        final ChannelBuf raw = this.listeners.isEmpty() ? null : (ChannelBuf) new PacketBuffer(Unpooled.copiedBuffer(payload));
+        return new DecodedPayload(raw, listeners, messages);
+    }
+
+    // Called on the main thread
+    @SuppressWarnings("unchecked")
+    private void handle(ServerPlayerEntity player, DecodedPayload decoded) {
+        if (decoded.raw != null) {
+            try {
+                notifyListeners(decoded.raw, (RemoteConnection) player.connection);
+            } finally {
+                ((PacketBuffer) decoded.raw).release();
+            }
+        }
+        for (int i = 0; i < decoded.listeners.length; i++) {
+            final AsyncListener<Object> listener = (AsyncListener<Object>) decoded.listeners[i];
+            try {
+                listener.listener.accept((ServerPlayer) player, decoded.messages[i]);
+            } catch (Throwable e) {
+                getOwner().getLogger().error("Could not pass payload on channel '{}' to {}", getKey(), getOwner(), e);
+            }
+        }
     }
 
     @Override
@@ -95,7 +176,7 @@ public void sendTo(ServerPlayer player, Consumer<ChannelBuf> payload) {
         validate();
         final ServerPlayerEntity playerMP = (ServerPlayerEntity) player;
         if (((NetHandlerPlayServerBridge_Vanilla) playerMP.connection).vanillaBridge$supportsChannel((ResourceLocation) (Object) getKey())) {
-            playerMP.connection.sendPacket(createPacket(payload));
+            sendPayload(playerMP, payload);
         }
     }
 
@@ -108,16 +189,37 @@ public void sendToServer(Consumer<ChannelBuf> payload) {
     @Override
     public void sendToAll(Consumer<ChannelBuf> payload) {
         validate();
-        SCustomPayloadPlayPacket packet = null;
+        final List<ServerPlayerEntity> players = new ArrayList<>();
         for (ServerPlayerEntity player : SpongeCommon.getServer().getPlayerList().getPlayers()) {
             if (((NetHandlerPlayServerBridge_Vanilla) player.connection).vanillaBridge$supportsChannel((ResourceLocation) (Object) getKey())) {
-                if (packet == null) {
-                    packet = createPacket(payload);
-                }
-
-                player.connection.sendPacket(packet);
+                players.add(player);
             }
         }
+        // Encoded once, every player gets a slice of the same buffer
+        sendPayload(players, payload);
     }
 
+    private static final class AsyncListener<M> {
+
+        final AsyncPayloadDecoder<M> decoder;
+        final BiConsumer<ServerPlayer, M> listener;
+
+        AsyncListener(AsyncPayloadDecoder<M> decoder, BiConsumer<ServerPlayer, M> listener) {
+            this.decoder = decoder;
+            this.listener = listener;
+        }
+    }
+
+    private static final class DecodedPayload {
+
+        @Nullable final ChannelBuf raw;
+        final AsyncListener<?>[] listeners;
+        final Object[] messages;
+
+        DecodedPayload(@Nullable ChannelBuf raw, AsyncListener<?>[] listeners, Object[] messages) {
+            this.raw = raw;
+            this.listeners = listeners;
+            this.messages = messages;
+        }
+    }
 }
@@ -26,9 +26,13 @@
 
 import static com.google.gson.internal.$Gson$Preconditions.checkNotNull;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.inject.Inject;
 import com.mojang.datafixers.DataFixer;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.crash.CrashReport;
@@ -36,6 +40,7 @@
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.IntIdentityHashBiMap;
 import net.minecraft.util.Unit;
 import net.minecraft.util.Util;
 import net.minecraft.util.math.BlockPos;
@@ -53,6 +58,7 @@
 import net.minecraft.world.server.ServerWorld;
 import net.minecraft.world.server.TicketType;
 import net.minecraft.world.storage.SaveHandler;
+import net.minecraft.world.storage.SessionLockException;
 import net.minecraft.world.storage.WorldInfo;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.Server;
@@ -73,24 +79,47 @@
 import org.spongepowered.common.world.dimension.SpongeDimensionType;
 import org.spongepowered.common.world.server.SpongeWorldManager;
 import org.spongepowered.common.world.server.WorldRegistration;
+import org.spongepowered.common.world.storage.TemplateWorlds;
 import org.spongepowered.vanilla.accessor.world.storage.SaveFormatAccessor_Vanilla;
 import org.spongepowered.vanilla.accessor.server.MinecraftServerAccessor_Vanilla;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
 
 public final class VanillaWorldManager implements SpongeWorldManager {
 
+    private static final String LEVEL_DAT = "level.dat";
+    private static final String SESSION_LOCK = "session.lock";
+    private static final String REGION_EXTENSION = ".mca";
+    private static final int SPAWN_CHUNK_COUNT = 441;
+
     private final MinecraftServer server;
     private final MinecraftServerAccessor_Vanilla serverAccessor;
     private final Path savesDirectory;
@@ -99,6 +128,11 @@ public final class VanillaWorldManager implements SpongeWorldManager {
     private final Map<UUID, ServerWorld> worldById;
     private final Map<String, ServerWorld> worldByName;
     private final Map<String, WorldRegistration> pendingWorlds;
+    private final Map<String, CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>>> loadingWorlds;
+    private final List<SpawnPreparation> spawnPreparations;
+    // Registry ids of dimension types released by deleted worlds and discarded instances, handed out again first
+    private final IntSortedSet freeDimensionIds;
+    private final ExecutorService ioExecutor;
 
     @Inject
     public VanillaWorldManager(Server server) {
@@ -110,6 +144,10 @@ public VanillaWorldManager(Server server) {
         this.worldById = new Object2ObjectOpenHashMap<>();
         this.worldByName = new Object2ObjectOpenHashMap<>();
         this.pendingWorlds = new Object2ObjectOpenHashMap<>();
+        this.loadingWorlds = new Object2ObjectOpenHashMap<>();
+        this.spawnPreparations = new ArrayList<>();
+        this.freeDimensionIds = new IntRBTreeSet();
+        this.ioExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge - World IO").setDaemon(true).build());
 
         this.submitRegistration0(this.server.getFolderName(), null);
         this.submitRegistration0("DIM-1", null);
@@ -197,71 +235,443 @@ private void submitRegistration0(String directoryName, WorldSettings settings) {
 
     @Override
     public CompletableFuture<Optional<WorldProperties>> createProperties(String directoryName, WorldArchetype archetype) {
-        return CompletableFuture.completedFuture(Optional.empty());
+        checkNotNull(directoryName);
+        checkNotNull(archetype);
+
+        final Path worldDirectory = this.getDirectory(directoryName);
+
+        return this.onServer(() -> {
+            final WorldInfo existingInfo = this.findInfo(directoryName);
+            if (existingInfo != null) {
+                return CompletableFuture.completedFuture(Optional.of((WorldProperties) existingInfo));
+            }
+
+            return CompletableFuture.supplyAsync(() -> Files.exists(worldDirectory.resolve(VanillaWorldManager.LEVEL_DAT)), this.ioExecutor())
+                .thenComposeAsync(exists -> {
+                    // Never clobber a world that is already on disk, adopt its properties instead
+                    if (exists) {
+                        return this.loadProperties(directoryName).thenApply(info -> info.map(WorldProperties.class::cast));
+                    }
+
+                    if (this.findInfo(directoryName) != null || this.worldByName.containsKey(directoryName)) {
+                        return CompletableFuture.completedFuture(Optional.empty());
+                    }
+
+                    final WorldSettings settings = (WorldSettings) (Object) archetype;
+                    final DimensionType dimensionType = this.createDimensionType(directoryName, ((WorldSettingsBridge) (Object) settings)
+                        .bridge$getLogicType(), this.nextDimensionId());
+
+                    final WorldInfo worldInfo = new WorldInfo(settings, directoryName);
+                    ((WorldInfoBridge) worldInfo).bridge$setUniqueId(UUID.randomUUID());
+                    ((WorldInfoBridge) worldInfo).bridge$setDimensionType(dimensionType);
+
+                    SpongeCommon.postEvent(SpongeEventFactory.createConstructWorldPropertiesEvent(
+                        PhaseTracker.getCauseStackManager().getCurrentCause(), archetype, (WorldProperties) worldInfo));
+
+                    this.dataByType.put(dimensionType, worldInfo);
+
+                    return this.saveProperties((WorldProperties) worldInfo).thenApply(saved -> Optional.of((WorldProperties) worldInfo));
+                }, this.server);
+        });
     }
 
     @Override
     public CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>> loadWorld(String directoryName) {
-        return CompletableFuture.completedFuture(Optional.empty());
+        checkNotNull(directoryName);
+
+        return this.loadProperties(directoryName).thenCompose(info -> {
+            if (!info.isPresent()) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            return this.loadWorld((WorldProperties) info.get());
+        });
     }
 
     @Override
     public CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>> loadWorld(WorldProperties properties) {
-        return CompletableFuture.completedFuture(Optional.empty());
+        checkNotNull(properties);
+
+        final WorldInfo worldInfo = (WorldInfo) properties;
+        final String directoryName = worldInfo.getWorldName();
+
+        return this.onServer(() -> {
+            final ServerWorld loadedWorld = this.worldByName.get(directoryName);
+            if (loadedWorld != null) {
+                return CompletableFuture.completedFuture(Optional.of((org.spongepowered.api.world.server.ServerWorld) loadedWorld));
+            }
+
+            final CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>> pendingLoad = this.loadingWorlds.get(directoryName);
+            if (pendingLoad != null) {
+                return pendingLoad;
+            }
+
+            final DimensionType dimensionType = ((WorldInfoBridge) worldInfo).bridge$getDimensionType();
+            if (dimensionType == null || !this.isDimensionTypeRegistered(dimensionType) || this.worldsByType.containsKey(dimensionType)) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("World '{}' has no free registered dimension type and cannot be loaded.",
+                    directoryName);
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            final ServerWorld existingWorld = this.worldById.get(properties.getUniqueId());
+            if (existingWorld != null) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("World '{}' has a unique identifier that has already been loaded by '{}'.",
+                    directoryName, existingWorld.getWorldInfo().getWorldName());
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            final SpongeDimensionType logicType = ((DimensionTypeBridge) (Object) dimensionType).bridge$getSpongeDimensionType();
+            final SpongeConfig<? extends GeneralConfigBase> configAdapter = SpongeHooks.getOrLoadConfigAdapter(logicType.getConfigPath(), directoryName);
+            if (!configAdapter.getConfig().getWorld().isWorldEnabled()) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("World '{}' ({}/{}) has been disabled in the configuration. "
+                    + "World will not be loaded...", directoryName, logicType.getKey().getFormatted(), dimensionType.getId());
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            if (configAdapter.getConfig().getWorld().isTemplate()) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("World '{}' ({}/{}) is a template, only copies of it can be loaded.",
+                    directoryName, logicType.getKey().getFormatted(), dimensionType.getId());
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            final Path worldDirectory = this.getDirectory(directoryName);
+            final DataFixer dataFixer = ((SaveFormatAccessor_Vanilla) this.server.getActiveAnvilConverter()).accessor$getDataFixer();
+
+            // Creating the save handler touches the disk (directories, session lock), the world itself has to be built on the server
+            final CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>> future = CompletableFuture
+                .supplyAsync(() -> {
+                    // Instances have to be known before their region caches are created along with the world
+                    final Path templateDirectory = this.readTemplateDirectory(worldDirectory);
+                    if (templateDirectory != null) {
+                        TemplateWorlds.register(worldDirectory, templateDirectory);
+                    }
+                    return new SaveHandler(worldDirectory.toFile(), directoryName, this.server, dataFixer);
+                }, this.ioExecutor())
+                .thenComposeAsync(saveHandler -> this.createAndPrepareWorld(directoryName, worldDirectory, saveHandler, worldInfo, dimensionType),
+                    this.server);
+
+            this.loadingWorlds.put(directoryName, future);
+            future.whenCompleteAsync((world, throwable) -> {
+                this.loadingWorlds.remove(directoryName, future);
+                if (!this.worldByName.containsKey(directoryName)) {
+                    TemplateWorlds.unregister(worldDirectory);
+                }
+            }, this.server);
+            return future;
+        });
     }
 
     @Override
     public CompletableFuture<Boolean> unloadWorld(org.spongepowered.api.world.server.ServerWorld world) {
         checkNotNull(world);
-        return CompletableFuture.completedFuture(false);
+
+        final ServerWorld serverWorld = (ServerWorld) world;
+        final String directoryName = serverWorld.getWorldInfo().getWorldName();
+
+        return CompletableFuture.supplyAsync(() -> {
+            if (this.worldByName.get(directoryName) != serverWorld || serverWorld.getDimension().getType() == DimensionType.OVERWORLD) {
+                return false;
+            }
+
+            if (!serverWorld.getPlayers().isEmpty()) {
+                return false;
+            }
+
+            if (SpongeCommon.postEvent(SpongeEventFactory.createUnloadWorldEvent(PhaseTracker.getCauseStackManager().getCurrentCause(), world))) {
+                return false;
+            }
+
+            final Iterator<SpawnPreparation> iterator = this.spawnPreparations.iterator();
+            while (iterator.hasNext()) {
+                final SpawnPreparation preparation = iterator.next();
+                if (preparation.world == serverWorld) {
+                    iterator.remove();
+                    preparation.chunkStatusListener.stop();
+                    preparation.future.complete(Optional.empty());
+                }
+            }
+
+            final Path worldDirectory = this.getDirectory(directoryName);
+            final boolean isInstance = TemplateWorlds.isInstance(worldDirectory);
+
+            if (isInstance) {
+                // Nothing of an instance outlives it, so don't even write the chunks closing the world would save
+                TemplateWorlds.discard(worldDirectory);
+            } else {
+                // Chunk serialization is owned by the chunk manager, which is only safe to drive from the server thread
+                try {
+                    serverWorld.save(null, true, serverWorld.disableLevelSaving);
+                } catch (SessionLockException e) {
+                    MinecraftServerAccessor_Vanilla.accessor$getLogger().warn(e.getMessage());
+                }
+            }
+
+            this.worldsByType.remove(serverWorld.getDimension().getType());
+            this.worldByName.remove(directoryName);
+            this.worldById.remove(((WorldInfoBridge) serverWorld.getWorldInfo()).bridge$getUniqueId());
+
+            try {
+                serverWorld.close();
+            } catch (IOException e) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Exception closing world '{}'", directoryName, e);
+            }
+
+            if (isInstance) {
+                TemplateWorlds.unregister(worldDirectory);
+                this.dataByType.remove(serverWorld.getDimension().getType());
+                this.releaseDimensionType(serverWorld.getDimension().getType());
+                this.ioExecutor().execute(() -> {
+                    try {
+                        VanillaWorldManager.deleteDirectory(worldDirectory);
+                    } catch (IOException e) {
+                        MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Failed to delete world instance '{}'", directoryName, e);
+                    }
+                });
+            }
+
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().info("Unloaded World '{}'", directoryName);
+            return true;
+        }, this.server);
     }
 
     @Override
     public Optional<WorldProperties> getProperties(String directoryName) {
         checkNotNull(directoryName);
-        return Optional.empty();
+        return Optional.ofNullable((WorldProperties) this.findInfo(directoryName));
     }
 
     @Override
     public Optional<WorldProperties> getProperties(UUID uniqueId) {
         checkNotNull(uniqueId);
+        for (WorldInfo worldInfo : this.dataByType.values()) {
+            if (uniqueId.equals(((WorldInfoBridge) worldInfo).bridge$getUniqueId())) {
+                return Optional.of((WorldProperties) worldInfo);
+            }
+        }
         return Optional.empty();
     }
 
     @Override
     public Collection<WorldProperties> getUnloadedProperties() {
-        return null;
+        return this.dataByType.entrySet()
+            .stream()
+            .filter(entry -> !this.worldsByType.containsKey(entry.getKey()))
+            .map(entry -> (WorldProperties) entry.getValue())
+            .collect(Collectors.toList());
     }
 
     @Override
     public Collection<WorldProperties> getAllProperties() {
-        return null;
+        return Collections.unmodifiableCollection((Collection<WorldProperties>) (Object) new ArrayList<>(this.dataByType.values()));
     }
 
     @Override
     public CompletableFuture<Boolean> saveProperties(WorldProperties properties) {
         checkNotNull(properties);
-        return CompletableFuture.completedFuture(false);
+
+        final WorldInfo worldInfo = (WorldInfo) properties;
+
+        return this.onServer(() -> {
+            final ServerWorld loadedWorld = this.worldByName.get(worldInfo.getWorldName());
+            if (loadedWorld != null && loadedWorld.getWorldInfo() == worldInfo) {
+                // A loaded world owns its level data, write through its save handler so regular saves cannot race with us
+                loadedWorld.getSaveHandler().saveWorldInfo(worldInfo);
+                return CompletableFuture.completedFuture(true);
+            }
+
+            // Snapshot on the server thread, the properties may still be mutated by plugins while the write is pending
+            final CompoundNBT levelCompound = new CompoundNBT();
+            levelCompound.put("Data", worldInfo.cloneNBTCompound(null));
+
+            CompoundNBT spongeLevelCompound = null;
+            if (((WorldInfoBridge) worldInfo).bridge$isValid()) {
+                spongeLevelCompound = new CompoundNBT();
+                ((WorldInfoBridge) worldInfo).bridge$writeSpongeLevelData(spongeLevelCompound);
+            }
+
+            final Path worldDirectory = this.getDirectory(worldInfo.getWorldName());
+            final CompoundNBT spongeCompound = spongeLevelCompound;
+            return CompletableFuture.supplyAsync(() -> this.writeLevelData(worldDirectory, levelCompound, spongeCompound), this.ioExecutor());
+        });
     }
 
     @Override
     public CompletableFuture<Optional<WorldProperties>> copyWorld(String directoryName, String copyName) {
         checkNotNull(directoryName);
         checkNotNull(copyName);
-        return null;
+
+        return this.onServer(() -> {
+            final WorldInfo sourceInfo = this.findInfo(directoryName);
+            if (sourceInfo == null || this.isNameInUse(copyName)) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            final SpongeDimensionType logicType = ((WorldInfoBridge) sourceInfo).bridge$getLogicType();
+            final boolean isTemplate = SpongeHooks.getOrLoadConfigAdapter(logicType.getConfigPath(), directoryName).getConfig().getWorld().isTemplate();
+
+            // Chunks of a loaded world are written as they unload, at any time during the copy, which could tear it
+            if (this.isLoadedOrLoading(directoryName)) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("World '{}' is loaded and cannot be copied, unload it first.",
+                    directoryName);
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            final Path sourceDirectory = this.getDirectory(directoryName);
+            final Path copyDirectory = this.getDirectory(copyName);
+            final DataFixer dataFixer = ((SaveFormatAccessor_Vanilla) this.server.getActiveAnvilConverter()).accessor$getDataFixer();
+
+            return CompletableFuture.supplyAsync(() -> {
+                if (Files.exists(copyDirectory)) {
+                    return null;
+                }
+
+                try {
+                    // Copies of a template leave the region files behind and read them from the template until they are changed
+                    VanillaWorldManager.copyDirectory(sourceDirectory, copyDirectory, isTemplate);
+                    if (isTemplate) {
+                        final CompoundNBT templateCompound = new CompoundNBT();
+                        templateCompound.putString(Constants.Sponge.World.TEMPLATE_DIRECTORY, directoryName);
+                        VanillaWorldManager.writeCompressed(copyDirectory, Constants.Sponge.World.LEVEL_TEMPLATE_DAT, templateCompound);
+                    }
+                } catch (IOException e) {
+                    MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Failed to copy world '{}' to '{}'", directoryName, copyName, e);
+                    return null;
+                }
+
+                return new SaveHandler(copyDirectory.toFile(), copyName, this.server, dataFixer).loadWorldInfo();
+            }, this.ioExecutor()).thenComposeAsync(copyInfo -> {
+                if (copyInfo == null || this.isNameInUse(copyName)) {
+                    return CompletableFuture.completedFuture(Optional.empty());
+                }
+
+                final DimensionType dimensionType = this.createDimensionType(copyName, logicType, this.nextDimensionId());
+
+                copyInfo.setWorldName(copyName);
+                ((WorldInfoBridge) copyInfo).bridge$setUniqueId(UUID.randomUUID());
+                ((WorldInfoBridge) copyInfo).bridge$setDimensionType(dimensionType);
+                this.dataByType.put(dimensionType, copyInfo);
+
+                return this.saveProperties((WorldProperties) copyInfo).thenApply(saved -> Optional.of((WorldProperties) copyInfo));
+            }, this.server);
+        });
     }
 
     @Override
     public CompletableFuture<Optional<WorldProperties>> renameWorld(String oldDirectoryName, String newDirectoryName) {
         checkNotNull(oldDirectoryName);
         checkNotNull(newDirectoryName);
-        return CompletableFuture.completedFuture(Optional.empty());
+
+        return this.onServer(() -> {
+            final WorldInfo worldInfo = this.findInfo(oldDirectoryName);
+            if (worldInfo == null || this.isNameInUse(newDirectoryName) || this.isLoadedOrLoading(oldDirectoryName)
+                || this.isDefaultDirectory(oldDirectoryName)) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            final Path oldDirectory = this.getDirectory(oldDirectoryName);
+            final Path newDirectory = this.getDirectory(newDirectoryName);
+
+            return CompletableFuture.supplyAsync(() -> {
+                if (Files.exists(newDirectory) || this.hasInstances(oldDirectoryName, oldDirectory)) {
+                    return false;
+                }
+
+                try {
+                    Files.move(oldDirectory, newDirectory);
+                    return true;
+                } catch (IOException e) {
+                    MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Failed to rename world '{}' to '{}'", oldDirectoryName, newDirectoryName,
+                        e);
+                    return false;
+                }
+            }, this.ioExecutor()).thenComposeAsync(moved -> {
+                if (!moved) {
+                    return CompletableFuture.completedFuture(Optional.empty());
+                }
+
+                worldInfo.setWorldName(newDirectoryName);
+                return this.saveProperties((WorldProperties) worldInfo).thenApply(saved -> Optional.of((WorldProperties) worldInfo));
+            }, this.server);
+        });
     }
 
     @Override
     public CompletableFuture<Boolean> deleteWorld(String directoryName) {
         checkNotNull(directoryName);
-        return CompletableFuture.completedFuture(false);
+
+        return this.onServer(() -> {
+            if (this.isLoadedOrLoading(directoryName) || this.isDefaultDirectory(directoryName)) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            final Path worldDirectory = this.getDirectory(directoryName);
+
+            return CompletableFuture.supplyAsync(() -> {
+                if (Files.notExists(worldDirectory) || this.hasInstances(directoryName, worldDirectory)) {
+                    return false;
+                }
+
+                try {
+                    VanillaWorldManager.deleteDirectory(worldDirectory);
+                    return true;
+                } catch (IOException e) {
+                    MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Failed to delete world '{}'", directoryName, e);
+                    return false;
+                }
+            }, this.ioExecutor()).thenApplyAsync(deleted -> {
+                final WorldInfo worldInfo = this.findInfo(directoryName);
+                if (deleted && worldInfo != null && !this.isLoadedOrLoading(directoryName)) {
+                    final DimensionType dimensionType = ((WorldInfoBridge) worldInfo).bridge$getDimensionType();
+                    this.dataByType.remove(dimensionType);
+                    this.releaseDimensionType(dimensionType);
+                }
+                return deleted;
+            }, this.server);
+        });
+    }
+
+    /**
+     * Advances worlds loaded at runtime whose spawn region is still being
+     * generated, called at the end of every server tick.
+     */
+    public void tick() {
+        if (this.spawnPreparations.isEmpty()) {
+            return;
+        }
+
+        final List<SpawnPreparation> finished = new ArrayList<>();
+        final Iterator<SpawnPreparation> iterator = this.spawnPreparations.iterator();
+        while (iterator.hasNext()) {
+            final SpawnPreparation preparation = iterator.next();
+            if (preparation.world.getChunkProvider().func_217229_b() >= VanillaWorldManager.SPAWN_CHUNK_COUNT) {
+                iterator.remove();
+                finished.add(preparation);
+            }
+        }
+
+        // Completing the futures runs plugin callbacks, which may very well load another world
+        for (SpawnPreparation preparation : finished) {
+            this.finishSpawnPreparation(preparation);
+        }
+    }
+
+    /**
+     * Stops accepting world I/O and waits for outstanding writes to reach
+     * the disk. Any I/O requested afterwards runs on the calling thread.
+     */
+    public void shutdown() {
+        this.ioExecutor.shutdown();
+        try {
+            if (!this.ioExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("Timed out waiting for pending world I/O to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Executor ioExecutor() {
+        return this.ioExecutor.isShutdown() ? MoreExecutors.directExecutor() : this.ioExecutor;
     }
 
     @Override
@@ -387,62 +797,72 @@ public void loadAllWorlds(MinecraftServer server, String saveName, String levelN
                 continue;
             }
 
-            infoBridge.bridge$createWorldConfig();
-
             final IChunkStatusListener chunkStatusListener = this.serverAccessor.accessor$getChunkStatusListenerFactory().create(11);
 
-            final ServerWorld serverWorld = new ServerWorld(this.server, this.server.getBackgroundExecutor(), saveHandler, worldInfo, worldRegistration.getDimensionType(), this.server.getProfiler(), chunkStatusListener);
+            final ServerWorld serverWorld = this.createWorld(directoryName, worldDirectory, saveHandler, worldInfo, worldRegistration
+                .getDimensionType(), defaultSettings, chunkStatusListener, isDefaultWorld);
 
-            if (worldInfo.getGameType() == GameType.NOT_SET) {
-                worldInfo.setGameType(this.server.getGameType());
+            if (infoBridge.bridge$doesGenerateSpawnOnLoad()) {
+                this.loadSpawnChunks(serverWorld, chunkStatusListener);
             }
+        }
+    }
 
-            this.worldsByType.put(worldRegistration.getDimensionType(), serverWorld);
-            this.worldByName.put(directoryName, serverWorld);
-            this.worldById.put(((WorldProperties) worldInfo).getUniqueId(), serverWorld);
+    private ServerWorld createWorld(String directoryName, Path worldDirectory, SaveHandler saveHandler, WorldInfo worldInfo,
+        DimensionType dimensionType, WorldSettings defaultSettings, IChunkStatusListener chunkStatusListener, boolean isDefaultWorld) {
+        final WorldInfoBridge infoBridge = (WorldInfoBridge) worldInfo;
 
-            // Initialize scoreboard data. This will hook to the ServerScoreboard, needs to be made multi-world aware
-            this.serverAccessor.accessor$func_213204_a(serverWorld.getSavedData());
-            serverWorld.getWorldBorder().copyFrom(worldInfo);
-            if (!worldInfo.isInitialized()) {
-                try {
-                    serverWorld.createSpawnPosition(defaultSettings);
-                    if (worldInfo.getGenerator() == WorldType.DEBUG_ALL_BLOCK_STATES) {
-                        this.serverAccessor.accessor$applyDebugWorldInfo(worldInfo);
-                    }
-                } catch (Throwable throwable) {
-                    final CrashReport crashReport = CrashReport.makeCrashReport(throwable, "Exception initializing world '" + worldDirectory + "'");
-                    try {
-                        serverWorld.fillCrashReport(crashReport);
-                    } catch (Throwable ignore) {
-                    }
+        infoBridge.bridge$createWorldConfig();
 
-                    throw new ReportedException(crashReport);
-                } finally {
-                    worldInfo.setInitialized(true);
-                }
-            }
+        final ServerWorld serverWorld = new ServerWorld(this.server, this.server.getBackgroundExecutor(), saveHandler, worldInfo, dimensionType, this.server.getProfiler(), chunkStatusListener);
+
+        if (worldInfo.getGameType() == GameType.NOT_SET) {
+            worldInfo.setGameType(this.server.getGameType());
+        }
 
-            // Initialize PlayerData in PlayerList, add WorldBorder listener. We change the method in PlayerList to handle per-world border
-            this.server.getPlayerList().func_212504_a(serverWorld);
+        this.worldsByType.put(dimensionType, serverWorld);
+        this.worldByName.put(directoryName, serverWorld);
+        this.worldById.put(((WorldProperties) worldInfo).getUniqueId(), serverWorld);
 
-            if (isDefaultWorld) {
-                // Need to see about making custom boss events be per-world
-                if (worldInfo.getCustomBossEvents() != null) {
-                    this.server.getCustomBossEvents().read(worldInfo.getCustomBossEvents());
+        // Initialize scoreboard data. This will hook to the ServerScoreboard, needs to be made multi-world aware
+        this.serverAccessor.accessor$func_213204_a(serverWorld.getSavedData());
+        serverWorld.getWorldBorder().copyFrom(worldInfo);
+        if (!worldInfo.isInitialized()) {
+            try {
+                serverWorld.createSpawnPosition(defaultSettings);
+                if (worldInfo.getGenerator() == WorldType.DEBUG_ALL_BLOCK_STATES) {
+                    this.serverAccessor.accessor$applyDebugWorldInfo(worldInfo);
+                }
+            } catch (Throwable throwable) {
+                final CrashReport crashReport = CrashReport.makeCrashReport(throwable, "Exception initializing world '" + worldDirectory + "'");
+                try {
+                    serverWorld.fillCrashReport(crashReport);
+                } catch (Throwable ignore) {
                 }
-            }
 
-            this.server.setDifficultyForAllWorlds(this.server.getDifficulty(), true);
+                throw new ReportedException(crashReport);
+            } finally {
+                worldInfo.setInitialized(true);
+            }
+        }
 
-            SpongeCommon.postEvent(SpongeEventFactory.createLoadWorldEvent(
-                PhaseTracker.getCauseStackManager().getCurrentCause(),
-                (org.spongepowered.api.world.server.ServerWorld) serverWorld));
+        // Initialize PlayerData in PlayerList, add WorldBorder listener. We change the method in PlayerList to handle per-world border
+        this.server.getPlayerList().func_212504_a(serverWorld);
 
-            if (infoBridge.bridge$doesGenerateSpawnOnLoad()) {
-                this.loadSpawnChunks(serverWorld, chunkStatusListener);
+        if (isDefaultWorld) {
+            // Need to see about making custom boss events be per-world
+            if (worldInfo.getCustomBossEvents() != null) {
+                this.server.getCustomBossEvents().read(worldInfo.getCustomBossEvents());
             }
         }
+
+        this.server.setDifficultyForAllWorlds(this.server.getDifficulty(), true);
+
+        SpongeCommon.postEvent(SpongeEventFactory.createLoadWorldEvent(
+            PhaseTracker.getCauseStackManager().getCurrentCause(),
+            (org.spongepowered.api.world.server.ServerWorld) serverWorld));
+
+        return serverWorld;
     }
 
     private void loadSpawnChunks(ServerWorld serverWorld, IChunkStatusListener chunkStatusListener) {
@@ -458,7 +878,7 @@ private void loadSpawnChunks(ServerWorld serverWorld, IChunkStatusListener chunk
         this.serverAccessor.accessor$setServerTime(Util.milliTime());
         chunkProvider.registerTicket(TicketType.START, spawnChunkPos, 11, Unit.INSTANCE);
 
-        while (chunkProvider.func_217229_b() != 441) {
+        while (chunkProvider.func_217229_b() != VanillaWorldManager.SPAWN_CHUNK_COUNT) {
             this.serverAccessor.accessor$setServerTime(Util.milliTime() + 10L);
             this.serverAccessor.accessor$runScheduledTasks();
         }
@@ -466,6 +886,58 @@ private void loadSpawnChunks(ServerWorld serverWorld, IChunkStatusListener chunk
         this.serverAccessor.accessor$setServerTime(Util.milliTime() + 10L);
         this.serverAccessor.accessor$runScheduledTasks();
 
+        this.forceSavedChunks(serverWorld);
+
+        this.serverAccessor.accessor$setServerTime(Util.milliTime() + 10L);
+        this.serverAccessor.accessor$runScheduledTasks();
+        chunkStatusListener.stop();
+        chunkProvider.getLightManager().func_215598_a(5);
+    }
+
+    private CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>> createAndPrepareWorld(String directoryName, Path worldDirectory,
+        SaveHandler saveHandler, WorldInfo worldInfo, DimensionType dimensionType) {
+        if (this.worldByName.containsKey(directoryName) || this.worldsByType.containsKey(dimensionType)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        this.dataByType.put(dimensionType, worldInfo);
+
+        final IChunkStatusListener chunkStatusListener = this.serverAccessor.accessor$getChunkStatusListenerFactory().create(11);
+        final ServerWorld serverWorld = this.createWorld(directoryName, worldDirectory, saveHandler, worldInfo, dimensionType,
+            new WorldSettings(worldInfo), chunkStatusListener, false);
+
+        if (!((WorldInfoBridge) worldInfo).bridge$doesGenerateSpawnOnLoad()) {
+            return CompletableFuture.completedFuture(Optional.of((org.spongepowered.api.world.server.ServerWorld) serverWorld));
+        }
+
+        // Unlike startup we can't block the server here, so the start ticket is placed and the region generates over the following ticks
+        MinecraftServerAccessor_Vanilla.accessor$getLogger().info("Preparing start region for world '{}' ({}/{})", directoryName,
+            ((DimensionTypeBridge) dimensionType).bridge$getSpongeDimensionType().getKey().getFormatted(), dimensionType.getId());
+        final ChunkPos spawnChunkPos = new ChunkPos(serverWorld.getSpawnPoint());
+        chunkStatusListener.start(spawnChunkPos);
+        final ServerChunkProvider chunkProvider = serverWorld.getChunkProvider();
+        chunkProvider.getLightManager().func_215598_a(500);
+        chunkProvider.registerTicket(TicketType.START, spawnChunkPos, 11, Unit.INSTANCE);
+
+        final SpawnPreparation preparation = new SpawnPreparation(serverWorld, chunkStatusListener, spawnChunkPos);
+        this.spawnPreparations.add(preparation);
+        return preparation.future;
+    }
+
+    private void finishSpawnPreparation(SpawnPreparation preparation) {
+        final ServerWorld serverWorld = preparation.world;
+        this.forceSavedChunks(serverWorld);
+        preparation.chunkStatusListener.stop();
+        serverWorld.getChunkProvider().getLightManager().func_215598_a(5);
+
+        if (!((WorldInfoBridge) serverWorld.getWorldInfo()).bridge$doesKeepSpawnLoaded()) {
+            serverWorld.getChunkProvider().releaseTicket(TicketType.START, preparation.spawnChunkPos, 11, Unit.INSTANCE);
+        }
+
+        preparation.future.complete(Optional.of((org.spongepowered.api.world.server.ServerWorld) serverWorld));
+    }
+
+    private void forceSavedChunks(ServerWorld serverWorld) {
         ForcedChunksSaveData forcedChunksSaveData = serverWorld.getSavedData().get(ForcedChunksSaveData::new, "chunks");
         if (forcedChunksSaveData != null) {
             LongIterator longIterator = forcedChunksSaveData.getChunks().iterator();
@@ -476,11 +948,6 @@ private void loadSpawnChunks(ServerWorld serverWorld, IChunkStatusListener chunk
                 serverWorld.getChunkProvider().forceChunk(chunkpos, true);
             }
         }
-
-        this.serverAccessor.accessor$setServerTime(Util.milliTime() + 10L);
-        this.serverAccessor.accessor$runScheduledTasks();
-        chunkStatusListener.stop();
-        chunkProvider.getLightManager().func_215598_a(5);
     }
 
     private DimensionType createDimensionType(String directoryName, SpongeDimensionType logicType, int dimensionId) {
@@ -491,48 +958,310 @@ private DimensionType createDimensionType(String directoryName, SpongeDimensionT
         return registeredType;
     }
 
+    private int nextDimensionId() {
+        if (!this.freeDimensionIds.isEmpty()) {
+            final int dimensionId = this.freeDimensionIds.firstInt();
+            this.freeDimensionIds.remove(dimensionId);
+            return dimensionId;
+        }
+        return ((SimpleRegistryAccessor) Registry.DIMENSION_TYPE).accessor$getNextFreeId();
+    }
+
+    /**
+     * Removes the dimension type of a world that is gone for good from the
+     * registry and recycles its id, so that instancing many worlds over time
+     * doesn't grow the registry without bound.
+     */
+    private void releaseDimensionType(@Nullable DimensionType dimensionType) {
+        if (dimensionType == null || dimensionType == DimensionType.OVERWORLD || dimensionType == DimensionType.THE_NETHER
+            || dimensionType == DimensionType.THE_END || this.worldsByType.containsKey(dimensionType) || !this.isDimensionTypeRegistered(dimensionType)) {
+            return;
+        }
+
+        final SimpleRegistryAccessor registry = (SimpleRegistryAccessor) Registry.DIMENSION_TYPE;
+        final IntIdentityHashBiMap<Object> ids = registry.accessor$getUnderlyingIntegerMap();
+        final int dimensionId = ids.getId(dimensionType);
+        registry.accessor$getRegistryObjects().inverse().remove(dimensionType);
+
+        // The id map has no way to remove a single entry, rebuild it from the remaining ones, in id order
+        final List<Object> remaining = new ArrayList<>();
+        for (Object value : ids) {
+            if (value != dimensionType) {
+                remaining.add(value);
+            }
+        }
+        final int[] remainingIds = new int[remaining.size()];
+        for (int i = 0; i < remainingIds.length; i++) {
+            remainingIds[i] = ids.getId(remaining.get(i));
+        }
+        ids.clear();
+        for (int i = 0; i < remainingIds.length; i++) {
+            ids.put(remaining.get(i), remainingIds[i]);
+        }
+        registry.accessor$setValues(null);
+
+        this.freeDimensionIds.add(dimensionId);
+    }
+
     private void loadExistingWorldRegistrations() throws IOException {
         for (Path path : Files.walk(this.savesDirectory, 1).filter(path -> Files.isDirectory(path) && !this.isVanillaLevelDimension(path.getFileName().toString()) && Files.exists(path.resolve(Constants.Sponge.World.LEVEL_SPONGE_DAT))).collect(Collectors.toList())) {
             final String worldDirectory = path.getFileName().toString();
-            final CompoundNBT worldCompound;
-            try {
-                worldCompound = CompressedStreamTools.readCompressed(new FileInputStream(path.resolve(Constants.Sponge.World.LEVEL_SPONGE_DAT).toFile()));
-            } catch (IOException ex) {
-                MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Attempt to load world '{}' sponge level data failed!", worldDirectory);
-                ex.printStackTrace();
+            final CompoundNBT spongeDataCompound = this.readSpongeLevelData(path);
+            if (spongeDataCompound == null) {
                 continue;
             }
-            final CompoundNBT spongeDataCompound = worldCompound.getCompound(Constants.Sponge.SPONGE_DATA);
-            final int dimensionId = spongeDataCompound.getInt(Constants.Sponge.World.DIMENSION_ID);
-            DimensionType registeredType = DimensionType.getById(dimensionId + 1);
+
+            final DimensionType registeredType = this.registerDimensionType(worldDirectory, spongeDataCompound);
             if (registeredType != null) {
-                MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Duplicate id '{}' is being loaded by '{}' but was "
-                    + "previously loaded by '{}'. Skipping...", dimensionId, worldDirectory, DimensionType.getKey(registeredType).getPath());
-                continue;
+                this.pendingWorlds.put(worldDirectory, new WorldRegistration(worldDirectory, registeredType, null));
             }
+        }
+    }
 
-            final String rawLogicType = spongeDataCompound.getString(Constants.Sponge.World.DIMENSION_TYPE);
+    private CompletableFuture<Optional<WorldInfo>> loadProperties(String directoryName) {
+        final Path worldDirectory = this.getDirectory(directoryName);
+        final DataFixer dataFixer = ((SaveFormatAccessor_Vanilla) this.server.getActiveAnvilConverter()).accessor$getDataFixer();
 
-            final SpongeDimensionType logicType = (SpongeDimensionType) SpongeCommon.getRegistry().getCatalogRegistry().get(org.spongepowered
-                .api.world.dimension.DimensionType.class, ResourceKey.resolve(rawLogicType)).orElse(null);
+        return CompletableFuture.supplyAsync(() -> this.readSpongeLevelData(worldDirectory), this.ioExecutor())
+            .thenComposeAsync(spongeDataCompound -> {
+                final WorldInfo existingInfo = this.findInfo(directoryName);
+                if (existingInfo != null) {
+                    return CompletableFuture.completedFuture(Optional.of(existingInfo));
+                }
 
-            if (logicType == null) {
-                MinecraftServerAccessor_Vanilla.accessor$getLogger().error("World '{}' has an unknown DimensionType '{}'. Skipping...",
-                    worldDirectory, rawLogicType);
-                continue;
+                // The dimension type has to be registered before the level data is read, it is resolved from the Sponge data by id
+                final DimensionType dimensionType = spongeDataCompound == null ? null : this.registerDimensionType(directoryName, spongeDataCompound);
+                if (dimensionType == null) {
+                    return CompletableFuture.completedFuture(Optional.empty());
+                }
+
+                return CompletableFuture.supplyAsync(() -> new SaveHandler(worldDirectory.toFile(), directoryName, this.server, dataFixer).loadWorldInfo(),
+                    this.ioExecutor()).thenApplyAsync(worldInfo -> {
+                        if (worldInfo == null) {
+                            return Optional.<WorldInfo>empty();
+                        }
+
+                        final WorldInfo knownInfo = this.findInfo(directoryName);
+                        if (knownInfo != null) {
+                            return Optional.of(knownInfo);
+                        }
+
+                        worldInfo.setWorldName(directoryName);
+                        this.dataByType.put(dimensionType, worldInfo);
+                        return Optional.of(worldInfo);
+                    }, this.server);
+            }, this.server);
+    }
+
+    @Nullable
+    private CompoundNBT readSpongeLevelData(Path worldDirectory) {
+        final Path dataFile = worldDirectory.resolve(Constants.Sponge.World.LEVEL_SPONGE_DAT);
+        if (Files.notExists(dataFile)) {
+            return null;
+        }
+
+        try (final InputStream stream = Files.newInputStream(dataFile)) {
+            return CompressedStreamTools.readCompressed(stream).getCompound(Constants.Sponge.SPONGE_DATA);
+        } catch (IOException ex) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Attempt to load world '{}' sponge level data failed!", worldDirectory.getFileName(), ex);
+            return null;
+        }
+    }
+
+    @Nullable
+    private Path readTemplateDirectory(Path worldDirectory) {
+        final Path dataFile = worldDirectory.resolve(Constants.Sponge.World.LEVEL_TEMPLATE_DAT);
+        if (Files.notExists(dataFile)) {
+            return null;
+        }
+
+        try (final InputStream stream = Files.newInputStream(dataFile)) {
+            return this.getDirectory(CompressedStreamTools.readCompressed(stream).getString(Constants.Sponge.World.TEMPLATE_DIRECTORY));
+        } catch (IOException ex) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Attempt to load world '{}' template data failed!", worldDirectory.getFileName(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Gets whether any world on disk is an instance of the given world, as
+     * instances keep reading the chunks they didn't write from it. Runs on
+     * the I/O thread.
+     */
+    private boolean hasInstances(String directoryName, Path worldDirectory) {
+        final Path templateDirectory = worldDirectory.toAbsolutePath().normalize();
+        final boolean hasInstances;
+        try (final Stream<Path> paths = Files.list(this.savesDirectory)) {
+            hasInstances = paths
+                .filter(path -> Files.isDirectory(path) && !path.toAbsolutePath().normalize().equals(templateDirectory))
+                .map(this::readTemplateDirectory)
+                .anyMatch(template -> template != null && template.toAbsolutePath().normalize().equals(templateDirectory));
+        } catch (IOException e) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Failed to look for instances of world '{}'", directoryName, e);
+            return true;
+        }
+
+        if (hasInstances) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().warn("World '{}' is the template of other worlds and cannot be renamed or deleted "
+                + "while they exist.", directoryName);
+        }
+        return hasInstances;
+    }
+
+    @Nullable
+    private DimensionType registerDimensionType(String worldDirectory, CompoundNBT spongeDataCompound) {
+        final int dimensionId = spongeDataCompound.getInt(Constants.Sponge.World.DIMENSION_ID);
+        DimensionType registeredType = DimensionType.getById(dimensionId + 1);
+        if (registeredType != null) {
+            if (DimensionType.getKey(registeredType).getPath().equals(worldDirectory)) {
+                return registeredType;
             }
 
-            if (!spongeDataCompound.hasUniqueId(Constants.Sponge.World.UNIQUE_ID)) {
-                MinecraftServerAccessor_Vanilla.accessor$getLogger().error("World '{}' has no unique identifier. Skipping...", worldDirectory);
-                continue;
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Duplicate id '{}' is being loaded by '{}' but was "
+                + "previously loaded by '{}'. Skipping...", dimensionId, worldDirectory, DimensionType.getKey(registeredType).getPath());
+            return null;
+        }
+
+        final String rawLogicType = spongeDataCompound.getString(Constants.Sponge.World.DIMENSION_TYPE);
+
+        final SpongeDimensionType logicType = (SpongeDimensionType) SpongeCommon.getRegistry().getCatalogRegistry().get(org.spongepowered
+            .api.world.dimension.DimensionType.class, ResourceKey.resolve(rawLogicType)).orElse(null);
+
+        if (logicType == null) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("World '{}' has an unknown DimensionType '{}'. Skipping...",
+                worldDirectory, rawLogicType);
+            return null;
+        }
+
+        if (!spongeDataCompound.hasUniqueId(Constants.Sponge.World.UNIQUE_ID)) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("World '{}' has no unique identifier. Skipping...", worldDirectory);
+            return null;
+        }
+
+        return this.createDimensionType(worldDirectory, logicType, dimensionId);
+    }
+
+    private boolean writeLevelData(Path worldDirectory, CompoundNBT levelCompound, @Nullable CompoundNBT spongeLevelCompound) {
+        try {
+            Files.createDirectories(worldDirectory);
+            VanillaWorldManager.writeCompressed(worldDirectory, VanillaWorldManager.LEVEL_DAT, levelCompound);
+            if (spongeLevelCompound != null && !spongeLevelCompound.isEmpty()) {
+                VanillaWorldManager.writeCompressed(worldDirectory, Constants.Sponge.World.LEVEL_SPONGE_DAT, spongeLevelCompound);
             }
+            return true;
+        } catch (IOException e) {
+            MinecraftServerAccessor_Vanilla.accessor$getLogger().error("Failed to save level data for world '{}'", worldDirectory.getFileName(), e);
+            return false;
+        }
+    }
 
-            registeredType = this.createDimensionType(worldDirectory, logicType, dimensionId);
-            this.pendingWorlds.put(worldDirectory, new WorldRegistration(worldDirectory, registeredType, null));
+    @Nullable
+    private WorldInfo findInfo(String directoryName) {
+        for (WorldInfo worldInfo : this.dataByType.values()) {
+            if (worldInfo.getWorldName().equals(directoryName)) {
+                return worldInfo;
+            }
         }
+        return null;
+    }
+
+    private Path getDirectory(String directoryName) {
+        return directoryName.equals(this.server.getFolderName()) ? this.savesDirectory : this.savesDirectory.resolve(directoryName);
+    }
+
+    private boolean isNameInUse(String directoryName) {
+        return this.findInfo(directoryName) != null || this.isLoadedOrLoading(directoryName);
+    }
+
+    private boolean isLoadedOrLoading(String directoryName) {
+        return this.worldByName.containsKey(directoryName) || this.loadingWorlds.containsKey(directoryName);
+    }
+
+    private boolean isDefaultDirectory(String directoryName) {
+        return directoryName.equals(this.server.getFolderName()) || this.isVanillaLevelDimension(directoryName);
+    }
+
+    private <T> CompletableFuture<T> onServer(Supplier<CompletableFuture<T>> task) {
+        return CompletableFuture.supplyAsync(task, this.server).thenCompose(Function.identity());
     }
 
     private boolean isVanillaLevelDimension(String directoryName) {
         return directoryName.equalsIgnoreCase("DIM-1") || directoryName.equalsIgnoreCase("DIM1");
     }
+
+    private static void writeCompressed(Path worldDirectory, String fileName, CompoundNBT compound) throws IOException {
+        final Path newFile = worldDirectory.resolve(fileName + "_new");
+        final Path oldFile = worldDirectory.resolve(fileName + "_old");
+        final Path file = worldDirectory.resolve(fileName);
+
+        try (final OutputStream stream = Files.newOutputStream(newFile)) {
+            CompressedStreamTools.writeCompressed(compound, stream);
+        }
+
+        if (Files.exists(file)) {
+            Files.deleteIfExists(oldFile);
+            Files.move(file, oldFile);
+        }
+
+        Files.move(newFile, file);
+    }
+
+    private static void copyDirectory(Path source, Path target, boolean skipRegions) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                // The default world directory contains the other worlds, they are not part of this copy
+                if (!directory.equals(source) && (Files.exists(directory.resolve(VanillaWorldManager.LEVEL_DAT)) || directory.equals(target))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                Files.createDirectories(target.resolve(source.relativize(directory).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                final String fileName = file.getFileName().toString();
+                if (!fileName.equals(VanillaWorldManager.SESSION_LOCK) && !(skipRegions && fileName.endsWith(VanillaWorldManager.REGION_EXTENSION))) {
+                    Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, @Nullable IOException exception) throws IOException {
+                if (exception != null) {
+                    throw exception;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static final class SpawnPreparation {
+
+        final ServerWorld world;
+        final IChunkStatusListener chunkStatusListener;
+        final ChunkPos spawnChunkPos;
+        final CompletableFuture<Optional<org.spongepowered.api.world.server.ServerWorld>> future = new CompletableFuture<>();
+
+        SpawnPreparation(ServerWorld world, IChunkStatusListener chunkStatusListener, ChunkPos spawnChunkPos) {
+            this.world = world;
+            this.chunkStatusListener = chunkStatusListener;
+            this.spawnChunkPos = spawnChunkPos;
+        }
+    }
 }
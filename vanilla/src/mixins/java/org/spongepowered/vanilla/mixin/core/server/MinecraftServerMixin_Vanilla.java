@@ -56,6 +56,17 @@ public abstract class MinecraftServerMixin_Vanilla implements VanillaServer {
         this.getLifecycle().callStoppingEngineEvent();
     }
 
+    // Worlds and their properties are saved while stopping, only stop accepting world I/O once that is done
+    @Inject(method = "stopServer", at = @At(value = "RETURN"))
+    private void vanilla$flushWorldManager(CallbackInfo ci) {
+        this.getWorldManager().shutdown();
+    }
+
+    @Inject(method = "tick", at = @At(value = "RETURN"))
+    private void vanilla$tickWorldManager(CallbackInfo ci) {
+        this.getWorldManager().tick();
+    }
+
     @Override
     public List<Module> createInjectionModules() {
         return Lists.newArrayList(